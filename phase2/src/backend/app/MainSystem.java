@@ -3,11 +3,17 @@ package backend.app;
 import backend.entities.users.Perms;
 import backend.systems.MenuSystem;
 import backend.systems.admin.AdminSystem;
+import backend.systems.conference.ConferenceCatalog;
 import backend.systems.conference.ConferenceManager;
 import backend.systems.conference.ConferenceSystem;
 import frontend.MainUI;
 import utility.RunnableSystem;
-import utility.filehandling.FileSerializer;
+import utility.filehandling.Checkpointer;
+import utility.filehandling.Codec;
+import utility.filehandling.ConcurrentLoader;
+import utility.filehandling.Journal;
+import utility.filehandling.Journaled;
+import utility.filehandling.ManagerCache;
 import utility.filehandling.TerminationWorker;
 import backend.systems.usermangement.AuthenticationSystem;
 import backend.systems.usermangement.SignupSystem;
@@ -15,21 +21,28 @@ import backend.systems.usermangement.managers.UserManager;
 import backend.systems.social.managers.MessageManager;
 import backend.systems.social.SocialSystem;
 import backend.systems.events.managers.EventManager;
-import backend.systems.events.EventSystem;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 /**
  * Class which controls the interaction between all the subsystems.
  */
 class MainSystem extends MenuSystem {
-    private final Map<String, Object> managers = new HashMap<>();
+    private static final long DEFAULT_CHECKPOINT_INTERVAL_SECONDS = 60;
+    private static final int DEFAULT_RESIDENT_CONFERENCES = 2;
+
+    private final Checkpointer checkpointer = new Checkpointer(
+            Long.getLong("checkpoint.interval", DEFAULT_CHECKPOINT_INTERVAL_SECONDS), TimeUnit.SECONDS);
+    private final ConcurrentLoader loader = new ConcurrentLoader();
+    private final ManagerCache<EventManager> eventManagerCache = new ManagerCache<>(
+            Integer.getInteger("conference.resident", DEFAULT_RESIDENT_CONFERENCES));
     private final Map<Integer, RunnableSystem> subSystems = new HashMap<>();
     private final MainUI mainMenu = new MainUI();
 
-    private final String[] eventManagerFilePaths = {"phase2/database/ESManagerCon1.ser",
-                                                    "phase2/database/ESManagerCon2.ser",
-                                                    "phase2/database/ESManagerCon3.ser"};
+    private static final String DATABASE_DIRECTORY = "phase2/database/";
     private List<String> subSystemNames = new ArrayList<>();
 
     /**
@@ -60,62 +73,62 @@ class MainSystem extends MenuSystem {
     }
 
     private void initializeSubSystems() {
-        UserManager userManager = initializeAuthenticationSystem();
+        CompletableFuture<UserManager> userManagerFuture = loadManager(DATABASE_DIRECTORY + "UManager.ser",
+                new UserManager.BinaryCodec());
+        CompletableFuture<ConferenceManager> conferenceManagerFuture = loadManager(DATABASE_DIRECTORY + "CCManager.ser",
+                null);
+        CompletableFuture<MessageManager> messageManagerFuture = loadManager(DATABASE_DIRECTORY + "MSManager.ser",
+                new MessageManager.BinaryCodec());
+
+        UserManager userManager = initializeAuthenticationSystem(userManagerFuture.join());
         subSystems.get(0).run();
 
-        List<EventManager> eventManagers = initializeConferenceSystem(userManager);
+        ConferenceCatalog conferenceCatalog = new ConferenceCatalog(conferenceManagerFuture.join(), eventManagerCache,
+                checkpointer, DATABASE_DIRECTORY);
+        initializeConferenceSystem(userManager, conferenceCatalog);
         initializeUserCreatorSystem(userManager);
-        MessageManager messageManager = initializeMessageSystem(userManager, eventManagers);
-        initializeAdminSystem(userManager, eventManagers, messageManager);
+        MessageManager messageManager = initializeMessageSystem(userManager, messageManagerFuture.join(),
+                conferenceCatalog);
+        initializeAdminSystem(userManager, conferenceCatalog, messageManager);
+        logLoadTimes();
         initializeShutDownHook();
 
         subSystemNames = convertSubSystemsToNames(subSystems);
         subSystemNames.remove(0);
     }
 
-    private UserManager initializeAuthenticationSystem() {
-        String filePath = "phase2/database/UManager.ser";
-        FileSerializer<UserManager> userManagerLoader = new FileSerializer<>(filePath);
-        UserManager uManager = userManagerLoader.loadObject();
+    private <T extends Journaled<T>> CompletableFuture<T> loadManager(String filePath, Codec<T> codec) {
+        Journal<T> journal = new Journal<>(filePath, codec);
+        checkpointer.add(journal);
+        return loader.load(journal);
+    }
+
+    private void logLoadTimes() {
+        StringBuilder summary = new StringBuilder("Loaded startup files:");
+        loader.getLoadTimes().forEach((filePath, millis) ->
+                summary.append(System.lineSeparator()).append("  ").append(filePath).append(" in ").append(millis)
+                        .append(" ms"));
+        Logger.getAnonymousLogger().info(summary.toString());
+    }
+
+    private UserManager initializeAuthenticationSystem(UserManager uManager) {
         RunnableSystem authenticationSystem = new AuthenticationSystem(uManager);
-        addSystemAndManager(filePath, authenticationSystem, uManager, 0);
+        subSystems.put(0, authenticationSystem);
         return uManager;
     }
 
-    private MessageManager initializeMessageSystem(UserManager userManager, List<EventManager> eventManagers) {
-        String filePath = "phase2/database/MSManager.ser";
-        FileSerializer<MessageManager> messageManagerLoader = new FileSerializer<>(filePath);
-        MessageManager msManager = messageManagerLoader.loadObject();
-        RunnableSystem messageSystem = new SocialSystem(msManager, userManager, eventManagers);
+    private MessageManager initializeMessageSystem(UserManager userManager, MessageManager msManager,
+                                                   ConferenceCatalog conferenceCatalog) {
+        RunnableSystem messageSystem = new SocialSystem(msManager, userManager, conferenceCatalog);
         if(!msManager.userHasInbox(userManager.getLoggedInUserUUID()))
             msManager.addBlankInbox(userManager.getLoggedInUserUUID());
-        addSystemAndManager(filePath, messageSystem, msManager, subSystems.size());
+        subSystems.put(subSystems.size(), messageSystem);
         return msManager;
     }
 
-    private List<EventManager> initializeConferenceSystem(UserManager userManager){
-        String filepath = "phase2/database/CCManager.ser";
-        FileSerializer<ConferenceManager> conferenceManagerLoader = new FileSerializer<>(filepath);
-        ConferenceManager conferenceManager = conferenceManagerLoader.loadObject();
-        return initializeEventSystems(userManager, conferenceManager, filepath);
-    }
-
-    private List<EventManager> initializeEventSystems(UserManager userManager, ConferenceManager conferenceManager,
-                                                      String conferenceMangerFilePath) {
-        List<EventManager> eventManagers = new ArrayList<>();
-        List<EventSystem> eventSystems = new ArrayList<>();
-
-        for (String filePath: eventManagerFilePaths){
-            FileSerializer<EventManager> eventManagerLoader = new FileSerializer<>(filePath);
-            EventManager eventManager = eventManagerLoader.loadObject();
-            EventSystem eventSystem = new EventSystem(eventManager, userManager);
-            eventSystems.add(eventSystem);
-            eventManagers.add(eventManager);
-            managers.put(filePath, eventManager);
-        }
-        RunnableSystem conferenceSystem = new ConferenceSystem(eventSystems, conferenceManager);
-        addSystemAndManager(conferenceMangerFilePath, conferenceSystem, conferenceManager, subSystems.size());
-        return eventManagers;
+    private void initializeConferenceSystem(UserManager userManager, ConferenceCatalog conferenceCatalog) {
+        RunnableSystem conferenceSystem = new ConferenceSystem(conferenceCatalog, userManager);
+        subSystems.put(subSystems.size(), conferenceSystem);
     }
 
     private void initializeUserCreatorSystem(UserManager userManager) {
@@ -132,25 +145,17 @@ class MainSystem extends MenuSystem {
         }
     }
 
-    private void initializeAdminSystem(UserManager userManager, List<EventManager> eventManager,
+    private void initializeAdminSystem(UserManager userManager, ConferenceCatalog conferenceCatalog,
                                        MessageManager messageManager){
         if(userManager.loggedInHasPermission(Perms.CAN_BAN_USERS) || userManager.loggedInHasPermission(Perms.CAN_VIEW_STATS)){
-            RunnableSystem adminSystem = new AdminSystem(userManager, messageManager, eventManager);
+            RunnableSystem adminSystem = new AdminSystem(userManager, messageManager, conferenceCatalog);
             subSystems.put(subSystems.size(), adminSystem);
         }
     }
 
-    private void addSystemAndManager(String filePath, RunnableSystem sys, Object manager, int index) {
-        subSystems.put(index, sys);
-        managers.put(filePath, manager);
-    }
-
-
     private void initializeShutDownHook() {
-        managers.forEach((s, o) -> {
-            TerminationWorker<Object> objSaver = new TerminationWorker<>(o, s);
-            Runtime.getRuntime().addShutdownHook(objSaver);
-        });
+        Runtime.getRuntime().addShutdownHook(new TerminationWorker(checkpointer));
+        checkpointer.start();
     }
 }
 
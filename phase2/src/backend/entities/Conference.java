@@ -4,20 +4,25 @@ import java.io.Serializable;
 import java.time.LocalDate;
 
 /**
- * A conference with a name and specific date.
+ * A conference with a name and specific date, whose events are kept in their own event store file.
  */
 public class Conference implements Serializable {
+    private static final long serialVersionUID = -1835524012639988898L;
     private String conferenceName;
     private LocalDate conferenceDate;
+    private String eventStore;
+    private boolean archived;
 
     /**
-     * Constructs a new conference object given a name and a date.
+     * Constructs a new conference object given a name, a date and the event store holding its events.
      * @param conferenceName name of the conference
      * @param conferenceDate date of the conference
+     * @param eventStore file name of the event store of the conference, relative to the database directory
      */
-    public Conference(String conferenceName, LocalDate conferenceDate){
+    public Conference(String conferenceName, LocalDate conferenceDate, String eventStore){
         this.conferenceName = conferenceName;
         this.conferenceDate = conferenceDate;
+        this.eventStore = eventStore;
     }
 
     /**
@@ -35,4 +40,27 @@ public class Conference implements Serializable {
     public LocalDate getConferenceDate(){
         return conferenceDate;
     }
+
+    /**
+     * Gets the file name of the event store of the conference, relative to the database directory.
+     * @return event store file name, or null for a conference saved before conferences had their own event stores
+     */
+    public String getEventStore() {
+        return eventStore;
+    }
+
+    /**
+     * Returns whether the conference has been archived.
+     * @return true iff the conference is archived
+     */
+    public boolean isArchived() {
+        return archived;
+    }
+
+    /**
+     * Archives the conference, so that it is no longer listed and its events are no longer loaded.
+     */
+    public void archive() {
+        this.archived = true;
+    }
 }
@@ -1,24 +1,52 @@
 package backend.entities;
 
-import java.io.Serializable;
+import utility.filehandling.BinaryReader;
+import utility.filehandling.BinaryWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.time.LocalTime;
 
 /**
- * An Event with capacity, attendees, room, start time, title, speaker
+ * An Event with an ID, capacity, attendees, room, start time, title, speaker
  * and duration.
+ *
+ * The ID of an Event never changes. Events saved before they had IDs are given one derived from their room, start
+ * time and title, so the same Event is given the same ID every time it is loaded.
+ *
+ * The attendees of an Event may be changed by several threads at once, so every method reading or changing them
+ * holds the Event's monitor.
  */
 public class Event implements Serializable {
-    private final int capacity;
-    private final List<UUID> attendees;
-    private final String room;
+    private static final long serialVersionUID = 1196916620318765800L;
+
+    /**
+     * The serialized form of an Event, which stores its attendees as a list.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("capacity", int.class),
+            new ObjectStreamField("attendees", List.class),
+            new ObjectStreamField("room", String.class),
+            new ObjectStreamField("startTime", LocalTime.class),
+            new ObjectStreamField("title", String.class),
+            new ObjectStreamField("speakers", List.class),
+            new ObjectStreamField("duration", int.class),
+            new ObjectStreamField("eventID", UUID.class)
+    };
+
+    private UUID eventID;
+    private int capacity;
+    private Set<UUID> attendees;
+    private String room;
     private LocalTime startTime;
-    private final String title;
-    private final List<UUID> speakers;
+    private String title;
+    private List<UUID> speakers;
     private int duration;
+    private transient EventView view;
 
     /**
-     * Constructs a new Event with a capacity, room, start time, its title, its speaker, and duration.
+     * Constructs a new Event with a new ID, a capacity, room, start time, its title, its speaker, and duration.
      * @param capacity The number of people this event can have.
      * @param room The room in which the event is taking place.
      * @param startTime The starting time of the event.
@@ -27,8 +55,24 @@ public class Event implements Serializable {
      * @param duration The duration of the event, in minutes.
      */
     public Event(int capacity, String room, LocalTime startTime, String title, List<UUID> speakers, int duration) {
+        this(UUID.randomUUID(), capacity, room, startTime, title, speakers, duration);
+    }
+
+    /**
+     * Constructs a new Event with an ID, a capacity, room, start time, its title, its speaker, and duration.
+     * @param eventID The ID of this event.
+     * @param capacity The number of people this event can have.
+     * @param room The room in which the event is taking place.
+     * @param startTime The starting time of the event.
+     * @param title The event's title.
+     * @param speakers A list of UUIDs of the speakers speaking at this event.
+     * @param duration The duration of the event, in minutes.
+     */
+    public Event(UUID eventID, int capacity, String room, LocalTime startTime, String title, List<UUID> speakers,
+                 int duration) {
+        this.eventID = eventID;
         this.capacity = capacity;
-        this.attendees = new ArrayList<>();
+        this.attendees = new LinkedHashSet<>();
         this.room = room;
         this.startTime = startTime;
         this.title = title;
@@ -36,40 +80,130 @@ public class Event implements Serializable {
         this.duration = duration;
     }
 
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("capacity", capacity);
+        fields.put("attendees", new ArrayList<>(attendees));
+        fields.put("room", room);
+        fields.put("startTime", startTime);
+        fields.put("title", title);
+        fields.put("speakers", speakers);
+        fields.put("duration", duration);
+        fields.put("eventID", eventID);
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        capacity = fields.get("capacity", 0);
+        attendees = new LinkedHashSet<>((List<UUID>) fields.get("attendees", new ArrayList<>()));
+        room = (String) fields.get("room", null);
+        startTime = (LocalTime) fields.get("startTime", null);
+        title = (String) fields.get("title", null);
+        speakers = (List<UUID>) fields.get("speakers", new ArrayList<>());
+        duration = fields.get("duration", 0);
+        eventID = (UUID) fields.get("eventID", null);
+        if (eventID == null) {
+            eventID = deriveID(room, startTime, title);
+        }
+    }
+
+    /**
+     * Derives the ID of an Event saved before Events had IDs from its details.
+     *
+     * No two Events in a schedule share a room at the same time, so no two Events in a schedule are given the same
+     * ID.
+     * @param room The room of the Event.
+     * @param startTime The start time of the Event.
+     * @param title The title of the Event.
+     * @return The ID of the Event.
+     */
+    public static UUID deriveID(String room, LocalTime startTime, String title) {
+        return UUID.nameUUIDFromBytes((room + "|" + startTime + "|" + title).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets this Event's ID.
+     * @return The ID of the Event.
+     */
+    public UUID getEventID() { return this.eventID; }
+
     /**
      * Returns true iff the Event is at capacity.
      * @return Whether the Event is at capacity.
      */
-    public boolean atCapacity() { return this.attendees.size() == capacity; }
+    public synchronized boolean atCapacity() { return this.attendees.size() >= capacity; }
 
     /**
-     * Gets this Event's list of Attendees.
-     * @return The attendees of the event.
+     * Gets the number of attendees of this Event.
+     * @return The number of attendees of the Event.
      */
-    public List<UUID> getAttendees() { return this.attendees; }
+    public synchronized int getNumAttendees() { return this.attendees.size(); }
 
     /**
-     * Add an attendee to the Event's list of Attendees.
+     * Gets this Event's Attendees, in the order they signed up.
+     * @return An unmodifiable copy of the attendees of the event.
+     */
+    public synchronized Set<UUID> getAttendees() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(this.attendees));
+    }
+
+    /**
+     * Adds an attendee to the Event's list of Attendees iff the Event is not at capacity and the attendee is not
+     * already attending it.
+     *
+     * The check and the addition happen atomically, so an Event never has more attendees than its capacity however
+     * many threads reserve seats at once.
      * @param attendee The attendee to be added.
+     * @return true iff the attendee was added.
      */
-    public void addAttendee(UUID attendee) { this.attendees.add(attendee); }
+    public synchronized boolean reserveSeat(UUID attendee) {
+        if (this.attendees.size() >= capacity || !this.attendees.add(attendee)) {
+            return false;
+        }
+        this.view = null;
+        return true;
+    }
 
     /**
      * Remove an attendee from the Event's list of Attendees.
      * @param attendee The attendee to be removed.
+     * @return true iff the attendee was attending the Event.
      */
-    public void removeAttendee(UUID attendee) { this.attendees.remove(attendee); }
+    public synchronized boolean removeAttendee(UUID attendee) {
+        if (!this.attendees.remove(attendee)) {
+            return false;
+        }
+        this.view = null;
+        return true;
+    }
 
     /**
      * Remove all attendees from the Event's list of Attendees
      */
-    public void removeAllAttendees() { this.attendees.clear(); }
+    public synchronized void removeAllAttendees() {
+        this.attendees.clear();
+        this.view = null;
+    }
 
     /**
      * Returns true iff the attendee is attending the Event.
      * @return Whether the attendee is attending the Event.
      */
-    public boolean checkAttendee(UUID attendee) { return this.attendees.contains(attendee); }
+    public synchronized boolean checkAttendee(UUID attendee) { return this.attendees.contains(attendee); }
+
+    /**
+     * Gets the number of people this Event can have.
+     * @return The capacity of the Event.
+     */
+    public int getCapacity() { return this.capacity; }
+
+    /**
+     * Gets this Event's duration.
+     * @return The duration of the Event, in minutes.
+     */
+    public int getDuration() { return this.duration; }
 
     /**
      * Gets this Event's room.
@@ -87,7 +221,10 @@ public class Event implements Serializable {
      * Sets this Event's start time to time.
      * @param time The new start time.
      */
-    public void setStartTime(LocalTime time) { this.startTime = time; }
+    public void setStartTime(LocalTime time) {
+        this.startTime = time;
+        this.view = null;
+    }
 
     /**
      * Gets this Event's end time.
@@ -118,7 +255,25 @@ public class Event implements Serializable {
      * Sets this Event's duration to duration.
      * @param duration The new duration of this Event.
      */
-    public void setDuration(int duration) { this.duration = duration; }
+    public void setDuration(int duration) {
+        this.duration = duration;
+        this.view = null;
+    }
+
+    /**
+     * Returns an immutable view of the details about this Event.
+     *
+     * The view is kept until this Event next changes, so listing unchanged Events does not create new views.
+     * @return The details about this Event as a view.
+     */
+    public synchronized EventView toView() {
+        EventView current = view;
+        if (current == null) {
+            current = new EventView(eventID, title, speakers, startTime, getEndTime(), room, attendees.size(), capacity);
+            view = current;
+        }
+        return current;
+    }
 
     /**
      * Returns the details about this Event as a map.
@@ -127,16 +282,56 @@ public class Event implements Serializable {
      * @return The details about this Event as a map.
      */
     public Map<String, Object> extractData() {
-        Map<String, Object> data = new HashMap<>();
+        return toView().toMap();
+    }
 
-        data.put("Title", title);
-        data.put("Speaker", speakers);
-        data.put("StartTime", startTime);
-        data.put("EndTime", getEndTime());
-        data.put("Room", room);
-        data.put("Registered", attendees.size());
-        data.put("Capacity", capacity);
+    /**
+     * Writes this Event in the binary form read by readFrom.
+     * @param out The writer to write to.
+     * @throws IOException if the Event could not be written.
+     */
+    public synchronized void writeTo(BinaryWriter out) throws IOException {
+        out.writeInt(capacity);
+        out.writeString(room);
+        out.writeTime(startTime);
+        out.writeString(title);
+        out.writeInt(duration);
+        out.writeInt(speakers.size());
+        for (UUID speaker : speakers) {
+            out.writeUUID(speaker);
+        }
+        out.writeInt(attendees.size());
+        for (UUID attendee : attendees) {
+            out.writeUUID(attendee);
+        }
+        out.writeUUID(eventID);
+    }
 
-        return data;
+    /**
+     * Reads an Event written by writeTo.
+     * @param in The reader to read from.
+     * @return The Event that was read.
+     * @throws IOException if the Event could not be read.
+     */
+    public static Event readFrom(BinaryReader in) throws IOException {
+        int capacity = in.readInt();
+        String room = in.readString();
+        LocalTime startTime = in.readTime();
+        String title = in.readString();
+        int duration = in.readInt();
+        int numSpeakers = in.readInt();
+        List<UUID> speakers = new ArrayList<>(numSpeakers);
+        for (int i = 0; i < numSpeakers; i++) {
+            speakers.add(in.readUUID());
+        }
+        Set<UUID> attendees = new LinkedHashSet<>();
+        int numAttendees = in.readInt();
+        for (int i = 0; i < numAttendees; i++) {
+            attendees.add(in.readUUID());
+        }
+        UUID eventID = in.readUUID();
+        Event event = new Event(eventID, capacity, room, startTime, title, speakers, duration);
+        event.attendees.addAll(attendees);
+        return event;
     }
-}
\ No newline at end of file
+}
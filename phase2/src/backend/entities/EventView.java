@@ -0,0 +1,122 @@
+package backend.entities;
+
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * An immutable view of the details of an Event at the time the view was taken, used to list events without exposing
+ * the Event itself.
+ */
+public final class EventView {
+    private final UUID eventID;
+    private final String title;
+    private final List<UUID> speakers;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final String room;
+    private final int registered;
+    private final int capacity;
+
+    /**
+     * Constructs a new EventView with the given details.
+     * @param eventID The ID of the event.
+     * @param title The event's title.
+     * @param speakers A list of UUIDs of the speakers speaking at the event.
+     * @param startTime The starting time of the event.
+     * @param endTime The ending time of the event.
+     * @param room The room in which the event is taking place.
+     * @param registered The number of attendees registered for the event.
+     * @param capacity The number of people the event can have.
+     */
+    public EventView(UUID eventID, String title, List<UUID> speakers, LocalTime startTime, LocalTime endTime,
+                     String room, int registered, int capacity) {
+        this.eventID = eventID;
+        this.title = title;
+        this.speakers = Collections.unmodifiableList(new ArrayList<>(speakers));
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.room = room;
+        this.registered = registered;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the ID of the event, which can be used to sign up for, cancel or reschedule it.
+     * @return The ID of the event.
+     */
+    public UUID getEventID() { return eventID; }
+
+    /**
+     * Returns the event's title.
+     * @return The event's title.
+     */
+    public String getTitle() { return title; }
+
+    /**
+     * Returns the UUIDs of the speakers speaking at the event.
+     * @return An unmodifiable list of UUIDs of the speakers.
+     */
+    public List<UUID> getSpeakers() { return speakers; }
+
+    /**
+     * Returns the starting time of the event.
+     * @return The starting time of the event.
+     */
+    public LocalTime getStartTime() { return startTime; }
+
+    /**
+     * Returns the ending time of the event.
+     * @return The ending time of the event.
+     */
+    public LocalTime getEndTime() { return endTime; }
+
+    /**
+     * Returns the room in which the event is taking place.
+     * @return The room of the event.
+     */
+    public String getRoom() { return room; }
+
+    /**
+     * Returns the number of attendees registered for the event.
+     * @return The number of registered attendees.
+     */
+    public int getRegistered() { return registered; }
+
+    /**
+     * Returns the number of people the event can have.
+     * @return The capacity of the event.
+     */
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Returns the details of the event as a map, in the form returned by Event.extractData.
+     * @return A map whose values are the event's details.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> data = new HashMap<>();
+
+        data.put("ID", eventID);
+        data.put("Title", title);
+        data.put("Speaker", speakers);
+        data.put("StartTime", startTime);
+        data.put("EndTime", endTime);
+        data.put("Room", room);
+        data.put("Registered", registered);
+        data.put("Capacity", capacity);
+
+        return data;
+    }
+
+    /**
+     * Returns the details of each of the given events as a map, in the form returned by Event.extractData.
+     * @param views The views of the events.
+     * @return A list of maps, in the same order as views.
+     */
+    public static List<Map<String, Object>> toMaps(List<EventView> views) {
+        List<Map<String, Object>> dataList = new ArrayList<>(views.size());
+        for (EventView view : views) {
+            dataList.add(view.toMap());
+        }
+        return dataList;
+    }
+}
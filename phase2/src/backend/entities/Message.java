@@ -1,24 +1,37 @@
 package backend.entities;
 
-import java.util.HashMap;
+import java.io.*;
 import java.util.Map;
 import java.util.UUID;
 import java.lang.String;
 import java.time.LocalTime;
-import java.io.Serializable;
 
 /**
  * A message with a message id, a sender UUID, a recipient UUID, a body, a timestamp, a title and whether or not it is
  * read.
+ *
+ * The id, sender, body, timestamp and title are held in a MessageContent that may be shared with the copies of the
+ * same message sent to other recipients.
  */
 public class Message implements Serializable {
-    private final UUID msgID;
-    private final UUID sender;
-    private final UUID recipient;
-    private final String body;
-    private final LocalTime timeSent;
+    private static final long serialVersionUID = -1051923610607666760L;
+
+    /**
+     * The serialized form of a Message, which stores its content inline.
+     */
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("msgID", UUID.class),
+            new ObjectStreamField("sender", UUID.class),
+            new ObjectStreamField("recipient", UUID.class),
+            new ObjectStreamField("body", String.class),
+            new ObjectStreamField("timeSent", LocalTime.class),
+            new ObjectStreamField("status", Statuses.class),
+            new ObjectStreamField("title", String.class)
+    };
+
+    private MessageContent content;
+    private UUID recipient;
     private Statuses status;
-    private final String title;
 
     /**
      * Constructs a new Message with the information below.
@@ -30,15 +43,51 @@ public class Message implements Serializable {
      * @param title The title of the Message.
      */
     public Message(UUID msgID, UUID sender, UUID recipient, String body, LocalTime timeSent, String title) {
-        this.msgID = msgID;
-        this.sender = sender;
+        this(new MessageContent(msgID, sender, body, timeSent, title), recipient);
+    }
+
+    /**
+     * Constructs a new Message to recipient that shares the given content.
+     * @param content The content of this Message.
+     * @param recipient The UUID of the person who received this Message.
+     */
+    public Message(MessageContent content, UUID recipient) {
+        this.content = content;
         this.recipient = recipient;
-        this.body = body;
-        this.timeSent = timeSent;
-        this.title = title;
         this.status = Statuses.UNREAD;
     }
 
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("msgID", content.getMsgID());
+        fields.put("sender", content.getSender());
+        fields.put("recipient", recipient);
+        fields.put("body", content.getBody());
+        fields.put("timeSent", content.getTimeSent());
+        fields.put("status", status);
+        fields.put("title", content.getTitle());
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        content = new MessageContent((UUID) fields.get("msgID", null), (UUID) fields.get("sender", null),
+                (String) fields.get("body", null), (LocalTime) fields.get("timeSent", null),
+                (String) fields.get("title", null));
+        recipient = (UUID) fields.get("recipient", null);
+        status = (Statuses) fields.get("status", Statuses.UNREAD);
+    }
+
+    /**
+     * Makes this Message share the content of another copy of the same message, if they have the same ID.
+     * @param copy Another Message sent with the same content.
+     */
+    public void shareContent(Message copy) {
+        if (content.getMsgID().equals(copy.content.getMsgID())) {
+            this.content = copy.content;
+        }
+    }
+
     /**
      * Sets the status of a message.
      * @param status message status from the Statuses enum
@@ -61,29 +110,39 @@ public class Message implements Serializable {
         return recipient;
     }
 
+    /**
+     * Gets the content of the message.
+     * @return The content of this Message, which may be shared with other copies of it.
+     */
+    public MessageContent getContent() { return content; }
+
+    /**
+     * Gets the ID of the message.
+     * @return The ID of this Message, which is shared by every copy of it.
+     */
+    public UUID getMsgID() { return content.getMsgID(); }
+
     /**
      * Gets the UUID of the message sender.
      * @return The UUID of the person who sent this Message.
      */
-    public UUID getSender() { return sender; }
+    public UUID getSender() { return content.getSender(); }
 
 
+    /**
+     * Returns an immutable view of this Message, sharing its content.
+     * @return A view of this Message.
+     */
+    public MessageView toView() {
+        return new MessageView(content, recipient, status);
+    }
+
     /**
      * Returns a map whose values are the Message's properties corresponding to those properties in
      * string format.
      * @return A map whose values are Message properties.
      */
     public Map<String, Object> extractData() {
-        Map<String, Object> messageData = new HashMap<>();
-
-        messageData.put("msgID", msgID);
-        messageData.put("sender", sender);
-        messageData.put("recipient", recipient);
-        messageData.put("body", body);
-        messageData.put("timeSent", timeSent);
-        messageData.put("title", title);
-        messageData.put("status", status);
-
-        return messageData;
+        return toView().toMap();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package backend.entities;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * The immutable part of a message: its id, sender, body, timestamp and title.
+ *
+ * A message sent to several recipients shares one MessageContent between all of their copies.
+ */
+public class MessageContent {
+    private final UUID msgID;
+    private final UUID sender;
+    private final String body;
+    private final LocalTime timeSent;
+    private final String title;
+
+    /**
+     * Constructs a new MessageContent with the information below.
+     * @param msgID The ID of the message.
+     * @param sender The UUID of the person who sent the message.
+     * @param body The body of the message as a string.
+     * @param timeSent The time the message was sent.
+     * @param title The title of the message.
+     */
+    public MessageContent(UUID msgID, UUID sender, String body, LocalTime timeSent, String title) {
+        this.msgID = msgID;
+        this.sender = sender;
+        this.body = body;
+        this.timeSent = timeSent;
+        this.title = title;
+    }
+
+    /**
+     * Gets the ID of the message.
+     * @return The ID of the message.
+     */
+    public UUID getMsgID() { return msgID; }
+
+    /**
+     * Gets the UUID of the message sender.
+     * @return The UUID of the person who sent the message.
+     */
+    public UUID getSender() { return sender; }
+
+    /**
+     * Gets the body of the message.
+     * @return The body of the message.
+     */
+    public String getBody() { return body; }
+
+    /**
+     * Gets the time the message was sent.
+     * @return The time the message was sent.
+     */
+    public LocalTime getTimeSent() { return timeSent; }
+
+    /**
+     * Gets the title of the message.
+     * @return The title of the message.
+     */
+    public String getTitle() { return title; }
+}
@@ -0,0 +1,101 @@
+package backend.entities;
+
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * An immutable view of a Message at the time the view was taken, used to list messages without exposing the
+ * Message itself.
+ *
+ * The view shares the MessageContent of the Message, so taking it copies only the recipient and the status.
+ */
+public final class MessageView {
+    private final MessageContent content;
+    private final UUID recipient;
+    private final Statuses status;
+
+    /**
+     * Constructs a new MessageView of a message with the given content, recipient and status.
+     * @param content The content of the message.
+     * @param recipient The UUID of the recipient of the message.
+     * @param status The status of the message.
+     */
+    public MessageView(MessageContent content, UUID recipient, Statuses status) {
+        this.content = content;
+        this.recipient = recipient;
+        this.status = status;
+    }
+
+    /**
+     * Returns the ID of the message.
+     * @return The ID of the message.
+     */
+    public UUID getMsgID() { return content.getMsgID(); }
+
+    /**
+     * Returns the UUID of the person who sent the message.
+     * @return The UUID of the sender.
+     */
+    public UUID getSender() { return content.getSender(); }
+
+    /**
+     * Returns the UUID of the recipient of the message.
+     * @return The UUID of the recipient.
+     */
+    public UUID getRecipient() { return recipient; }
+
+    /**
+     * Returns the body of the message.
+     * @return The body of the message.
+     */
+    public String getBody() { return content.getBody(); }
+
+    /**
+     * Returns the time the message was sent.
+     * @return The time the message was sent.
+     */
+    public LocalTime getTimeSent() { return content.getTimeSent(); }
+
+    /**
+     * Returns the title of the message.
+     * @return The title of the message.
+     */
+    public String getTitle() { return content.getTitle(); }
+
+    /**
+     * Returns the status of the message.
+     * @return The status of the message.
+     */
+    public Statuses getStatus() { return status; }
+
+    /**
+     * Returns the details of the message as a map, in the form returned by Message.extractData.
+     * @return A map whose values are Message properties.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> messageData = new HashMap<>();
+
+        messageData.put("msgID", content.getMsgID());
+        messageData.put("sender", content.getSender());
+        messageData.put("recipient", recipient);
+        messageData.put("body", content.getBody());
+        messageData.put("timeSent", content.getTimeSent());
+        messageData.put("title", content.getTitle());
+        messageData.put("status", status);
+
+        return messageData;
+    }
+
+    /**
+     * Returns the details of each of the given messages as a map, in the form returned by Message.extractData.
+     * @param views The views of the messages.
+     * @return A list of maps, in the same order as views.
+     */
+    public static List<Map<String, Object>> toMaps(List<MessageView> views) {
+        List<Map<String, Object>> messageData = new ArrayList<>(views.size());
+        for (MessageView view : views) {
+            messageData.add(view.toMap());
+        }
+        return messageData;
+    }
+}
@@ -1,11 +1,13 @@
 package backend.entities.users;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Represents an Admin type User.
  */
 public class Admin extends User{
+    private static final long serialVersionUID = -8945155851297373828L;
 
     /**
      * Creates an Admin Object and set its permissions accordingly based on its type.
@@ -18,6 +20,18 @@ public class Admin extends User{
         setPermissions();
     }
 
+    /**
+     * Creates an Admin Object with an existing UUID and set its permissions accordingly based on its type.
+     * @param uuid UUID of the Admin.
+     * @param name Name of the Admin.
+     * @param username Username of the Admin.
+     * @param password Password of the Admin.
+     */
+    Admin(UUID uuid, String name, String username, String password, LocalDateTime lastLoggedIn) {
+        super(uuid, name, username, password, lastLoggedIn);
+        setPermissions();
+    }
+
     /**
      * Sets the permissions of an Admin. Admins can schedule events, create users, ban users, manage messages,
      * and view statistics
@@ -1,11 +1,13 @@
 package backend.entities.users;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Represents an Attendee type User.
  */
 public class Attendee extends User {
+    private static final long serialVersionUID = 1070406073798056805L;
     /**
      * Creates an Attendee Object and set its permissions accordingly based on its type.
      * @param name Name of the organizer.
@@ -17,6 +19,18 @@ public class Attendee extends User {
         setPermissions();
     }
 
+    /**
+     * Creates an Attendee Object with an existing UUID and set its permissions accordingly based on its type.
+     * @param uuid UUID of the Attendee.
+     * @param name Name of the Attendee.
+     * @param username Username of the Attendee.
+     * @param password Password of the Attendee.
+     */
+    Attendee(UUID uuid, String name, String username, String password, LocalDateTime lastLoggedIn) {
+        super(uuid, name, username, password, lastLoggedIn);
+        setPermissions();
+    }
+
     /**
      * Sets the permissions of an Attendee. Attendees can be messaged and are able to
      * sign up for events.
@@ -1,11 +1,13 @@
 package backend.entities.users;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Represents an organizer type user.
  */
 public class Organizer extends User {
+    private static final long serialVersionUID = -6326180943551989180L;
     /**
      * Creates an Organizer Object and set its permissions accordingly based on its type.
      * @param name Name of the organizer.
@@ -17,6 +19,18 @@ public class Organizer extends User {
         setPermissions();
     }
 
+    /**
+     * Creates an Organizer Object with an existing UUID and set its permissions accordingly based on its type.
+     * @param uuid UUID of the Organizer.
+     * @param name Name of the Organizer.
+     * @param username Username of the Organizer.
+     * @param password Password of the Organizer.
+     */
+    Organizer(UUID uuid, String name, String username, String password, LocalDateTime lastLoggedIn) {
+        super(uuid, name, username, password, lastLoggedIn);
+        setPermissions();
+    }
+
     /**
      * Sets the permissions of an Organizer. Organizers can schedule events, create users, and view statistics.
      */
@@ -2,11 +2,13 @@ package backend.entities.users;
 
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  *  Represents a speaker type user.
  */
 public class Speaker extends User {
+    private static final long serialVersionUID = -5647700076571014815L;
     /**
      * Creates a Speaker object and set its permissions accordingly based on its type.
      * @param name Name of the speaker.
@@ -18,6 +20,18 @@ public class Speaker extends User {
         setPermissions();
     }
 
+    /**
+     * Creates a Speaker Object with an existing UUID and set its permissions accordingly based on its type.
+     * @param uuid UUID of the Speaker.
+     * @param name Name of the Speaker.
+     * @param username Username of the Speaker.
+     * @param password Password of the Speaker.
+     */
+    Speaker(UUID uuid, String name, String username, String password, LocalDateTime lastLoggedIn) {
+        super(uuid, name, username, password, lastLoggedIn);
+        setPermissions();
+    }
+
     /**
      * Sets the permissions of a speaker. Speakers can be messaged, message everyone in their
      * talk(s), and can speak at a talk.
@@ -1,5 +1,9 @@
 package backend.entities.users;
 
+import utility.filehandling.BinaryReader;
+import utility.filehandling.BinaryWriter;
+
+import java.io.IOException;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -17,6 +21,7 @@ import java.lang.String;
  *      - The User's profile social media links.
  */
 public abstract class User implements Serializable {
+    private static final long serialVersionUID = -6330982545871943850L;
     private final UUID uuid;
     private final String name;
     private final String username;
@@ -33,7 +38,18 @@ public abstract class User implements Serializable {
      * @param password The password of the user being created.
      */
     public User(String name, String username, String password, LocalDateTime registeredTime) {
-        this.uuid = UUID.randomUUID();
+        this(UUID.randomUUID(), name, username, password, registeredTime);
+    }
+
+    /**
+     * Creates a User Object with an existing UUID, such as when the User is read back from a file.
+     * @param uuid The UUID of the user.
+     * @param name The name of the user being created.
+     * @param username The user name of the user being created.
+     * @param password The password of the user being created.
+     */
+    protected User(UUID uuid, String name, String username, String password, LocalDateTime registeredTime) {
+        this.uuid = uuid;
         this.name = name;
         this.username = username;
         this.password = password;
@@ -140,4 +156,61 @@ public abstract class User implements Serializable {
      */
     public LocalDateTime getLastLoggedIn() { return lastLoggedIn;}
 
+    /**
+     * Writes this user in the binary form read by readFrom.
+     * @param out The writer to write to.
+     * @throws IOException if the user could not be written.
+     */
+    public void writeTo(BinaryWriter out) throws IOException {
+        out.writeString(getClass().getSimpleName());
+        out.writeUUID(uuid);
+        out.writeString(name);
+        out.writeString(username);
+        out.writeString(password);
+        out.writeDateTime(lastLoggedIn);
+        out.writeBoolean(isBanned);
+        out.writeInt(profileLinks.size());
+        for (Map.Entry<Socials, String> link : profileLinks.entrySet()) {
+            out.writeEnum(link.getKey());
+            out.writeString(link.getValue());
+        }
+    }
+
+    /**
+     * Reads a user written by writeTo.
+     * @param in The reader to read from.
+     * @return The user that was read, with the permissions of its type.
+     * @throws IOException if the user could not be read.
+     */
+    public static User readFrom(BinaryReader in) throws IOException {
+        String type = in.readString();
+        UUID uuid = in.readUUID();
+        String name = in.readString();
+        String username = in.readString();
+        String password = in.readString();
+        LocalDateTime lastLoggedIn = in.readDateTime();
+        User user;
+        switch (type) {
+            case "Attendee":
+                user = new Attendee(uuid, name, username, password, lastLoggedIn);
+                break;
+            case "Speaker":
+                user = new Speaker(uuid, name, username, password, lastLoggedIn);
+                break;
+            case "Organizer":
+                user = new Organizer(uuid, name, username, password, lastLoggedIn);
+                break;
+            case "Admin":
+                user = new Admin(uuid, name, username, password, lastLoggedIn);
+                break;
+            default:
+                throw new IOException("Unknown user type " + type);
+        }
+        user.isBanned = in.readBoolean();
+        int numLinks = in.readInt();
+        for (int i = 0; i < numLinks; i++) {
+            user.profileLinks.put(in.readEnum(Socials.class), in.readString());
+        }
+        return user;
+    }
 }
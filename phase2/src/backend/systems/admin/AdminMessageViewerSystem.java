@@ -1,5 +1,6 @@
 package backend.systems.admin;
 
+import backend.entities.MessageView;
 import backend.entities.Statuses;
 import backend.systems.MenuSystem;
 import backend.systems.social.managers.MessageManager;
@@ -59,19 +60,19 @@ class AdminMessageViewerSystem extends MenuSystem {
 
         switch(index){
             case 1:
-                inboxUI.displayInbox(messageManager.getSentMessageData(um.getUUIDWithUsername(username)));
+                inboxUI.displayInbox(messageManager.getSentMessageViews(um.getUUIDWithUsername(username)));
                 break;
             case 2:
-                inboxUI.displayInbox(messageManager.getInboxData(um.getUUIDWithUsername(username)));
+                inboxUI.displayInbox(messageManager.getInboxViews(um.getUUIDWithUsername(username)));
                 break;
             case 3:
-                inboxUI.displayInbox(messageManager.getInboxData(um.getUUIDWithUsername(username)));
+                inboxUI.displayInbox(messageManager.getInboxViews(um.getUUIDWithUsername(username)));
 
                 if (!messageManager.userHasMail(um.getUUIDWithUsername(username))) {
                     return;
                 }
 
-                List<Map<String, Object>> inboxData = messageManager.getInboxData(um.getUUIDWithUsername(username),
+                List<MessageView> inboxData = messageManager.getInboxViews(um.getUUIDWithUsername(username),
                         Arrays.asList(Statuses.values()));
                 inboxUI.displayInbox(inboxData);
                 InputProcessor<Integer> optionProcessor = new OptionInputProcessor(new Scanner(System.in),
@@ -1,14 +1,13 @@
 package backend.systems.admin;
 
 import backend.entities.users.Perms;
-import backend.systems.events.managers.EventManager;
+import backend.systems.conference.ConferenceCatalog;
 import backend.systems.social.managers.MessageManager;
 import backend.systems.MenuSystem;
 import backend.systems.usermangement.managers.UserManager;
 import frontend.AdminUI;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,7 +16,7 @@ import java.util.Map;
 public class AdminSystem extends MenuSystem {
     private UserManager um;
     private MessageManager messageManager;
-    private List<EventManager> em;
+    private StatisticsCalculator statisticsCalculator;
     private AdminUI adminUI;
     private boolean[] perms;
     private Map<Integer, Integer> optionToPerm;
@@ -29,18 +28,20 @@ public class AdminSystem extends MenuSystem {
 
     /**
      * Constructs a new AdminSystem with the given information.
-     * @param eventManagers The EventManagers that will be used by the AdminSystem
+     * @param conferenceCatalog The ConferenceCatalog of the conferences whose statistics the AdminSystem shows
      * @param um The UserManager that will be used by the AdminSystem
      * @param messageManager The MessageManager that will be used by the AdminSystem
      */
-    public AdminSystem(UserManager um, MessageManager messageManager, List<EventManager> eventManagers){
+    public AdminSystem(UserManager um, MessageManager messageManager, ConferenceCatalog conferenceCatalog){
         super();
         this.um = um;
         this.messageManager = messageManager;
-        this.em = eventManagers;
         adminUI = new AdminUI();
         optionToPerm = new HashMap<>();
         changeNumOptions(readyPerms() + 1);
+        if (perms[CAN_VIEW_STATS]) {
+            statisticsCalculator = new StatisticsCalculator(conferenceCatalog, um);
+        }
     }
 
     private int readyPerms(){
@@ -76,7 +77,7 @@ public class AdminSystem extends MenuSystem {
     protected void processInput(int index) {
         switch (optionToPerm.get(index-1)){
             case CAN_VIEW_STATS:
-                StatisticsSystem statSys = new StatisticsSystem(em, um);
+                StatisticsSystem statSys = new StatisticsSystem(statisticsCalculator, um);
                 statSys.run();
                 break;
             case CAN_BAN_USERS:
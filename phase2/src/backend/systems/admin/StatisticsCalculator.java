@@ -1,72 +1,142 @@
 package backend.systems.admin;
 
+import backend.entities.Event;
+import backend.entities.EventView;
 import backend.entities.users.Perms;
-import backend.systems.events.managers.EventManager;
+import backend.systems.conference.ConferenceCatalog;
+import backend.systems.events.managers.EventObserver;
 import backend.systems.usermangement.managers.UserManager;
-import utility.ParallelSorter;
+import backend.systems.usermangement.managers.UserObserver;
+import utility.RankedCounter;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * The class responsible for generating useful statistics that can be viewed by Admins.
+ *
+ * The statistics are kept up to date as events are scheduled, users sign up and users log in, so reading them
+ * does not depend on the size of the conferences. Events are counted by ID and kept as views, so the statistics do
+ * not keep any EventManager in memory, and an event reported again when its EventManager is loaded again is not
+ * counted twice. Attendees may sign up from several threads at once, so every method is synchronized.
  */
-class StatisticsCalculator{
-    private final List<EventManager> eventManagers;
+class StatisticsCalculator implements EventObserver, UserObserver {
     private final UserManager userManager;
-    private final ParallelSorter parallelSorter;
+    private final RankedCounter<UUID> eventRegistrations;
+    private final Map<UUID, EventView> eventViews;
+    private final RankedCounter<UUID> speakerEvents;
+    private final TreeMap<LocalDateTime, Integer> lastLogins;
 
     /**
-     * Constructs a new instance of StatisticsCalculator given an eventManager and a userManager.
-     * @param eventManagers eventManagers used by the StatisticsCalculator
+     * Constructs a new instance of StatisticsCalculator given a conferenceCatalog and a userManager, and starts
+     * observing them.
+     *
+     * The statistics cover every active conference, including those created later, so the catalog loads the
+     * EventManager of each conference that is not in memory once.
+     * @param conferenceCatalog the catalog of the conferences whose events are counted
      * @param userManager usermanager used by the StatisticsCalculator
      */
-    public StatisticsCalculator (List<EventManager> eventManagers, UserManager userManager) {
-        this.eventManagers = eventManagers;
+    public StatisticsCalculator (ConferenceCatalog conferenceCatalog, UserManager userManager) {
         this.userManager = userManager;
-        this.parallelSorter = new ParallelSorter();
+        this.eventRegistrations = new RankedCounter<>();
+        this.eventViews = new HashMap<>();
+        this.speakerEvents = new RankedCounter<>();
+        this.lastLogins = new TreeMap<>();
+        userManager.addObserver(this);
+        conferenceCatalog.addEventObserver(this);
     }
 
+    /**
+     * Records a newly scheduled event and its speakers, or refreshes an event that is already recorded.
+     * @param event the event that was scheduled
+     */
+    @Override
+    public synchronized void eventScheduled(Event event) {
+        UUID eventID = event.getEventID();
+        EventView view = event.toView();
+        if (eventViews.put(eventID, view) != null) {
+            eventRegistrations.add(eventID, view.getRegistered() - eventRegistrations.getCount(eventID));
+            return;
+        }
+        eventRegistrations.add(eventID, view.getRegistered());
+        for (UUID speaker: view.getSpeakers()) {
+            speakerEvents.add(speaker, 1);
+        }
+    }
 
     /**
-     * Gets the average number of all attendees of all events in the eventManager.
-     * @return average number of all attendees of all events
+     * Forgets a cancelled event and its registrations.
+     * @param event the event that was cancelled
      */
-    public int getAverageNumberOfAttendees() {
-        List<Integer> numberofAttendees = new ArrayList<>();
-        List<Map<String, Object>> eventsData = new ArrayList<>();
-        for (EventManager eventManager: eventManagers) {
-            eventsData.addAll(eventManager.retrieveAllEvents());
+    @Override
+    public synchronized void eventCancelled(Event event) {
+        EventView view = eventViews.remove(event.getEventID());
+        if (view == null) {
+            return;
         }
-        for (Map<String, Object> eventData : eventsData) {
-            numberofAttendees.add((int) eventData.get("Registered"));
+        eventRegistrations.untrack(event.getEventID());
+        for (UUID speaker: view.getSpeakers()) {
+            speakerEvents.add(speaker, -1);
         }
-        if(numberofAttendees.size() != 0)
-            return numberofAttendees.stream().mapToInt(Integer::intValue).sum() / numberofAttendees.size();
-        return 0;
     }
 
     /**
-     * Gets the top five events in the eventManager based on number of attendees.
-     * @return a list of the names of the five most popular events
+     * Updates the number of registrations of an event.
+     * @param event the event whose attendees changed
+     * @param change the number of attendees gained
      */
-    public List<Map<String, Object>> top5Events() {
-        List<Map<String, Object>> top5Events = new ArrayList<>();
-        List<Map<String, Object>> topEvents = new ArrayList<>();
-        List<Integer> numberofAttendees = new ArrayList<>();
-        List<Map<String, Object>> eventsData = new ArrayList<>();
-        for (EventManager eventManager: eventManagers) {
-            eventsData.addAll(eventManager.retrieveAllEvents());
+    @Override
+    public synchronized void registrationsChanged(Event event, int change) {
+        if (eventViews.replace(event.getEventID(), event.toView()) != null) {
+            eventRegistrations.add(event.getEventID(), change);
         }
-        for (Map<String, Object> eventData : eventsData) {
-            numberofAttendees.add((int)eventData.get("Registered"));
-            topEvents.add(eventData);
+    }
+
+    /**
+     * Records a new user's last login, and starts ranking them if they are a speaker.
+     * @param userID the UUID of the user that was added
+     */
+    @Override
+    public synchronized void userAdded(UUID userID) {
+        if (userManager.hasPermission(userID, Perms.CAN_SPEAK_AT_TALK)) {
+            speakerEvents.track(userID);
         }
-        parallelSorter.parallelSortListMap(numberofAttendees, topEvents);
-        for (int i = 0; i < Math.min(topEvents.size(), 5); i++) {
-            top5Events.add(topEvents.get(i));
+        lastLogins.merge(userManager.getLastLoggedInWithUUID(userID), 1, Integer::sum);
+    }
+
+    /**
+     * Moves a user's last login to the time they just logged in.
+     * @param userID the UUID of the user that logged in
+     * @param previousLogin the user's previous last login
+     * @param login the time the user logged in
+     */
+    @Override
+    public synchronized void userLoggedIn(UUID userID, LocalDateTime previousLogin, LocalDateTime login) {
+        lastLogins.computeIfPresent(previousLogin, (time, count) -> count == 1 ? null : count - 1);
+        lastLogins.merge(login, 1, Integer::sum);
+    }
+
+    /**
+     * Gets the average number of all attendees of all events in the eventManager.
+     * @return average number of all attendees of all events
+     */
+    public synchronized int getAverageNumberOfAttendees() {
+        if(eventRegistrations.size() != 0)
+            return (int) (eventRegistrations.getTotal() / eventRegistrations.size());
+        return 0;
+    }
+
+    /**
+     * Gets the top events in the eventManager based on number of attendees.
+     * @param numEvents the maximum number of events to return
+     * @return a list of the views of the most popular events, most attended first
+     */
+    public synchronized List<EventView> topEvents(int numEvents) {
+        List<EventView> topEvents = new ArrayList<>();
+        for (UUID eventID: eventRegistrations.getTop(numEvents)) {
+            topEvents.add(eventViews.get(eventID));
         }
-        return top5Events;
+        return topEvents;
     }
 
     /**
@@ -75,49 +145,34 @@ class StatisticsCalculator{
      * @param EndTime ending time of the interval
      * @return number of users that log in at any time over the specified interval
      */
-    public int getUserTrafficNumber(LocalDateTime StartTime, LocalDateTime EndTime) {
+    public synchronized int getUserTrafficNumber(LocalDateTime StartTime, LocalDateTime EndTime) {
         int trafficCount = 0;
-        List<UUID> user_list = userManager.getUUIDs();
-        for (UUID userID : user_list) {
-            if (userManager.checkUserLoggedIn(userID, StartTime, EndTime)) {
-                trafficCount += 1;
+        if (StartTime.isBefore(EndTime)) {
+            for (int logins : lastLogins.subMap(StartTime, false, EndTime, false).values()) {
+                trafficCount += logins;
             }
         }
         return trafficCount;
     }
 
     /**
-     * Gets the top five speakers ranked by the number of events spoken at.
-     * @return a list of the names of the top five speakers based on the number of events they
+     * Gets the top speakers ranked by the number of events spoken at.
+     * @param numSpeakers the maximum number of speakers to return
+     * @return a list of the names of the top speakers based on the number of events they
      * have spoken at
      */
-    public List<String> top5Speaker() {
-        List<String> top5Speaker = new ArrayList<>();
-        List<String> speakers = new ArrayList<>();
-        List<Integer> speakersNumberOfEvents = new ArrayList<>();
-        List<UUID> userList = userManager.getUUIDs();
-        for (UUID UserID : userList) {
-            if (userManager.hasPermission(UserID, Perms.CAN_SPEAK_AT_TALK)) {
-                int numberOfEvents = 0;
-                for (EventManager eventManager: eventManagers) {
-                    numberOfEvents += eventManager.retrieveEventsBySpeaker(UserID).size();
-                }
-                String speakerName = userManager.getNameWithUUID(UserID);
-                speakers.add(speakerName);
-                speakersNumberOfEvents.add(numberOfEvents);
-            }
-        }
-        parallelSorter.parallelSortListString(speakersNumberOfEvents, speakers);
-        for (int i = 0; i < Math.min(speakers.size(), 5); i++) {
-            if (speakersNumberOfEvents.get(i) == 1) {
-                top5Speaker.add(speakers.get(i) + " : " + speakersNumberOfEvents.get(i) + " event");
+    public synchronized List<String> topSpeakers(int numSpeakers) {
+        List<String> topSpeakers = new ArrayList<>();
+        for (UUID speaker: speakerEvents.getTop(numSpeakers)) {
+            int numberOfEvents = speakerEvents.getCount(speaker);
+            if (numberOfEvents == 1) {
+                topSpeakers.add(userManager.getNameWithUUID(speaker) + " : " + numberOfEvents + " event");
             }
             else {
-                top5Speaker.add(speakers.get(i) + " : " + speakersNumberOfEvents.get(i) + " events");
+                topSpeakers.add(userManager.getNameWithUUID(speaker) + " : " + numberOfEvents + " events");
             }
-
         }
-        return top5Speaker;
+        return topSpeakers;
     }
 
 }
@@ -1,12 +1,10 @@
 package backend.systems.admin;
 
 import backend.systems.MenuSystem;
-import backend.systems.events.managers.EventManager;
 import backend.systems.usermangement.managers.UserManager;
 import frontend.StatisticsUI;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * An extension of MenuSystem that displays an Admin options to view certain statistics and processes
@@ -15,16 +13,17 @@ import java.util.List;
 class StatisticsSystem extends MenuSystem {
     private final StatisticsUI statisticsUI;
     private final StatisticsCalculator statisticsCalculator;
+    private final int NUM_TOP_ENTRIES = 5;
 
     /**
-     * Constructs a new instance of StatisticsSystem given an eventManager and a userManager.
-     * @param eventManagers the event managers used by the system
+     * Constructs a new instance of StatisticsSystem given a statisticsCalculator and a userManager.
+     * @param statisticsCalculator the statistics calculator used by the system
      * @param userManager the user manager used by the system
      */
-    public StatisticsSystem(List<EventManager> eventManagers, UserManager userManager) {
+    public StatisticsSystem(StatisticsCalculator statisticsCalculator, UserManager userManager) {
         super(4);
         this.statisticsUI = new StatisticsUI(userManager);
-        this.statisticsCalculator = new StatisticsCalculator(eventManagers, userManager);
+        this.statisticsCalculator = statisticsCalculator;
     }
 
     /**
@@ -40,7 +39,7 @@ class StatisticsSystem extends MenuSystem {
     protected void processInput(int input) {
         switch (input) {
             case(1):
-                statisticsUI.displayEventStats(statisticsCalculator.top5Events(),
+                statisticsUI.displayEventStats(statisticsCalculator.topEvents(NUM_TOP_ENTRIES),
                         statisticsCalculator.getAverageNumberOfAttendees());
                 // Display top 5 most attended events, average number of people participating at events,
                 break;
@@ -52,7 +51,7 @@ class StatisticsSystem extends MenuSystem {
                 // Display traffic stats (logged in past day, 7 days, month).
                 break;
             case(3):
-                statisticsUI.displaySpeakerStats(statisticsCalculator.top5Speaker());
+                statisticsUI.displaySpeakerStats(statisticsCalculator.topSpeakers(NUM_TOP_ENTRIES));
                 // Display the top 5 speakers who spoke at the most events
                 break;
         }
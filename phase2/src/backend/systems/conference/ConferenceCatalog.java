@@ -0,0 +1,239 @@
+package backend.systems.conference;
+
+import backend.entities.Conference;
+import backend.entities.Event;
+import backend.systems.events.managers.EventManager;
+import backend.systems.events.managers.EventObserver;
+import utility.filehandling.Checkpointer;
+import utility.filehandling.Journal;
+import utility.filehandling.ManagerCache;
+import utility.filehandling.ManagerHandle;
+import utility.filehandling.ResidencyListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A catalog of the conferences, which maps each active conference to the EventManager in its own event store.
+ *
+ * Conferences can be created and archived while the program runs. The EventManager of a conference is only loaded
+ * once it is used, through a ManagerCache, and the event store of a new conference is only created then.
+ *
+ * Observers of every conference's events can be registered with the catalog. They are registered with the
+ * EventManager of each conference, including conferences created later, every time it is loaded, and are
+ * unregistered from a conference when it is archived. Each EventManager is loaded once when the observers are first
+ * registered with it, so they hear about the events it already has, but it is then unloaded like any other. An
+ * EventManager cannot change while it is unloaded, so the observers miss nothing, and since it reports its events
+ * again each time it is loaded, observers must accept an Event being scheduled more than once.
+ */
+public class ConferenceCatalog {
+    private final ConferenceManager conferenceManager;
+    private final ManagerCache<EventManager> eventManagerCache;
+    private final Checkpointer checkpointer;
+    private final String databaseDirectory;
+    private final Map<String, ManagerHandle<EventManager>> eventManagers;
+    private final List<EventObserver> eventObservers;
+    private final Map<ManagerHandle<EventManager>, ConferenceObservers> observedEventManagers;
+
+    /**
+     * Constructs a ConferenceCatalog over the conferences of conferenceManager.
+     * @param conferenceManager the conference manager holding the conferences
+     * @param eventManagerCache the cache the EventManagers are loaded through
+     * @param checkpointer the checkpointer that saves the EventManagers
+     * @param databaseDirectory the directory holding the event stores, ending in a separator
+     */
+    public ConferenceCatalog(ConferenceManager conferenceManager, ManagerCache<EventManager> eventManagerCache,
+                             Checkpointer checkpointer, String databaseDirectory) {
+        this.conferenceManager = conferenceManager;
+        this.eventManagerCache = eventManagerCache;
+        this.checkpointer = checkpointer;
+        this.databaseDirectory = databaseDirectory;
+        this.eventManagers = new HashMap<>();
+        this.eventObservers = new CopyOnWriteArrayList<>();
+        this.observedEventManagers = new HashMap<>();
+    }
+
+    /**
+     * Gets the names of the active conferences.
+     * @return a list of names of the active conferences
+     */
+    public List<String> getConferenceNames() {
+        return conferenceManager.getConferenceNames();
+    }
+
+    /**
+     * Gets every conference, including archived ones, held between two dates.
+     * @param from the first date of the range, inclusive
+     * @param to the last date of the range, inclusive
+     * @return a list of conferences in the range, ordered by date
+     */
+    public List<Conference> conferencesBetween(LocalDate from, LocalDate to) {
+        return conferenceManager.conferencesBetween(from, to);
+    }
+
+    /**
+     * Gets the handles of the EventManagers of the active conferences, without loading them.
+     * @return a list of handles, in the same order as getConferenceNames
+     */
+    public synchronized List<ManagerHandle<EventManager>> getEventManagers() {
+        List<ManagerHandle<EventManager>> handles = new ArrayList<>();
+        for (String eventStore : conferenceManager.getEventStores()) {
+            handles.add(eventManagers.computeIfAbsent(eventStore, this::openEventStore));
+        }
+        return handles;
+    }
+
+    /**
+     * Creates a new conference with an empty schedule, if no active conference has the same name or date.
+     * @param conferenceName name of the conference
+     * @param conferenceDate date of the conference
+     * @return true iff the conference was created
+     */
+    public synchronized boolean createConference(String conferenceName, LocalDate conferenceDate) {
+        boolean created = conferenceManager.addConference(conferenceName, conferenceDate);
+        if (created && !eventObservers.isEmpty()) {
+            observeEventManagers();
+        }
+        return created;
+    }
+
+    /**
+     * Archives the active conference at the given index, unregistering the event observers from its EventManager
+     * and unloading it. Its event store is kept.
+     * @param index index of the conference, relative to the list of active conferences
+     */
+    public synchronized void archiveConference(int index) {
+        String eventStore = conferenceManager.archiveConference(index);
+        ManagerHandle<EventManager> handle = eventManagers.remove(eventStore);
+        if (handle != null) {
+            ConferenceObservers observers = observedEventManagers.remove(handle);
+            if (observers != null) {
+                // Keep the EventManager loaded until every observer has been told its events are gone.
+                handle.pin();
+                observers.unregisterAll(handle.get());
+            }
+            eventManagerCache.remove(handle);
+        }
+    }
+
+    /**
+     * Registers an observer with the EventManager of every active conference, and of every conference created
+     * afterwards, until the conference is archived. Each EventManager that is not loaded is loaded once, so the
+     * observer hears about the events it already has.
+     * @param observer the observer to be registered
+     */
+    public synchronized void addEventObserver(EventObserver observer) {
+        eventObservers.add(observer);
+        observedEventManagers.forEach((handle, observers) -> {
+            handle.pin();
+            try {
+                observers.register(handle.get(), observer);
+            } finally {
+                handle.unpin();
+            }
+        });
+        observeEventManagers();
+    }
+
+    private void observeEventManagers() {
+        for (ManagerHandle<EventManager> handle : getEventManagers()) {
+            if (!observedEventManagers.containsKey(handle)) {
+                ConferenceObservers observers = new ConferenceObservers();
+                observedEventManagers.put(handle, observers);
+                handle.addResidencyListener(observers);
+                handle.get();
+            }
+        }
+    }
+
+    private ManagerHandle<EventManager> openEventStore(String eventStore) {
+        Journal<EventManager> journal = new Journal<>(databaseDirectory + eventStore, new EventManager.BinaryCodec());
+        if (!journal.exists()) {
+            journal.reset(new EventManager());
+            journal.unload();
+        }
+        checkpointer.add(journal);
+        return eventManagerCache.add(journal);
+    }
+
+    /**
+     * Registers the event observers with the EventManager of one conference each time it is loaded.
+     *
+     * Every observer is reached through a Relay that is cut off once the EventManager is unloaded, so an EventManager
+     * that is no longer in memory can never report to the observers.
+     */
+    private final class ConferenceObservers implements ResidencyListener<EventManager> {
+        private final Map<EventObserver, Relay> relays = new HashMap<>();
+        private EventManager loaded;
+
+        @Override
+        public synchronized void loaded(EventManager eventManager) {
+            loaded = eventManager;
+            for (EventObserver observer : eventObservers) {
+                register(eventManager, observer);
+            }
+        }
+
+        @Override
+        public synchronized void unloaded(EventManager eventManager) {
+            if (eventManager == loaded) {
+                relays.values().forEach(Relay::cutOff);
+                relays.clear();
+                loaded = null;
+            }
+        }
+
+        synchronized void register(EventManager eventManager, EventObserver observer) {
+            if (eventManager == loaded && !relays.containsKey(observer)) {
+                Relay relay = new Relay(observer);
+                relays.put(observer, relay);
+                eventManager.addObserver(relay);
+            }
+        }
+
+        synchronized void unregisterAll(EventManager eventManager) {
+            if (eventManager == loaded) {
+                relays.values().forEach(eventManager::removeObserver);
+            }
+            unloaded(eventManager);
+        }
+    }
+
+    /**
+     * Passes the changes to the events of one loaded EventManager on to an observer, until it is cut off.
+     */
+    private static final class Relay implements EventObserver {
+        private final EventObserver observer;
+        private volatile boolean cutOff;
+
+        private Relay(EventObserver observer) {
+            this.observer = observer;
+        }
+
+        private void cutOff() {
+            cutOff = true;
+        }
+
+        @Override
+        public void eventScheduled(Event event) {
+            if (!cutOff) {
+                observer.eventScheduled(event);
+            }
+        }
+
+        @Override
+        public void eventCancelled(Event event) {
+            if (!cutOff) {
+                observer.eventCancelled(event);
+            }
+        }
+
+        @Override
+        public void registrationsChanged(Event event, int change) {
+            if (!cutOff) {
+                observer.registrationsChanged(event, change);
+            }
+        }
+    }
+}
@@ -1,67 +1,271 @@
 package backend.systems.conference;
 
 import backend.entities.Conference;
+import utility.filehandling.Journal;
+import utility.filehandling.JournalEntry;
+import utility.filehandling.Journaled;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * A conference manager class, used to manage a collection of conferences.
+ *
+ * Every conference has its own event store file. Archived conferences are kept, but are no longer listed, so only
+ * the event stores of the active conferences are ever loaded.
+ *
+ * The active conferences are indexed by name and by date, so adding a conference does not scan the whole list, and
+ * every conference, archived or not, is indexed in date order for date range queries. The list of active conferences
+ * and their rendered names are cached until the conferences next change.
  */
-public class ConferenceManager implements Serializable {
+public class ConferenceManager implements Serializable, Journaled<ConferenceManager> {
+    private static final long serialVersionUID = -2816402409937222336L;
+    private static final String EVENT_STORE_PREFIX = "ESManager";
+    private static final String LEGACY_EVENT_STORE_PREFIX = "ESManagerCon";
     List<Conference> conferences;
+    private transient Journal<ConferenceManager> journal;
+    private transient volatile long version;
+    private transient Map<String, Conference> activeConferencesByName;
+    private transient Map<LocalDate, Conference> activeConferencesByDate;
+    private transient NavigableMap<LocalDate, List<Conference>> conferencesByDate;
+    private transient List<Conference> activeConferences;
+    private transient List<String> conferenceNames;
 
     /**
      * Constructs a new instance of ConferenceManager, which maintains a list of existing conferences.
      */
     public ConferenceManager(){
         this.conferences = new ArrayList<>();
+        buildIndexes();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // Conferences saved before each had its own event store used the event store at their position.
+        for (int i = 0; i < conferences.size(); i++) {
+            Conference conference = conferences.get(i);
+            if (conference.getEventStore() == null) {
+                conferences.set(i, new Conference(conference.getConferenceName(), conference.getConferenceDate(),
+                        LEGACY_EVENT_STORE_PREFIX + (i + 1) + ".ser"));
+            }
+        }
+        buildIndexes();
+    }
+
+    private void buildIndexes() {
+        activeConferencesByName = new HashMap<>();
+        activeConferencesByDate = new HashMap<>();
+        conferencesByDate = new TreeMap<>();
+        conferences.forEach(this::index);
+        invalidate();
+    }
+
+    private void index(Conference conference) {
+        conferencesByDate.computeIfAbsent(conference.getConferenceDate(), date -> new ArrayList<>()).add(conference);
+        if (!conference.isArchived()) {
+            activeConferencesByName.put(conference.getConferenceName(), conference);
+            activeConferencesByDate.put(conference.getConferenceDate(), conference);
+        }
+    }
+
+    private void invalidate() {
+        activeConferences = null;
+        conferenceNames = null;
+    }
+
+    /**
+     * Sets the journal that every later change to the conferences is recorded to.
+     * @param journal The journal to record changes to.
+     */
+    @Override
+    public void setJournal(Journal<ConferenceManager> journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the number of changes made to the conferences since this manager was created or loaded.
+     * @return The version of this manager.
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    private void record(JournalEntry<ConferenceManager> entry) {
+        version++;
+        if (journal != null) {
+            journal.append(this, entry);
+        }
     }
 
     /**
-     * Adds a conference to the list of conferences if no conference on the list has the same name
-     * or date.
+     * Adds a conference to the list of conferences if no active conference on the list has the same name
+     * or date. The conference is given a new event store of its own.
      * @param conferenceName name of the conference
      * @param conferenceDate date of the conference
      * @return true if the conference is successfully added to the conference list, false otherwise
      */
     public boolean addConference(String conferenceName, LocalDate conferenceDate){
-        for (Conference conf: conferences){
-            if (conf.getConferenceName().equals(conferenceName)){
+        return addConference(conferenceName, conferenceDate, EVENT_STORE_PREFIX + UUID.randomUUID() + ".ser");
+    }
+
+    /**
+     * Adds a conference whose events are kept in the given event store to the list of conferences if no active
+     * conference on the list has the same name or date.
+     * @param conferenceName name of the conference
+     * @param conferenceDate date of the conference
+     * @param eventStore file name of the event store of the conference, relative to the database directory
+     * @return true if the conference is successfully added to the conference list, false otherwise
+     */
+    public boolean addConference(String conferenceName, LocalDate conferenceDate, String eventStore){
+        beginChange();
+        try {
+            if (activeConferencesByName.containsKey(conferenceName)
+                    || activeConferencesByDate.containsKey(conferenceDate)){
                 return false;
             }
-            if (conf.getConferenceDate().equals(conferenceDate)){
-                return false;
+            Conference conference = new Conference(conferenceName, conferenceDate, eventStore);
+            conferences.add(conference);
+            index(conference);
+            invalidate();
+            record(new ConferenceAdded(conferenceName, conferenceDate, eventStore));
+            return true;
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Archives the active conference at the given index, so that it is no longer listed.
+     * @param index index of the conference, relative to the list of active conferences
+     * @return the file name of the event store of the archived conference
+     */
+    public String archiveConference(int index){
+        beginChange();
+        try {
+            Conference conference = getActiveConferences().get(index);
+            conference.archive();
+            activeConferencesByName.remove(conference.getConferenceName());
+            activeConferencesByDate.remove(conference.getConferenceDate());
+            invalidate();
+            record(new ConferenceArchived(conference.getEventStore()));
+            return conference.getEventStore();
+        } finally {
+            endChange();
+        }
+    }
+
+    private void beginChange() {
+        if (journal != null) {
+            journal.beginChange();
+        }
+    }
+
+    private void endChange() {
+        if (journal != null) {
+            journal.endChange();
+        }
+    }
+
+    private List<Conference> getActiveConferences(){
+        if (activeConferences == null) {
+            List<Conference> active = new ArrayList<>();
+            for (Conference conference: conferences){
+                if (!conference.isArchived()){
+                    active.add(conference);
+                }
             }
+            activeConferences = Collections.unmodifiableList(active);
         }
-        conferences.add(new Conference(conferenceName, conferenceDate));
-        return true;
+        return activeConferences;
+    }
+
+    private static String render(Conference conference) {
+        return conference.getConferenceName() + " | " + conference.getConferenceDate();
     }
 
     /**
-     * Gets the name of all conferences on the conference list.
-     * @return a list of names of conferences on the conference list
+     * Gets the name of all active conferences on the conference list.
+     * @return an unmodifiable list of names of active conferences on the conference list
      */
     public List<String> getConferenceNames(){
-        List<String> conferenceNames = new ArrayList<>();
-        conferences.forEach(conference -> {
-            conferenceNames.add(conference.getConferenceName() + " | " + conference.getConferenceDate());
-        });
+        if (conferenceNames == null) {
+            List<String> names = new ArrayList<>();
+            getActiveConferences().forEach(conference -> names.add(render(conference)));
+            conferenceNames = Collections.unmodifiableList(names);
+        }
         return conferenceNames;
     }
 
     /**
-     * Gets the number of conferences on the conference list.
-     * @return number of conferences on the conference list
+     * Gets every conference, including archived ones, held between two dates.
+     * @param from the first date of the range, inclusive
+     * @param to the last date of the range, inclusive
+     * @return a list of conferences in the range, ordered by date, or an empty list if from is after to
+     */
+    public List<Conference> conferencesBetween(LocalDate from, LocalDate to){
+        List<Conference> between = new ArrayList<>();
+        if (from.isAfter(to)) {
+            return between;
+        }
+        conferencesByDate.subMap(from, true, to, true).values().forEach(between::addAll);
+        return between;
+    }
+
+    /**
+     * Gets the event store of every active conference on the conference list.
+     * @return a list of file names of event stores, relative to the database directory, in the same order as
+     * getConferenceNames
+     */
+    public List<String> getEventStores(){
+        List<String> eventStores = new ArrayList<>();
+        getActiveConferences().forEach(conference -> eventStores.add(conference.getEventStore()));
+        return eventStores;
+    }
+
+    /**
+     * Gets the number of active conferences on the conference list.
+     * @return number of active conferences on the conference list
      */
     public int getNumberOfConferences(){
-        return conferences.size();
+        return getActiveConferences().size();
     }
 
+    private static class ConferenceAdded implements JournalEntry<ConferenceManager> {
+        private static final long serialVersionUID = 1L;
+        private final String conferenceName;
+        private final LocalDate conferenceDate;
+        private final String eventStore;
 
+        private ConferenceAdded(String conferenceName, LocalDate conferenceDate, String eventStore) {
+            this.conferenceName = conferenceName;
+            this.conferenceDate = conferenceDate;
+            this.eventStore = eventStore;
+        }
+
+        @Override
+        public void apply(ConferenceManager conferenceManager) {
+            conferenceManager.addConference(conferenceName, conferenceDate, eventStore);
+        }
+    }
 
+    private static class ConferenceArchived implements JournalEntry<ConferenceManager> {
+        private static final long serialVersionUID = 1L;
+        private final String eventStore;
 
+        private ConferenceArchived(String eventStore) {
+            this.eventStore = eventStore;
+        }
 
+        @Override
+        public void apply(ConferenceManager conferenceManager) {
+            List<String> eventStores = conferenceManager.getEventStores();
+            if (eventStores.contains(eventStore)) {
+                conferenceManager.archiveConference(eventStores.indexOf(eventStore));
+            }
+        }
+    }
 }
@@ -1,30 +1,40 @@
 package backend.systems.conference;
 
+import backend.entities.users.Perms;
 import backend.systems.MenuSystem;
 import backend.systems.events.EventSystem;
-import frontend.MenuUI;
+import backend.systems.usermangement.managers.UserManager;
+import frontend.ConferenceUI;
+import utility.inputprocessors.OptionInputProcessor;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
  * An extension of the MenuSystem class that displays options for conferences.
+ *
+ * The EventManager of a conference is only loaded once the conference is opened, and its EventSystem is built each
+ * time it is opened, so that it always works on the EventManager currently in memory. Any user can look up the
+ * conferences, archived ones included, held between two dates. Users who can schedule events can also create and
+ * archive conferences.
  */
 public class ConferenceSystem extends MenuSystem {
-    private final List<EventSystem> eventSystems;
-    private final ConferenceManager conferenceManager;
-    private final MenuUI conferenceUI;
+    private final ConferenceCatalog conferenceCatalog;
+    private final UserManager userManager;
+    private final ConferenceUI conferenceUI;
+    private final boolean canManage;
 
     /**
-     * Constructs an instance of the ConferenceSystem class given an instance of eventSystems and a
-     * conferenceManager.
-     * @param eventSystems the eventSystems instance used by the conference system
-     * @param conferenceManager the conference manager used by the system
+     * Constructs an instance of the ConferenceSystem class given a catalog of the conferences.
+     * @param conferenceCatalog the catalog of the conferences used by the system
+     * @param userManager the user manager used by the conference's event systems
      */
-    public ConferenceSystem(List<EventSystem> eventSystems, ConferenceManager conferenceManager){
-        super(conferenceManager.getNumberOfConferences() + 1);
-        this.conferenceManager = conferenceManager;
-        this.eventSystems = eventSystems;
-        this.conferenceUI = new MenuUI();
+    public ConferenceSystem(ConferenceCatalog conferenceCatalog, UserManager userManager){
+        this.conferenceCatalog = conferenceCatalog;
+        this.userManager = userManager;
+        this.conferenceUI = new ConferenceUI();
+        this.canManage = userManager.loggedInHasPermission(Perms.CAN_SCHEDULE);
     }
 
     /**
@@ -32,7 +42,9 @@ public class ConferenceSystem extends MenuSystem {
      */
     @Override
     protected void displayOptions() {
-        conferenceUI.displayOptions(conferenceManager.getConferenceNames(), true, true);
+        List<String> conferenceNames = conferenceCatalog.getConferenceNames();
+        changeNumOptions(conferenceNames.size() + 1 + (canManage ? 2 : 0) + 1);
+        conferenceUI.displayConferenceOptions(conferenceNames, canManage);
     }
 
     /**
@@ -41,8 +53,59 @@ public class ConferenceSystem extends MenuSystem {
      */
     @Override
     protected void processInput(int index) {
-        if (!(index - 1 >= eventSystems.size()))
-            eventSystems.get(index - 1).run();
+        int numberOfConferences = conferenceCatalog.getConferenceNames().size();
+        if (index - 1 < numberOfConferences) {
+            new EventSystem(conferenceCatalog.getEventManagers().get(index - 1).get(), userManager).run();
+        }
+        else if (index - 1 == numberOfConferences) {
+            findConferences();
+        }
+        else if (index - 1 == numberOfConferences + 1) {
+            createConference();
+        }
+        else {
+            archiveConference();
+        }
+    }
+
+    private void findConferences() {
+        LocalDate from;
+        LocalDate to;
+        try {
+            conferenceUI.promptFirstDate();
+            from = LocalDate.parse(askForString("Date"));
+            conferenceUI.promptLastDate();
+            to = LocalDate.parse(askForString("Date"));
+        } catch (DateTimeParseException e) {
+            conferenceUI.displayInvalidDate();
+            return;
+        }
+        conferenceUI.displayConferencesBetween(conferenceCatalog.conferencesBetween(from, to));
+    }
+
+    private void createConference() {
+        conferenceUI.promptConferenceName();
+        String name = askForString("Name");
+        conferenceUI.promptConferenceDate();
+        LocalDate date;
+        try {
+            date = LocalDate.parse(askForString("Date"));
+        } catch (DateTimeParseException e) {
+            conferenceUI.displayInvalidDate();
+            return;
+        }
+        conferenceUI.displayConferenceCreated(conferenceCatalog.createConference(name, date));
+    }
+
+    private void archiveConference() {
+        List<String> conferenceNames = conferenceCatalog.getConferenceNames();
+        conferenceUI.promptArchiveConference();
+        conferenceUI.displayOptions(conferenceNames, false, true);
+        int index = new OptionInputProcessor(input, conferenceNames.size() + 1).processInput();
+        if (index <= conferenceNames.size()) {
+            conferenceCatalog.archiveConference(index - 1);
+            conferenceUI.displayConferenceArchived();
+        }
     }
 
     /**
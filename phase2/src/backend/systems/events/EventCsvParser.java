@@ -0,0 +1,159 @@
+package backend.systems.events;
+
+import backend.systems.events.managers.EventDetails;
+import backend.systems.events.managers.EventRequirements;
+import backend.systems.usermangement.managers.UserManager;
+
+import java.time.DateTimeException;
+import java.time.LocalTime;
+import java.util.*;
+
+import static backend.entities.users.Perms.CAN_SPEAK_AT_TALK;
+
+/**
+ * A class that reads the details of Events from the rows of a CSV file.
+ *
+ * Each row holds the title, room, start time (HH:MM), duration in minutes, capacity and the usernames of the
+ * speakers of an Event, in that order. The usernames are separated by semicolons, and may be left out for an Event
+ * without speakers. The same limits apply as when scheduling an Event by hand.
+ *
+ * The requirements of an Event yet to be given a room and a start time are read the same way, from rows holding only
+ * its title, duration, capacity and speakers.
+ */
+class EventCsvParser {
+    private final UserManager userManager;
+
+    /**
+     * Constructs a new EventCsvParser.
+     * @param userManager The UserManager used to look up the speakers.
+     */
+    EventCsvParser(UserManager userManager) {
+        this.userManager = userManager;
+    }
+
+    /**
+     * Returns true iff the given row is a header naming the columns rather than an Event.
+     * @param row The fields of the row.
+     * @return Whether the row is a header.
+     */
+    public boolean isHeader(List<String> row) {
+        return row.get(0).equalsIgnoreCase("Title");
+    }
+
+    /**
+     * Reads the details of an Event from the given row.
+     * @param row The fields of the row.
+     * @return The details of the Event.
+     * @throws IllegalArgumentException if the row does not hold a valid Event, with a message saying why.
+     */
+    public EventDetails parse(List<String> row) throws IllegalArgumentException {
+        if (row.size() < 5 || row.size() > 6) {
+            throw new IllegalArgumentException("Expected 5 or 6 fields but found " + row.size() + ".");
+        }
+        String title = row.get(0);
+        String room = row.get(1);
+        if (title.isEmpty() || room.isEmpty()) {
+            throw new IllegalArgumentException("Title and room cannot be empty.");
+        }
+        LocalTime startTime = parseTime(row.get(2));
+        int duration = parseDuration(row.get(3));
+        int capacity = parseCapacity(row.get(4));
+        List<UUID> speakers = row.size() == 6 ? parseSpeakers(row.get(5)) : new ArrayList<>();
+        return new EventDetails(capacity, room, startTime, title, speakers, duration);
+    }
+
+    /**
+     * Reads the requirements of an Event from the given row.
+     * @param row The fields of the row.
+     * @return The requirements of the Event.
+     * @throws IllegalArgumentException if the row does not hold valid requirements, with a message saying why.
+     */
+    public EventRequirements parseRequirements(List<String> row) throws IllegalArgumentException {
+        if (row.size() < 3 || row.size() > 4) {
+            throw new IllegalArgumentException("Expected 3 or 4 fields but found " + row.size() + ".");
+        }
+        String title = row.get(0);
+        if (title.isEmpty()) {
+            throw new IllegalArgumentException("Title cannot be empty.");
+        }
+        int duration = parseDuration(row.get(1));
+        int capacity = parseCapacity(row.get(2));
+        List<UUID> speakers = row.size() == 4 ? parseSpeakers(row.get(3)) : new ArrayList<>();
+        return new EventRequirements(title, speakers, capacity, duration);
+    }
+
+    /**
+     * Reads a list of rooms written as name:seats pairs separated by commas, such as "Hall A:200, Room 2:40".
+     * @param line The list of rooms.
+     * @return The rooms mapped to the number of people each can hold, in the order they were listed.
+     * @throws IllegalArgumentException if the list is not valid, with a message saying why.
+     */
+    public Map<String, Integer> parseRooms(String line) throws IllegalArgumentException {
+        Map<String, Integer> rooms = new LinkedHashMap<>();
+        for (String field: line.split(",")) {
+            int colon = field.lastIndexOf(':');
+            String room = colon < 0 ? "" : field.substring(0, colon).trim();
+            if (room.isEmpty()) {
+                throw new IllegalArgumentException("\"" + field.trim() + "\" is not in the format name:seats.");
+            }
+            int seats = parseCapacity(field.substring(colon + 1).trim());
+            if (rooms.put(room, seats) != null) {
+                throw new IllegalArgumentException("Room \"" + room + "\" is listed twice.");
+            }
+        }
+        return rooms;
+    }
+
+    private LocalTime parseTime(String field) {
+        try {
+            String[] hourAndMinute = field.split(":");
+            return LocalTime.of(Integer.parseInt(hourAndMinute[0]), Integer.parseInt(hourAndMinute[1]));
+        }
+        catch (ArrayIndexOutOfBoundsException | NumberFormatException | DateTimeException e) {
+            throw new IllegalArgumentException("Start time \"" + field + "\" is not in the format HH:MM.");
+        }
+    }
+
+    private int parseDuration(String field) {
+        int duration = parseNumber(field, "Duration");
+        if (duration <= 0 || duration > 180) {
+            throw new IllegalArgumentException("Duration must be between 1 and 180 minutes.");
+        }
+        return duration;
+    }
+
+    private int parseCapacity(String field) {
+        int capacity = parseNumber(field, "Capacity");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        return capacity;
+    }
+
+    private int parseNumber(String field, String attribute) {
+        try {
+            return Integer.parseInt(field);
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException(attribute + " \"" + field + "\" is not a number.");
+        }
+    }
+
+    private List<UUID> parseSpeakers(String field) {
+        Set<UUID> speakers = new LinkedHashSet<>();
+        for (String username: field.split(";")) {
+            username = username.trim();
+            if (username.isEmpty()) {
+                continue;
+            }
+            if (!userManager.containsUserWithUsername(username) ||
+                    !userManager.hasPermission(userManager.getUUIDWithUsername(username), CAN_SPEAK_AT_TALK)) {
+                throw new IllegalArgumentException("Speaker \"" + username + "\" does not exist.");
+            }
+            if (!speakers.add(userManager.getUUIDWithUsername(username))) {
+                throw new IllegalArgumentException("Speaker \"" + username + "\" is listed twice.");
+            }
+        }
+        return new ArrayList<>(speakers);
+    }
+}
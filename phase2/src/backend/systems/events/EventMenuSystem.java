@@ -1,5 +1,6 @@
 package backend.systems.events;
 
+import backend.entities.EventView;
 import backend.systems.MenuSystem;
 import backend.systems.events.managers.EventManager;
 import backend.systems.usermangement.managers.UserManager;
@@ -9,7 +10,6 @@ import utility.inputprocessors.OptionInputProcessor;
 
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * An abstract subsystem of EventSystem that allows the user to perform a particular action related to the sign up
@@ -41,7 +41,7 @@ public abstract class EventMenuSystem extends MenuSystem {
      * @param eventsData The data of the events to be displayed.
      * @return A valid input from the user if there are events in eventsData. 0 otherwise.
      */
-    protected int processEvents(List<Map<String, Object>> eventsData) {
+    protected int processEvents(List<EventView> eventsData) {
         eventUI.displayEvents(eventsData);
         if (!eventsData.isEmpty()) {
             InputProcessor<Integer> eventProcessor = new OptionInputProcessor(input, eventsData.size());
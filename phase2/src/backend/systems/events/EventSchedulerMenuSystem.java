@@ -1,10 +1,17 @@
 package backend.systems.events;
 
+import backend.entities.EventView;
+import backend.systems.events.managers.EventDetails;
 import backend.systems.events.managers.EventManager;
+import backend.systems.events.managers.EventRequirements;
+import backend.systems.events.managers.ScheduleConflict;
+import backend.systems.events.managers.SchedulePlan;
 import backend.systems.usermangement.managers.UserManager;
 import frontend.EventUI;
+import utility.filehandling.CsvReader;
 import utility.inputprocessors.*;
 
+import java.io.IOException;
 import java.time.LocalTime;
 import java.util.*;
 
@@ -14,7 +21,7 @@ import static backend.entities.users.Perms.CAN_SPEAK_AT_TALK;
  * A subsystem of the EventSystem that allows the user to perform actions related to the scheduling of Events.
  */
 class EventSchedulerMenuSystem extends EventMenuSystem {
-    private List<Map<String, Object>> eventsData;
+    private List<EventView> eventsData;
 
     /**
      * Constructs a new ScheduleSystem with the given information.
@@ -23,8 +30,8 @@ class EventSchedulerMenuSystem extends EventMenuSystem {
      * @param eventUI The EventUI that will be used by the ScheduleSystem.
      */
     public EventSchedulerMenuSystem(EventManager eventManager, UserManager userManager, EventUI eventUI) {
-        super(eventManager, userManager, eventUI, 5);
-        this.eventsData = eventManager.retrieveAllEvents();
+        super(eventManager, userManager, eventUI, 7);
+        this.eventsData = eventManager.retrieveAllEventViews();
     }
 
     /**
@@ -39,7 +46,8 @@ class EventSchedulerMenuSystem extends EventMenuSystem {
      * Processes an integer input in the event viewing page.
      * @param index The input to be processed. 1 allows for viewing of all events. 2 allows for
      *              scheduling of events. 3 allows for rescheduling events. 4 allows for cancellation
-     *              of events.
+     *              of events. 5 allows for importing events from a CSV file. 6 allows for planning the rooms and
+     *              start times of events from a CSV file automatically.
      */
     @Override
     protected void processInput(int index) {
@@ -56,6 +64,12 @@ class EventSchedulerMenuSystem extends EventMenuSystem {
             case (4):
                 cancelEvent();
                 break;
+            case (5):
+                importEvents();
+                break;
+            case (6):
+                planEvents();
+                break;
         }
     }
 
@@ -116,10 +130,10 @@ class EventSchedulerMenuSystem extends EventMenuSystem {
 
     private void attemptScheduling(int capacity, String room, LocalTime startTime, String title, List<UUID> speakers,
                                    int duration) {
-        List<Map<String, Object>> eventConflicts = eventManager.scheduleEvent(capacity, room, startTime, title, speakers,
+        List<EventView> eventConflicts = eventManager.scheduleEvent(capacity, room, startTime, title, speakers,
                 duration);
         if (eventConflicts.isEmpty()) {
-            eventsData = eventManager.retrieveAllEvents();
+            eventsData = eventManager.retrieveAllEventViews();
             eventUI.displayScheduleSuccess();
         }
         else {
@@ -138,9 +152,16 @@ class EventSchedulerMenuSystem extends EventMenuSystem {
 
             int duration = eventFieldsProcessor.processDurationInput();
 
-            List<Map<String, Object>> eventConflicts = eventManager.rescheduleEvent(index, startTime, duration);
+            List<EventView> eventConflicts;
+            try {
+                eventConflicts = eventManager.rescheduleEvent(eventsData.get(index).getEventID(), startTime, duration);
+            } catch (NoSuchElementException e) {
+                eventsData = eventManager.retrieveAllEventViews();
+                eventUI.displayEventNotFound();
+                return;
+            }
             if (eventConflicts.isEmpty()) {
-                eventsData = eventManager.retrieveAllEvents();
+                eventsData = eventManager.retrieveAllEventViews();
                 eventUI.displayRescheduleSuccess();
             }
             else {
@@ -154,9 +175,138 @@ class EventSchedulerMenuSystem extends EventMenuSystem {
 
         if(index != -1) {
             eventUI.displayCancelStart();
-            eventManager.cancelEvent(index);
-            eventsData = eventManager.retrieveAllEvents();
-            eventUI.displayCancelSuccess();
+            boolean cancelled = eventManager.cancelEvent(eventsData.get(index).getEventID());
+            eventsData = eventManager.retrieveAllEventViews();
+            if (cancelled) {
+                eventUI.displayCancelSuccess();
+            }
+            else {
+                eventUI.displayEventNotFound();
+            }
+        }
+    }
+
+    private void importEvents() {
+        eventUI.displayImportPrompt();
+        String filePath = askForString("File");
+        List<List<String>> rows;
+        try {
+            rows = CsvReader.read(filePath);
+        } catch (IOException e) {
+            eventUI.displayImportFileError(filePath);
+            return;
+        }
+
+        EventCsvParser parser = new EventCsvParser(userManager);
+        List<EventDetails> batch = new ArrayList<>();
+        List<Integer> lines = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> row = rows.get(i);
+            if ((row.size() == 1 && row.get(0).isEmpty()) || (i == 0 && parser.isHeader(row))) {
+                continue;
+            }
+            try {
+                batch.add(parser.parse(row));
+                lines.add(i + 1);
+            } catch (IllegalArgumentException e) {
+                errors.add("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            eventUI.displayImportErrors(errors);
+            return;
+        }
+
+        List<ScheduleConflict> conflicts = eventManager.scheduleEvents(batch);
+        if (conflicts.isEmpty()) {
+            eventsData = eventManager.retrieveAllEventViews();
+            eventUI.displayImportSuccess(batch.size());
+        }
+        else {
+            eventUI.displayImportFailure(conflicts, lines);
+        }
+    }
+
+    private void planEvents() {
+        eventUI.displayPlanPrompt();
+        String filePath = askForString("File");
+        List<List<String>> rows;
+        try {
+            rows = CsvReader.read(filePath);
+        } catch (IOException e) {
+            eventUI.displayImportFileError(filePath);
+            return;
+        }
+
+        EventCsvParser parser = new EventCsvParser(userManager);
+        List<EventRequirements> requirements = new ArrayList<>();
+        List<Integer> lines = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> row = rows.get(i);
+            if ((row.size() == 1 && row.get(0).isEmpty()) || (i == 0 && parser.isHeader(row))) {
+                continue;
+            }
+            try {
+                requirements.add(parser.parseRequirements(row));
+                lines.add(i + 1);
+            } catch (IllegalArgumentException e) {
+                errors.add("Line " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            eventUI.displayImportErrors(errors);
+            return;
+        }
+
+        Map<String, Integer> rooms = null;
+        while (rooms == null) {
+            eventUI.displayRoomsPrompt();
+            try {
+                rooms = parser.parseRooms(askForString("Rooms"));
+            } catch (IllegalArgumentException e) {
+                eventUI.displayInvalidRooms(e.getMessage());
+            }
+        }
+
+        EventFieldsProcessor eventFieldsProcessor = new EventFieldsProcessor(input, eventUI);
+        eventUI.displayDayStartPrompt();
+        LocalTime dayStart = eventFieldsProcessor.processTimeInput();
+        eventUI.displayDayEndPrompt();
+        LocalTime dayEnd = eventFieldsProcessor.processTimeInput();
+        while (!dayEnd.isAfter(dayStart)) {
+            eventUI.displayInvalidDayEnd();
+            dayEnd = eventFieldsProcessor.processTimeInput();
+        }
+
+        eventUI.displayPlanStart(requirements.size());
+        SchedulePlan plan = eventManager.planEvents(requirements, rooms, dayStart, dayEnd);
+        List<Integer> placedLines = new ArrayList<>();
+        for (int index: plan.getPlaced()) {
+            placedLines.add(lines.get(index));
+        }
+        List<String> unplacedTitles = new ArrayList<>();
+        List<Integer> unplacedLines = new ArrayList<>();
+        for (int index: plan.getUnplaced()) {
+            unplacedTitles.add(requirements.get(index).getTitle());
+            unplacedLines.add(lines.get(index));
+        }
+        eventUI.displayPlan(plan.getEvents(), placedLines, unplacedTitles, unplacedLines);
+        if (plan.getNumPlaced() == 0) {
+            return;
+        }
+
+        eventUI.displayPlanConfirmPrompt();
+        if (askForBoolean()) {
+            List<ScheduleConflict> conflicts = eventManager.scheduleEvents(plan.getEvents());
+            if (conflicts.isEmpty()) {
+                eventsData = eventManager.retrieveAllEventViews();
+                eventUI.displayImportSuccess(plan.getNumPlaced());
+            }
+            else {
+                eventUI.displayImportFailure(conflicts, placedLines);
+            }
         }
     }
 
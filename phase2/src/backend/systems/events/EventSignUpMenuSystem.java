@@ -1,11 +1,13 @@
 package backend.systems.events;
 
+import backend.entities.EventView;
 import backend.systems.events.managers.EventManager;
+import backend.systems.events.managers.Reservation;
 import backend.systems.usermangement.managers.UserManager;
 import frontend.EventUI;
 
 import java.util.List;
-import java.util.Map;
+import java.util.UUID;
 
 /**
  * A subsystem of the EventSystem that allows the user to perform actions related to the sign up of Events.
@@ -18,7 +20,7 @@ class EventSignUpMenuSystem extends EventMenuSystem {
      * @param eventUI The EventUI that will be used by the EventSignUpSystem.
      */
     public EventSignUpMenuSystem(EventManager eventManager, UserManager userManager, EventUI eventUI) {
-        super(eventManager, userManager, eventUI, 5);
+        super(eventManager, userManager, eventUI, 7);
     }
 
     /**
@@ -32,12 +34,13 @@ class EventSignUpMenuSystem extends EventMenuSystem {
     /**
      * Processes an integer input in the event sign up page.
      * @param index The input to be processed. 1 allows for event viewing, 2 allows for event sign up,
-     *              3 allows a user to cancel registration, and 4 allows the user to view signed up events.
+     *              3 allows a user to cancel registration, 4 allows the user to view signed up events, 5 allows
+     *              the user to claim a seat held for them, and 6 allows the user to leave a waitlist.
      */
     protected void processInput(int index) {
         switch (index) {
             case (1):
-                eventUI.displayEvents(eventManager.retrieveAllEvents());
+                eventUI.displayEvents(eventManager.retrieveAllEventViews());
                 break;
             case (2):
                 SignUpForEvent();
@@ -46,27 +49,97 @@ class EventSignUpMenuSystem extends EventMenuSystem {
                 CancelSignUpForEvent();
                 break;
             case (4):
-                eventUI.displayEvents(eventManager.retrieveEventsByAttendee(userManager.getLoggedInUserUUID()));
+                eventUI.displayEvents(eventManager.retrieveEventViewsByAttendee(userManager.getLoggedInUserUUID()));
+                break;
+            case (5):
+                ClaimHeldSeat();
+                break;
+            case (6):
+                LeaveWaitlist();
                 break;
         }
     }
 
     private void SignUpForEvent() {
-        List<Map<String, Object>> eventList = eventManager.retrieveSignupAbleEvents(userManager.getLoggedInUserUUID());
+        List<EventView> eventList = eventManager.retrieveReservableEventViews(userManager.getLoggedInUserUUID());
         int index = processEvents(eventList) - 1;
 
         if(index != -1) {
-            eventManager.registerAttendee(userManager.getLoggedInUserUUID(),index);
-            eventUI.displaySignupSuccess();
+            UUID eventID = eventList.get(index).getEventID();
+            switch (eventManager.registerAttendee(userManager.getLoggedInUserUUID(), eventID)) {
+                case SIGNED_UP:
+                    eventUI.displaySignupSuccess();
+                    break;
+                case FULL:
+                    eventUI.displayWaitlistPrompt();
+                    if (askForBoolean()) {
+                        JoinWaitlist(eventList.get(index));
+                    }
+                    break;
+                case NOT_FOUND:
+                    eventUI.displayEventNotFound();
+                    break;
+                default:
+                    eventUI.displayAlreadySignedUp();
+                    break;
+            }
+        }
+    }
+
+    private void JoinWaitlist(EventView event) {
+        Reservation reservation = eventManager.reserveSeat(userManager.getLoggedInUserUUID(), event.getEventID());
+        switch (reservation) {
+            case SIGNED_UP:
+                eventUI.displaySignupSuccess();
+                break;
+            case WAITLISTED:
+                eventUI.displayWaitlistJoined(eventManager.getHoldDuration().toMinutes());
+                break;
+            case NOT_FOUND:
+                eventUI.displayEventNotFound();
+                break;
+            default:
+                eventUI.displayWaitlistRefused();
+                break;
+        }
+    }
+
+    private void ClaimHeldSeat() {
+        List<EventView> eventList = eventManager.retrieveHeldEventViews(userManager.getLoggedInUserUUID());
+        int index = processEvents(eventList) - 1;
+
+        if (index != -1) {
+            UUID eventID = eventList.get(index).getEventID();
+            switch (eventManager.registerAttendee(userManager.getLoggedInUserUUID(), eventID)) {
+                case SIGNED_UP:
+                    eventUI.displaySignupSuccess();
+                    break;
+                case NOT_FOUND:
+                    eventUI.displayEventNotFound();
+                    break;
+                default:
+                    eventUI.displayHoldExpired();
+                    break;
+            }
+        }
+    }
+
+    private void LeaveWaitlist() {
+        List<EventView> eventList = eventManager.retrieveWaitlistedEventViews(userManager.getLoggedInUserUUID());
+        int index = processEvents(eventList) - 1;
+
+        if (index != -1) {
+            eventManager.leaveWaitlist(userManager.getLoggedInUserUUID(), eventList.get(index).getEventID());
+            eventUI.displayLeftWaitlist();
         }
     }
 
     private void CancelSignUpForEvent() {
-        List<Map<String, Object>> eventList = eventManager.retrieveEventsByAttendee(userManager.getLoggedInUserUUID());
+        List<EventView> eventList = eventManager.retrieveEventViewsByAttendee(userManager.getLoggedInUserUUID());
         int index = processEvents(eventList) - 1;
 
         if (index != -1) {
-            eventManager.removeAttendee(userManager.getLoggedInUserUUID(), index);
+            eventManager.removeAttendee(userManager.getLoggedInUserUUID(), eventList.get(index).getEventID());
             eventUI.displayCancelSignupSuccess();
         }
     }
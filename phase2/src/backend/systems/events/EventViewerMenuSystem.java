@@ -35,10 +35,10 @@ class EventViewerMenuSystem extends EventMenuSystem {
     protected void processInput(int index) {
         switch (index) {
             case (1):
-                eventUI.displayEvents(eventManager.retrieveAllEvents());
+                eventUI.displayEvents(eventManager.retrieveAllEventViews());
                 break;
             case (2):
-                eventUI.displayEvents(eventManager.retrieveEventsBySpeaker(userManager.getLoggedInUserUUID()));
+                eventUI.displayEvents(eventManager.retrieveEventViewsBySpeaker(userManager.getLoggedInUserUUID()));
                 break;
         }
     }
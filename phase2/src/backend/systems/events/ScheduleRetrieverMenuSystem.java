@@ -57,13 +57,13 @@ class ScheduleRetrieverMenuSystem extends EventMenuSystem {
                 EventFieldsProcessor timeProcessor = new EventFieldsProcessor(input, eventUI);
                 LocalTime startTime = timeProcessor.processTimeInput();
                 LocalTime endTime = timeProcessor.processTimeInput();
-                eventUI.displayEvents(this.eventManager.retrieveEventsByTimeInterval(startTime, endTime));
+                eventUI.displayEvents(this.eventManager.retrieveEventViewsByTimeInterval(startTime, endTime));
                 break;
             case(2):
-                eventUI.displayEvents(this.eventManager.retrieveEventsBySpeaker(this.getSpeakerUUID()));
+                eventUI.displayEvents(this.eventManager.retrieveEventViewsBySpeaker(this.getSpeakerUUID()));
                 break;
             case(3):
-                eventUI.displayEvents(this.eventManager.retrieveEventsByAttendee(this.userManager.getLoggedInUserUUID()));
+                eventUI.displayEvents(this.eventManager.retrieveEventViewsByAttendee(this.userManager.getLoggedInUserUUID()));
                 break;
         }
     }
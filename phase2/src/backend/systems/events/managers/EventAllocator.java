@@ -0,0 +1,437 @@
+package backend.systems.events.managers;
+
+import backend.entities.Event;
+
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A class for choosing a room and a start time for each of a list of EventRequirements, so that the resulting Events
+ * conflict neither with each other nor with the Events already in a schedule, under the same rules as the
+ * EventScheduler.
+ *
+ * Events are first placed greedily, hardest to place first, each at the earliest start time and in the smallest room
+ * that fits it, much like colouring intervals with rooms. Among Events fitting as many rooms, shorter ones go first,
+ * as they leave more time for the rest. A local search then tries to place each Event left over by moving the single
+ * placed Event that blocks it elsewhere. This is repeated from RESTARTS different orders of the Events, spread over
+ * as many threads as there are cores, and the plan placing the most Events is kept. The result does not depend on the
+ * number of cores.
+ *
+ * Start times are on a grid of SLOT_MINUTES from the start of the day.
+ */
+class EventAllocator {
+    static final int RESTARTS = 16;
+    static final int SLOT_MINUTES = 15;
+    private static final int MAX_PASSES = 3;
+
+    private final List<EventRequirements> requirements;
+    private final String[] roomNames;
+    private final Map<String, Integer> roomIDs;
+    private final Map<UUID, Integer> speakerIDs;
+    private final int[] durations;
+    private final int[][] speakers;
+    private final int[][] fittingRooms;
+    private final int windowStart;
+    private final int windowEnd;
+    private final BitSet[] roomsBusy;
+    private final BitSet[] speakersBusy;
+
+    /**
+     * Constructs a new EventAllocator.
+     * @param requirements The requirements of the Events to be placed.
+     * @param rooms The rooms the Events may take place in, mapped to the number of people each can hold.
+     * @param dayStart The earliest time an Event may start.
+     * @param dayEnd The latest time an Event may end, which is after dayStart.
+     */
+    EventAllocator(List<EventRequirements> requirements, Map<String, Integer> rooms, LocalTime dayStart,
+                   LocalTime dayEnd) {
+        this.requirements = new ArrayList<>(requirements);
+        windowStart = dayStart.toSecondOfDay() / 60;
+        windowEnd = dayEnd.toSecondOfDay() / 60;
+
+        // Rooms are tried smallest first, so that large rooms are kept for the Events that need them.
+        List<String> names = new ArrayList<>(rooms.keySet());
+        names.sort(Comparator.comparingInt((String room) -> rooms.get(room)).thenComparing(room -> room));
+        roomNames = names.toArray(new String[0]);
+        roomIDs = new HashMap<>();
+        for (int room = 0; room < roomNames.length; room++) {
+            roomIDs.put(roomNames[room], room);
+        }
+
+        int numEvents = requirements.size();
+        speakerIDs = new HashMap<>();
+        durations = new int[numEvents];
+        speakers = new int[numEvents][];
+        fittingRooms = new int[numEvents][];
+        for (int i = 0; i < numEvents; i++) {
+            EventRequirements event = requirements.get(i);
+            durations[i] = event.getDuration();
+            speakers[i] = new int[event.getSpeakers().size()];
+            for (int k = 0; k < speakers[i].length; k++) {
+                speakers[i][k] = speakerIDs.computeIfAbsent(event.getSpeakers().get(k), id -> speakerIDs.size());
+            }
+            int smallest = 0;
+            while (smallest < roomNames.length && rooms.get(roomNames[smallest]) < event.getCapacity()) {
+                smallest++;
+            }
+            fittingRooms[i] = new int[roomNames.length - smallest];
+            for (int k = 0; k < fittingRooms[i].length; k++) {
+                fittingRooms[i][k] = smallest + k;
+            }
+        }
+
+        roomsBusy = newTimelines(roomNames.length);
+        speakersBusy = newTimelines(speakerIDs.size());
+    }
+
+    private static BitSet[] newTimelines(int size) {
+        BitSet[] timelines = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            timelines[i] = new BitSet(EventScheduler.Interval.MINUTES_PER_DAY);
+        }
+        return timelines;
+    }
+
+    /**
+     * Marks the time the given Events take up in the rooms and from the speakers of the Events to be placed as
+     * busy.
+     * @param events The Events already in the schedule.
+     */
+    public void block(List<Event> events) {
+        List<EventScheduler.Interval> intervals = new ArrayList<>(2);
+        for (Event event: events) {
+            intervals.clear();
+            EventScheduler.Interval.addTo(intervals, event, -1);
+            Integer room = roomIDs.get(event.getRoom());
+            for (EventScheduler.Interval interval: intervals) {
+                if (room != null) {
+                    roomsBusy[room].set(interval.start, interval.end);
+                }
+                for (UUID speaker: event.getSpeakers()) {
+                    Integer speakerID = speakerIDs.get(speaker);
+                    if (speakerID != null) {
+                        speakersBusy[speakerID].set(interval.start, interval.end);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Places as many of the Events as possible.
+     * @return The plan of the placed Events.
+     */
+    public SchedulePlan allocate() {
+        int numThreads = Math.max(1, Math.min(RESTARTS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads, runnable -> {
+            Thread allocator = new Thread(runnable, "allocator");
+            allocator.setDaemon(true);
+            return allocator;
+        });
+        try {
+            List<CompletableFuture<Allocation>> allocations = new ArrayList<>(RESTARTS);
+            for (int restart = 0; restart < RESTARTS; restart++) {
+                int seed = restart;
+                allocations.add(CompletableFuture.supplyAsync(() -> new Allocation(seed).solve(), executor));
+            }
+            Allocation best = null;
+            for (CompletableFuture<Allocation> allocation: allocations) {
+                Allocation candidate = allocation.join();
+                if (best == null || candidate.isBetterThan(best)) {
+                    best = candidate;
+                }
+            }
+            return best.toPlan();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean isFree(BitSet busy, int start, int end) {
+        int next = busy.nextSetBit(start);
+        return next < 0 || next >= end;
+    }
+
+    /**
+     * The rooms and start times chosen by a single restart.
+     */
+    private class Allocation {
+        private final int seed;
+        private final BitSet[] roomsBusy;
+        private final BitSet[] speakersBusy;
+        private final int[] starts;
+        private final int[] rooms;
+        private final List<List<Integer>> roomEvents;
+        private final List<List<Integer>> speakerEvents;
+        private final int[] checkedAt;
+        private final boolean[] movable;
+        private int version;
+        private int numPlaced;
+        private long totalEnd;
+
+        private Allocation(int seed) {
+            this.seed = seed;
+            roomsBusy = copy(EventAllocator.this.roomsBusy);
+            speakersBusy = copy(EventAllocator.this.speakersBusy);
+            starts = new int[durations.length];
+            rooms = new int[durations.length];
+            Arrays.fill(starts, -1);
+            checkedAt = new int[durations.length];
+            movable = new boolean[durations.length];
+            Arrays.fill(checkedAt, -1);
+            roomEvents = newLists(roomsBusy.length);
+            speakerEvents = newLists(speakersBusy.length);
+        }
+
+        private BitSet[] copy(BitSet[] timelines) {
+            BitSet[] copies = new BitSet[timelines.length];
+            for (int i = 0; i < timelines.length; i++) {
+                copies[i] = (BitSet) timelines[i].clone();
+            }
+            return copies;
+        }
+
+        private List<List<Integer>> newLists(int size) {
+            List<List<Integer>> lists = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                lists.add(new ArrayList<>());
+            }
+            return lists;
+        }
+
+        private Allocation solve() {
+            List<Integer> order = order();
+            for (int event: order) {
+                tryPlace(event);
+            }
+            for (int pass = 0; pass < MAX_PASSES; pass++) {
+                boolean improved = false;
+                for (int event: order) {
+                    if (starts[event] < 0 && (tryPlace(event) || moveBlocker(event))) {
+                        improved = true;
+                        version++;
+                    }
+                }
+                if (!improved) {
+                    break;
+                }
+            }
+            for (int event = 0; event < starts.length; event++) {
+                if (starts[event] >= 0) {
+                    totalEnd += starts[event] + durations[event];
+                }
+            }
+            return this;
+        }
+
+        // Events fitting the fewest rooms go first, then those with the most speakers and then the shortest. Every
+        // restart but the first shuffles this order a little.
+        private List<Integer> order() {
+            List<Integer> order = new ArrayList<>(starts.length);
+            for (int event = 0; event < starts.length; event++) {
+                order.add(event);
+            }
+            order.sort(Comparator.comparingInt((Integer event) -> fittingRooms[event].length)
+                    .thenComparingInt(event -> -speakers[event].length)
+                    .thenComparingInt(event -> durations[event]));
+            if (seed > 0) {
+                Random random = new Random(seed);
+                for (int i = 0; i < order.size(); i++) {
+                    Collections.swap(order, i, i + random.nextInt(Math.min(8, order.size() - i)));
+                }
+            }
+            return order;
+        }
+
+        private boolean tryPlace(int event) {
+            for (int start = windowStart; start + durations[event] <= windowEnd; start += SLOT_MINUTES) {
+                if (!speakersFree(event, start)) {
+                    continue;
+                }
+                for (int room: fittingRooms[event]) {
+                    if (isFree(roomsBusy[room], start, start + durations[event])) {
+                        place(event, start, room);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Places the event by moving the only placed Event in its way to anywhere else it fits. Only placed Events in
+        // a room the event fits or sharing one of its speakers can be in its way.
+        private boolean moveBlocker(int event) {
+            for (int room: fittingRooms[event]) {
+                for (int blocker: new ArrayList<>(roomEvents.get(room))) {
+                    if (isMovable(blocker) && moveBlocker(event, blocker, room)) {
+                        return true;
+                    }
+                }
+            }
+            for (int speaker: speakers[event]) {
+                for (int blocker: new ArrayList<>(speakerEvents.get(speaker))) {
+                    if (isMovable(blocker) && moveBlocker(event, blocker, -1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        // Tries every start time at which the event overlaps the blocker, in the given room, or in every room the
+        // event fits if the room is -1.
+        private boolean moveBlocker(int event, int blocker, int onlyRoom) {
+            int duration = durations[event];
+            int earliest = Math.max(windowStart, starts[blocker] - duration + 1);
+            int first = windowStart + (earliest - windowStart + SLOT_MINUTES - 1) / SLOT_MINUTES * SLOT_MINUTES;
+            for (int start = first; start < starts[blocker] + durations[blocker] && start + duration <= windowEnd;
+                 start += SLOT_MINUTES) {
+                for (int room: fittingRooms[event]) {
+                    if ((onlyRoom < 0 || room == onlyRoom) && soleBlocker(event, start, room) == blocker
+                            && move(event, start, room, blocker)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean move(int event, int start, int room, int blocker) {
+            int blockerStart = starts[blocker];
+            int blockerRoom = rooms[blocker];
+            unplace(blocker);
+            if (speakersFree(event, start) && isFree(roomsBusy[room], start, start + durations[event])) {
+                place(event, start, room);
+                // The blocker cannot return to where it was, as the event now overlaps it there.
+                if (tryPlace(blocker)) {
+                    return true;
+                }
+                unplace(event);
+            }
+            place(blocker, blockerStart, blockerRoom);
+            return false;
+        }
+
+        // Whether the placed Event could be placed anywhere else, which is looked at again after every improvement.
+        private boolean isMovable(int event) {
+            if (checkedAt[event] != version) {
+                int start = starts[event];
+                int room = rooms[event];
+                unplace(event);
+                movable[event] = hasOtherPlacement(event, start, room);
+                place(event, start, room);
+                checkedAt[event] = version;
+            }
+            return movable[event];
+        }
+
+        private boolean hasOtherPlacement(int event, int currentStart, int currentRoom) {
+            for (int start = windowStart; start + durations[event] <= windowEnd; start += SLOT_MINUTES) {
+                if (!speakersFree(event, start)) {
+                    continue;
+                }
+                for (int room: fittingRooms[event]) {
+                    if ((start != currentStart || room != currentRoom)
+                            && isFree(roomsBusy[room], start, start + durations[event])) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private int soleBlocker(int event, int start, int room) {
+            int blocker = overlapping(roomEvents.get(room), start, start + durations[event], -1);
+            for (int speaker: speakers[event]) {
+                if (blocker == -2) {
+                    break;
+                }
+                blocker = overlapping(speakerEvents.get(speaker), start, start + durations[event], blocker);
+            }
+            return blocker;
+        }
+
+        // Returns the only Event overlapping the interval among the given placed Events and the one found so far, -1
+        // if there is none or -2 if there are several.
+        private int overlapping(List<Integer> placed, int start, int end, int found) {
+            for (int other: placed) {
+                if (other != found && starts[other] < end && start < starts[other] + durations[other]) {
+                    if (found != -1) {
+                        return -2;
+                    }
+                    found = other;
+                }
+            }
+            return found;
+        }
+
+        private boolean speakersFree(int event, int start) {
+            for (int speaker: speakers[event]) {
+                if (!isFree(speakersBusy[speaker], start, start + durations[event])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void place(int event, int start, int room) {
+            int end = start + durations[event];
+            starts[event] = start;
+            rooms[event] = room;
+            roomsBusy[room].set(start, end);
+            roomEvents.get(room).add(event);
+            for (int speaker: speakers[event]) {
+                speakersBusy[speaker].set(start, end);
+                speakerEvents.get(speaker).add(event);
+            }
+            numPlaced++;
+        }
+
+        private void unplace(int event) {
+            // Placed Events never overlap anything else in their room or of their speakers, so clearing their time
+            // frees only what they took up.
+            int start = starts[event];
+            int end = start + durations[event];
+            roomsBusy[rooms[event]].clear(start, end);
+            roomEvents.get(rooms[event]).remove(Integer.valueOf(event));
+            for (int speaker: speakers[event]) {
+                speakersBusy[speaker].clear(start, end);
+                speakerEvents.get(speaker).remove(Integer.valueOf(event));
+            }
+            starts[event] = -1;
+            numPlaced--;
+        }
+
+        // More Events placed is better, then an earlier finish overall, then an earlier restart.
+        private boolean isBetterThan(Allocation other) {
+            if (numPlaced != other.numPlaced) {
+                return numPlaced > other.numPlaced;
+            }
+            if (totalEnd != other.totalEnd) {
+                return totalEnd < other.totalEnd;
+            }
+            return seed < other.seed;
+        }
+
+        private SchedulePlan toPlan() {
+            List<EventDetails> events = new ArrayList<>(numPlaced);
+            List<Integer> placed = new ArrayList<>(numPlaced);
+            List<Integer> unplaced = new ArrayList<>();
+            for (int event = 0; event < starts.length; event++) {
+                if (starts[event] < 0) {
+                    unplaced.add(event);
+                    continue;
+                }
+                EventRequirements details = requirements.get(event);
+                events.add(new EventDetails(details.getCapacity(), roomNames[rooms[event]],
+                        LocalTime.ofSecondOfDay(starts[event] * 60L), details.getTitle(), details.getSpeakers(),
+                        details.getDuration()));
+                placed.add(event);
+            }
+            return new SchedulePlan(events, placed, unplaced);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package backend.systems.events.managers;
+
+import backend.entities.Event;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A reverse index from the UUID of each attendee to the Events in a schedule of events they are attending.
+ *
+ * The index may be updated by several threads at once. The set of Events of an attendee is replaced rather than
+ * changed, so a set returned by getEvents never changes while it is being read.
+ */
+class EventAttendeeIndex {
+    private final Map<UUID, Set<Event>> attendeeEvents;
+
+    /**
+     * Constructs a new EventAttendeeIndex containing the attendees of the given Events.
+     * @param events The Events whose attendees are to be indexed.
+     */
+    EventAttendeeIndex(List<Event> events) {
+        attendeeEvents = new ConcurrentHashMap<>();
+        for (Event event: events) {
+            for (UUID attendee: event.getAttendees()) {
+                addAttendee(attendee, event);
+            }
+        }
+    }
+
+    /**
+     * Records that the given attendee is attending the given Event.
+     * @param attendee The UUID of the attendee.
+     * @param event The Event the attendee has signed up for.
+     */
+    public void addAttendee(UUID attendee, Event event) {
+        attendeeEvents.compute(attendee, (id, events) -> {
+            Set<Event> updated = events == null ? new LinkedHashSet<>() : new LinkedHashSet<>(events);
+            updated.add(event);
+            return Collections.unmodifiableSet(updated);
+        });
+    }
+
+    /**
+     * Records that the given attendee is no longer attending the given Event.
+     * @param attendee The UUID of the attendee.
+     * @param event The Event the attendee has been removed from.
+     */
+    public void removeAttendee(UUID attendee, Event event) {
+        attendeeEvents.computeIfPresent(attendee, (id, events) -> {
+            Set<Event> updated = new LinkedHashSet<>(events);
+            updated.remove(event);
+            return updated.isEmpty() ? null : Collections.unmodifiableSet(updated);
+        });
+    }
+
+    /**
+     * Removes every attendee of the given Event from the index.
+     *
+     * Must be called before the Event's attendees are cleared.
+     *
+     * @param event The Event whose attendees are to be removed.
+     */
+    public void removeAllAttendees(Event event) {
+        for (UUID attendee: event.getAttendees()) {
+            removeAttendee(attendee, event);
+        }
+    }
+
+    /**
+     * Returns the set of Events that the given attendee is attending, in the order they signed up.
+     * @param attendee The UUID of the attendee.
+     * @return An unmodifiable set of the Events that the given attendee is attending.
+     */
+    public Set<Event> getEvents(UUID attendee) {
+        return attendeeEvents.getOrDefault(attendee, Collections.emptySet());
+    }
+}
@@ -0,0 +1,71 @@
+package backend.systems.events.managers;
+
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * The details of an Event that is yet to be scheduled, used to schedule many Events at once.
+ */
+public final class EventDetails {
+    private final int capacity;
+    private final String room;
+    private final LocalTime startTime;
+    private final String title;
+    private final List<UUID> speakers;
+    private final int duration;
+
+    /**
+     * Constructs new EventDetails with a capacity, room, start time, title, speakers and duration.
+     * @param capacity The number of people the event can have.
+     * @param room The room in which the event is taking place.
+     * @param startTime The starting time of the event.
+     * @param title The event's title.
+     * @param speakers A list of UUIDs of the speakers speaking at the event.
+     * @param duration The duration of the event, in minutes.
+     */
+    public EventDetails(int capacity, String room, LocalTime startTime, String title, List<UUID> speakers,
+                        int duration) {
+        this.capacity = capacity;
+        this.room = room;
+        this.startTime = startTime;
+        this.title = title;
+        this.speakers = Collections.unmodifiableList(new ArrayList<>(speakers));
+        this.duration = duration;
+    }
+
+    /**
+     * Returns the number of people the event can have.
+     * @return The capacity of the event.
+     */
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Returns the room in which the event is taking place.
+     * @return The event's room.
+     */
+    public String getRoom() { return room; }
+
+    /**
+     * Returns the starting time of the event.
+     * @return The event's start time.
+     */
+    public LocalTime getStartTime() { return startTime; }
+
+    /**
+     * Returns the event's title.
+     * @return The event's title.
+     */
+    public String getTitle() { return title; }
+
+    /**
+     * Returns the UUIDs of the speakers speaking at the event.
+     * @return An unmodifiable list of UUIDs of the speakers.
+     */
+    public List<UUID> getSpeakers() { return speakers; }
+
+    /**
+     * Returns the duration of the event.
+     * @return The event's duration, in minutes.
+     */
+    public int getDuration() { return duration; }
+}
@@ -6,12 +6,16 @@ import java.io.Serializable;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * A class for filtering a list of Events by various criteria.
  */
 class EventFilterer implements Serializable {
+    private static final long serialVersionUID = -7807360336342537528L;
+
     /**
      * Returns a new list of the Events in a given list that overlap with a specified time interval.
      *
@@ -50,16 +54,19 @@ class EventFilterer implements Serializable {
     }
 
     /**
-     * Returns a new list of the Events in a given list that the specified Attendee is attending.
+     * Returns a new list of the Events in a given list that have a seat for an attendee and are not in the given set
+     * of Events the attendee is already attending.
      *
      * @param events The original list of Events to be filtered.
-     * @param attendee The UUID of the specified Attendee.
-     * @return A new list of Events that the given Attendee is attending.
+     * @param attendedEvents The Events the attendee is already attending.
+     * @param hasSeat Whether an Event has a seat the attendee can take, either free or held for them.
+     * @return A new list of Events that the attendee can sign up to.
      */
-    public List<Event> retrieveEventsByAttendee(List<Event> events, UUID attendee) {
+    public List<Event> retrieveSignupAbleEvents(List<Event> events, Set<Event> attendedEvents,
+                                                Predicate<Event> hasSeat) {
         List<Event> matchedEvents = new ArrayList<>();
         for (Event event: events) {
-            if (event.checkAttendee(attendee)) {
+            if (!attendedEvents.contains(event) && hasSeat.test(event)) {
                 matchedEvents.add(event);
             }
         }
@@ -67,26 +74,23 @@ class EventFilterer implements Serializable {
     }
 
     /**
-     * Returns a new list of the Events in a given list that the given attendee can sign up to.
-     *
-     * An attendee can sign up to an Event if they are not already signed up for the Event and the Event is
-     * not at capacity.
+     * Returns a new list of the Events in a given list that are not in the given set of Events an attendee is
+     * already attending, including those at capacity.
      *
      * @param events The original list of Events to be filtered.
-     * @param attendee The UUID of the Attendee.
-     * @return A new list of Events that the given attendee can sign up to.
+     * @param attendedEvents The Events the attendee is already attending.
+     * @return A new list of Events that the attendee is not attending.
      */
-    public List<Event> retrieveSignupAbleEvents(List<Event> events, UUID attendee) {
+    public List<Event> retrieveEventsNotAttended(List<Event> events, Set<Event> attendedEvents) {
         List<Event> matchedEvents = new ArrayList<>();
         for (Event event: events) {
-            if (!event.checkAttendee(attendee) && !event.atCapacity()) {
+            if (!attendedEvents.contains(event)) {
                 matchedEvents.add(event);
             }
         }
         return matchedEvents;
     }
 
-
     /**
      * Returns a new list of the Events in a given list that have the specified title and speaker.
      *
@@ -1,19 +1,51 @@
 package backend.systems.events.managers;
 
 import backend.entities.Event;
+import backend.entities.EventView;
+import utility.filehandling.BinaryReader;
+import utility.filehandling.BinaryWriter;
+import utility.filehandling.Codec;
+import utility.filehandling.Journal;
+import utility.filehandling.JournalEntry;
+import utility.filehandling.Journaled;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * A class that manages the Events in a schedule of events.
+ *
+ * Attendees may sign up for and leave Events from several threads at once. Signing up holds the read lock of the
+ * schedule and the monitor of the Event, so sign-ups for different Events run in parallel while a seat is only ever
+ * taken if the Event is below capacity. Scheduling, cancelling and rescheduling Events hold the write lock of the
+ * schedule, as they change the schedule itself.
+ *
+ * Attendees may join the waitlist of a full Event. A seat freed at the Event is held for the attendee at the head of
+ * its waitlist, who can claim it by signing up for the Event before the hold expires.
  */
-public class EventManager implements Serializable {
+public class EventManager implements Serializable, Journaled<EventManager> {
+    private static final long serialVersionUID = 2030786932342299312L;
     private List<Event> mainSchedule;
     private EventFilterer eventFilterer;
     private EventSignUp eventSignUp;
     private EventScheduler eventScheduler;
+    private EventReservations eventReservations;
+    private transient EventTimeIndex eventTimeIndex;
+    private transient EventAttendeeIndex eventAttendeeIndex;
+    private transient Map<UUID, Event> eventsByID;
+    private transient List<EventObserver> observers;
+    private transient ReentrantReadWriteLock scheduleLock;
+    private transient Journal<EventManager> journal;
+    private transient volatile long version;
 
     /**
      * Constructs an EventManager, with empty schedule and default event components.
@@ -23,6 +55,123 @@ public class EventManager implements Serializable {
         eventFilterer = new EventFilterer();
         eventSignUp = new EventSignUp();
         eventScheduler = new EventScheduler();
+        eventReservations = new EventReservations();
+        indexSchedule();
+        observers = new CopyOnWriteArrayList<>();
+        scheduleLock = new ReentrantReadWriteLock();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // Managers saved before Events had waitlists have no reservations.
+        if (eventReservations == null) {
+            eventReservations = new EventReservations();
+        }
+        indexSchedule();
+        observers = new CopyOnWriteArrayList<>();
+        scheduleLock = new ReentrantReadWriteLock();
+    }
+
+    private void indexSchedule() {
+        eventTimeIndex = new EventTimeIndex(mainSchedule);
+        eventAttendeeIndex = new EventAttendeeIndex(mainSchedule);
+        eventsByID = new HashMap<>();
+        for (Event event: mainSchedule) {
+            eventsByID.put(event.getEventID(), event);
+        }
+    }
+
+    /**
+     * Sets the journal that every later change to the conference's main schedule is recorded to.
+     * @param journal The journal to record changes to.
+     */
+    @Override
+    public void setJournal(Journal<EventManager> journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the number of changes made to the conference's main schedule since this manager was created or loaded.
+     * @return The version of this manager.
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    private synchronized void record(JournalEntry<EventManager> entry) {
+        version++;
+        if (journal != null) {
+            journal.append(this, entry);
+        }
+    }
+
+    private void beginChange() {
+        if (journal != null) {
+            journal.beginChange();
+        }
+    }
+
+    private void endChange() {
+        if (journal != null) {
+            journal.endChange();
+        }
+    }
+
+    private <R> R readSchedule(Supplier<R> query) {
+        scheduleLock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            scheduleLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Registers an observer to be notified of every change to the conference's main schedule.
+     *
+     * The observer is immediately told about every Event already in the schedule.
+     *
+     * @param observer The observer to be registered.
+     */
+    public void addObserver(EventObserver observer) {
+        scheduleLock.readLock().lock();
+        try {
+            observers.add(observer);
+            for (Event event: mainSchedule) {
+                observer.eventScheduled(event);
+            }
+        } finally {
+            scheduleLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops notifying an observer of changes to the conference's main schedule.
+     *
+     * The observer is immediately told that every Event in the schedule was removed, so that it forgets them.
+     *
+     * @param observer The observer to be unregistered.
+     */
+    public void removeObserver(EventObserver observer) {
+        scheduleLock.readLock().lock();
+        try {
+            if (observers.remove(observer)) {
+                for (Event event: mainSchedule) {
+                    observer.eventCancelled(event);
+                }
+            }
+        } finally {
+            scheduleLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the views of all the Events in the conference's main schedule.
+     * @return The list of views of all the Events in the conference's main schedule.
+     */
+    public List<EventView> retrieveAllEventViews() {
+        return readSchedule(() -> toViews(mainSchedule));
     }
 
     /**
@@ -30,11 +179,19 @@ public class EventManager implements Serializable {
      * @return The list of extracted data of all the Events in the conference's main schedule.
      */
     public List<Map<String, Object>> retrieveAllEvents() {
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        for (Event event: mainSchedule) {
-            dataList.add(event.extractData());
-        }
-        return dataList;
+        return EventView.toMaps(retrieveAllEventViews());
+    }
+
+    /**
+     * Returns the views of all the Events in the conference's main schedule that are in between start and end
+     * time on all days
+     * @param start the start time of Events to filer with
+     * @param end the end time of Events to filer with
+     * @return the list of views of all the Events in the conference's main schedule that are in between start
+     * and end time on all days
+     */
+    public List<EventView> retrieveEventViewsByTimeInterval(LocalTime start, LocalTime end) {
+        return readSchedule(() -> toViews(eventFilterer.retrieveEventsByTimeInterval(mainSchedule, start, end)));
     }
 
     /**
@@ -46,11 +203,17 @@ public class EventManager implements Serializable {
      * are in between start and end time on all days
      */
     public List<Map<String, Object>> retrieveEventsByTimeInterval(LocalTime start, LocalTime end) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        for (Event event: eventFilterer.retrieveEventsByTimeInterval(mainSchedule, start, end)) {
-            dataList.add(event.extractData());
-        }
-        return dataList;
+        return EventView.toMaps(retrieveEventViewsByTimeInterval(start, end));
+    }
+
+    /**
+     * Returns the views of the Events in the conference's main schedule that are hosted by the given speaker.
+     *
+     * @param speaker The UUID of the speaker speaking at the Events.
+     * @return The list of views of Events that are hosted by the given speaker.
+     */
+    public List<EventView> retrieveEventViewsBySpeaker(UUID speaker) {
+        return readSchedule(() -> toViews(eventFilterer.retrieveEventsBySpeaker(mainSchedule, speaker)));
     }
 
     /**
@@ -61,11 +224,17 @@ public class EventManager implements Serializable {
      * @return The list of extracted data of Events that are hosted by the given speaker.
      */
     public List<Map<String, Object>> retrieveEventsBySpeaker(UUID speaker) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        for (Event event: eventFilterer.retrieveEventsBySpeaker(mainSchedule, speaker)) {
-            dataList.add(event.extractData());
-        }
-        return dataList;
+        return EventView.toMaps(retrieveEventViewsBySpeaker(speaker));
+    }
+
+    /**
+     * Returns the views of the Events in the conference's main schedule that the given attendee is attending.
+     *
+     * @param attendee The UUID of the specified Attendee.
+     * @return The list of views of Events that the given Attendee is attending.
+     */
+    public List<EventView> retrieveEventViewsByAttendee(UUID attendee) {
+        return readSchedule(() -> toViews(eventAttendeeIndex.getEvents(attendee)));
     }
 
     /**
@@ -76,11 +245,34 @@ public class EventManager implements Serializable {
      * @return The list of extracted data of Events that the given Attendee is attending.
      */
     public List<Map<String, Object>> retrieveEventsByAttendee(UUID attendee) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        for (Event event: eventFilterer.retrieveEventsByAttendee(mainSchedule, attendee)) {
-            dataList.add(event.extractData());
+        return EventView.toMaps(retrieveEventViewsByAttendee(attendee));
+    }
+
+    /**
+     * Returns the views of the Events in the conference's main schedule that the given attendee can sign up to.
+     *
+     * Seats held for other attendees on the waitlist of an Event are not free.
+     *
+     * @param attendee The UUID of the specified Attendee.
+     * @return The list of views of Events that the given Attendee can sign up for.
+     */
+    public List<EventView> retrieveSignupAbleEventViews(UUID attendee) {
+        beginChange();
+        try {
+            return readSchedule(() -> toViews(eventFilterer.retrieveSignupAbleEvents(mainSchedule,
+                    eventAttendeeIndex.getEvents(attendee), hasSeatFor(attendee, Instant.now()))));
+        } finally {
+            endChange();
         }
-        return dataList;
+    }
+
+    private Predicate<Event> hasSeatFor(UUID attendee, Instant now) {
+        // Like readReservations, this expires the holds of the Events it looks at.
+        return event -> {
+            synchronized (event) {
+                return eventReservations.hasSeatFor(attendee, event, now);
+            }
+        };
     }
 
     /**
@@ -91,24 +283,143 @@ public class EventManager implements Serializable {
      * @return The list of extracted data of Events that the given Attendee can sign up for.
      */
     public List<Map<String, Object>> retrieveSignupAbleEvents(UUID attendee) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        for (Event event: eventFilterer.retrieveSignupAbleEvents(mainSchedule, attendee)) {
-            dataList.add(event.extractData());
+        return EventView.toMaps(retrieveSignupAbleEventViews(attendee));
+    }
+
+    /**
+     * Returns the views of the Events in the conference's main schedule that the given attendee is not attending,
+     * including full Events whose waitlist the attendee can join.
+     *
+     * @param attendee The UUID of the specified Attendee.
+     * @return The list of views of Events that the given Attendee is not attending.
+     */
+    public List<EventView> retrieveReservableEventViews(UUID attendee) {
+        return readSchedule(() -> toViews(eventFilterer.retrieveEventsNotAttended(mainSchedule,
+                eventAttendeeIndex.getEvents(attendee))));
+    }
+
+    /**
+     * Returns the views of the Events in the conference's main schedule at which a seat is held for the given
+     * attendee.
+     *
+     * @param attendee The UUID of the specified Attendee.
+     * @return The list of views of Events at which a seat is held for the given Attendee.
+     */
+    public List<EventView> retrieveHeldEventViews(UUID attendee) {
+        return readReservations(event -> eventReservations.isHeldFor(attendee, event, Instant.now()));
+    }
+
+    /**
+     * Returns the views of the Events in the conference's main schedule whose waitlist the given attendee is on,
+     * including those at which a seat is held for them.
+     *
+     * @param attendee The UUID of the specified Attendee.
+     * @return The list of views of Events whose waitlist the given Attendee is on.
+     */
+    public List<EventView> retrieveWaitlistedEventViews(UUID attendee) {
+        return readReservations(event -> eventReservations.isWaitlisted(attendee, event, Instant.now()));
+    }
+
+    /**
+     * Gets how long a seat freed at a full Event is held for the next attendee on its waitlist.
+     * @return The time a seat is held for.
+     */
+    public Duration getHoldDuration() {
+        return EventReservations.HOLD_DURATION;
+    }
+
+    private List<EventView> readReservations(Predicate<Event> reserved) {
+        // Reading the reservations of an Event expires its holds. Expiring holds does not depend on when it is done,
+        // so it is not journaled, but it must not happen while the manager is being saved.
+        beginChange();
+        try {
+            return readSchedule(() -> {
+                List<EventView> views = new ArrayList<>();
+                for (Event event: mainSchedule) {
+                    synchronized (event) {
+                        if (reserved.test(event)) {
+                            views.add(event.toView());
+                        }
+                    }
+                }
+                return views;
+            });
+        } finally {
+            endChange();
+        }
+    }
+
+    private static List<EventView> toViews(Collection<Event> events) {
+        List<EventView> views = new ArrayList<>(events.size());
+        for (Event event: events) {
+            views.add(event.toView());
         }
-        return dataList;
+        return views;
     }
 
     /**
-     * Sign up the given attendee for the Event at the given index.
+     * Sign up the given attendee for the Event with the given ID, unless the Event has filled up or been cancelled
+     * in the meantime.
+     *
+     * A seat held for the attendee is claimed.
+     *
+     * @param attendee The UUID of the specified Attendee to be signed up.
+     * @param eventID The ID of the Event.
+     * @return SIGNED_UP if the attendee was signed up, FULL if the Event has no seat for them, REFUSED if they are
+     *         already attending it, or NOT_FOUND if there is no such Event.
+     */
+    public Reservation registerAttendee(UUID attendee, UUID eventID) {
+        beginChange();
+        scheduleLock.readLock().lock();
+        try {
+            Event event = eventsByID.get(eventID);
+            return event == null ? Reservation.NOT_FOUND : signUp(attendee, event, null);
+        } finally {
+            scheduleLock.readLock().unlock();
+            endChange();
+        }
+    }
+
+    /**
+     * Sign up the given attendee for the Event at the given index, unless the Event has filled up in the meantime.
      *
      * Note that this index is relative to the list of the events in the conference's main schedule that
      * the given attendee can sign up to.
      *
      * @param attendee The UUID of the specified Attendee to be signed up.
      * @param index The index of the Event, relative to the list of the events that the given Attendee can sign up for.
+     * @return true iff the attendee was signed up, false if the Event was already full.
      */
-    public void registerAttendee(UUID attendee, int index) {
-        eventSignUp.registerAttendee(attendee, mainSchedule, index);
+    public boolean registerAttendee(UUID attendee, int index) {
+        beginChange();
+        scheduleLock.readLock().lock();
+        try {
+            Event event = eventSignUp.getSignupAbleEvent(attendee, mainSchedule, eventAttendeeIndex,
+                    hasSeatFor(attendee, Instant.now()), index);
+            return signUp(attendee, event, null) == Reservation.SIGNED_UP;
+        } finally {
+            scheduleLock.readLock().unlock();
+            endChange();
+        }
+    }
+
+    /**
+     * Remove the given attendee from the Event with the given ID.
+     *
+     * @param attendee The UUID of the Attendee to be removed.
+     * @param eventID The ID of the Event.
+     * @return true iff the attendee was attending the Event.
+     */
+    public boolean removeAttendee(UUID attendee, UUID eventID) {
+        beginChange();
+        scheduleLock.readLock().lock();
+        try {
+            Event event = eventsByID.get(eventID);
+            return event != null && leave(attendee, event, null);
+        } finally {
+            scheduleLock.readLock().unlock();
+            endChange();
+        }
     }
 
     /**
@@ -121,11 +432,132 @@ public class EventManager implements Serializable {
      * @param index The index of the Event, relative to the list of the events that the given Attendee is signed up for.
      */
     public void removeAttendee(UUID attendee, int index) {
-        eventSignUp.removeAttendee(attendee, mainSchedule, index);
+        beginChange();
+        scheduleLock.readLock().lock();
+        try {
+            leave(attendee, eventSignUp.getAttendedEvent(attendee, eventAttendeeIndex, index), null);
+        } finally {
+            scheduleLock.readLock().unlock();
+            endChange();
+        }
+    }
+
+    /**
+     * Sign up the given attendee for the Event with the given ID if it has a free seat or a seat is held for them,
+     * and otherwise add them to the end of the Event's waitlist.
+     *
+     * @param attendee The UUID of the specified Attendee.
+     * @param eventID The ID of the Event.
+     * @return SIGNED_UP, WAITLISTED, REFUSED if the attendee is already attending or waiting for the Event, or
+     *         NOT_FOUND if there is no such Event.
+     */
+    public Reservation reserveSeat(UUID attendee, UUID eventID) {
+        beginChange();
+        scheduleLock.readLock().lock();
+        try {
+            Event event = eventsByID.get(eventID);
+            return event == null ? Reservation.NOT_FOUND : reserve(attendee, event, null);
+        } finally {
+            scheduleLock.readLock().unlock();
+            endChange();
+        }
+    }
+
+    /**
+     * Remove the given attendee from the waitlist of the Event with the given ID, or release the seat held for them,
+     * which is then held for the next attendee on the waitlist.
+     *
+     * @param attendee The UUID of the specified Attendee.
+     * @param eventID The ID of the Event.
+     * @return true iff the attendee was on the waitlist of the Event.
+     */
+    public boolean leaveWaitlist(UUID attendee, UUID eventID) {
+        beginChange();
+        scheduleLock.readLock().lock();
+        try {
+            Event event = eventsByID.get(eventID);
+            return event != null && leaveWaitlist(attendee, event, null);
+        } finally {
+            scheduleLock.readLock().unlock();
+            endChange();
+        }
+    }
+
+    // Each of the following takes the time of the change, or null for the current time. The current time is read
+    // while the Event is held, so the changes to an Event are journaled in the order of their times.
+
+    private Reservation signUp(UUID attendee, Event event, Instant at) {
+        Reservation reservation;
+        synchronized (event) {
+            reservation = takeSeat(attendee, event, at != null ? at : Instant.now());
+        }
+        if (reservation == Reservation.SIGNED_UP) {
+            observers.forEach(observer -> observer.registrationsChanged(event, 1));
+        }
+        return reservation;
+    }
+
+    private Reservation reserve(UUID attendee, Event event, Instant at) {
+        Reservation reservation;
+        synchronized (event) {
+            Instant now = at != null ? at : Instant.now();
+            reservation = takeSeat(attendee, event, now);
+            if (reservation == Reservation.FULL) {
+                if (eventReservations.join(attendee, event, now)) {
+                    record(new WaitlistJoined(attendee, event.getEventID(), now));
+                    reservation = Reservation.WAITLISTED;
+                }
+                else {
+                    reservation = Reservation.REFUSED;
+                }
+            }
+        }
+        if (reservation == Reservation.SIGNED_UP) {
+            observers.forEach(observer -> observer.registrationsChanged(event, 1));
+        }
+        return reservation;
+    }
+
+    private Reservation takeSeat(UUID attendee, Event event, Instant now) {
+        if (event.checkAttendee(attendee)) {
+            return Reservation.REFUSED;
+        }
+        // The change is recorded while the Event is still held, so changes to the same Event are journaled in the
+        // order they were made.
+        if (!eventReservations.admit(attendee, event, now)
+                || !eventSignUp.registerAttendee(attendee, event, eventAttendeeIndex)) {
+            return Reservation.FULL;
+        }
+        record(new AttendeeSignedUp(attendee, event.getEventID(), now));
+        return Reservation.SIGNED_UP;
+    }
+
+    private boolean leave(UUID attendee, Event event, Instant at) {
+        synchronized (event) {
+            if (!eventSignUp.removeAttendee(attendee, event, eventAttendeeIndex)) {
+                return false;
+            }
+            Instant now = at != null ? at : Instant.now();
+            eventReservations.release(event, now);
+            record(new AttendeeLeft(attendee, event.getEventID(), now));
+        }
+        observers.forEach(observer -> observer.registrationsChanged(event, -1));
+        return true;
+    }
+
+    private boolean leaveWaitlist(UUID attendee, Event event, Instant at) {
+        synchronized (event) {
+            Instant now = at != null ? at : Instant.now();
+            if (!eventReservations.leave(attendee, event, now)) {
+                return false;
+            }
+            record(new WaitlistLeft(attendee, event.getEventID(), now));
+            return true;
+        }
     }
 
     /**
-     * Returns the list of extracted data of Events from the conference's main schedule that conflict with
+     * Returns the views of Events from the conference's main schedule that conflict with
      * the scheduling of a new Event with the given details.
      *
      * Adds the new Event to the conference's main schedule iff there are no conflicting Events.
@@ -136,17 +568,122 @@ public class EventManager implements Serializable {
      * @param title The title of the new Event.
      * @param speakers The list of UUIDs of the Speakers for the new Event.
      * @param duration The duration of the new Event, in minutes.
-     * @return The list of extracted data of Events that conflict with the scheduling of the new Event.
+     * @return The list of views of Events that conflict with the scheduling of the new Event.
      */
-    public List<Map<String, Object>> scheduleEvent(int capacity, String room, LocalTime startTime, String title, List<UUID> speakers,
+    public List<EventView> scheduleEvent(int capacity, String room, LocalTime startTime, String title, List<UUID> speakers,
                                      int duration) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        List<Event> response = eventScheduler.scheduleEvent(mainSchedule, capacity, room, startTime, title, speakers,
-                                duration);
-        for (Event event: response) {
-            dataList.add(event.extractData());
+        return schedule(new Event(capacity, room, startTime, title, speakers, duration));
+    }
+
+    private List<EventView> schedule(Event event) {
+        List<Event> response;
+        beginChange();
+        scheduleLock.writeLock().lock();
+        try {
+            response = eventScheduler.scheduleEvent(mainSchedule, eventTimeIndex, event);
+            if (response.isEmpty()) {
+                eventsByID.put(event.getEventID(), event);
+                observers.forEach(observer -> observer.eventScheduled(event));
+                record(new EventScheduled(event));
+            }
+        } finally {
+            scheduleLock.writeLock().unlock();
+            endChange();
+        }
+        return toViews(response);
+    }
+
+    /**
+     * Returns the conflicts between Events with the given details, and between them and the Events of the
+     * conference's main schedule.
+     *
+     * Adds every one of the new Events to the conference's main schedule iff there are no conflicts, so that either
+     * the whole batch is scheduled or none of it is.
+     *
+     * @param batch The details of the new Events.
+     * @return The conflicts of the new Events, each referring to the new Events by their index in the batch.
+     */
+    public List<ScheduleConflict> scheduleEvents(List<EventDetails> batch) {
+        List<Event> events = new ArrayList<>(batch.size());
+        for (EventDetails details: batch) {
+            events.add(new Event(details.getCapacity(), details.getRoom(), details.getStartTime(), details.getTitle(),
+                    new ArrayList<>(details.getSpeakers()), details.getDuration()));
+        }
+        return schedule(events);
+    }
+
+    private List<ScheduleConflict> schedule(List<Event> batch) {
+        beginChange();
+        scheduleLock.writeLock().lock();
+        try {
+            List<ScheduleConflict> conflicts = eventScheduler.scheduleEvents(mainSchedule, eventTimeIndex, batch);
+            if (conflicts.isEmpty() && !batch.isEmpty()) {
+                for (Event event: batch) {
+                    eventsByID.put(event.getEventID(), event);
+                    observers.forEach(observer -> observer.eventScheduled(event));
+                }
+                // The batch is journaled as a single change, so it is replayed all at once or not at all.
+                record(new EventsScheduled(batch));
+            }
+            return conflicts;
+        } finally {
+            scheduleLock.writeLock().unlock();
+            endChange();
+        }
+    }
+
+    /**
+     * Returns a plan giving a room and a start time to as many Events with the given requirements as possible, so
+     * that they conflict neither with each other nor with the Events in the conference's main schedule.
+     *
+     * The plan is not scheduled. Its Events can be scheduled with scheduleEvents, which checks them again against
+     * the schedule as it is then.
+     *
+     * @param requirements The requirements of the Events to be placed.
+     * @param rooms The rooms the Events may take place in, mapped to the number of people each can hold.
+     * @param dayStart The earliest time an Event may start.
+     * @param dayEnd The latest time an Event may end.
+     * @return The plan of the Events that could be placed.
+     * @throws IllegalArgumentException if dayEnd is not after dayStart.
+     */
+    public SchedulePlan planEvents(List<EventRequirements> requirements, Map<String, Integer> rooms,
+                                   LocalTime dayStart, LocalTime dayEnd) {
+        if (!dayEnd.isAfter(dayStart)) {
+            throw new IllegalArgumentException("The day must end after it starts.");
+        }
+        EventAllocator eventAllocator = new EventAllocator(requirements, rooms, dayStart, dayEnd);
+        scheduleLock.readLock().lock();
+        try {
+            eventAllocator.block(mainSchedule);
+        } finally {
+            scheduleLock.readLock().unlock();
+        }
+        return eventAllocator.allocate();
+    }
+
+    /**
+     * Removes the Event with the given ID from the conference's main schedule.
+     *
+     * @param eventID the ID of the Event to be removed.
+     * @return true iff the Event was in the main schedule.
+     */
+    public boolean cancelEvent(UUID eventID) {
+        beginChange();
+        scheduleLock.writeLock().lock();
+        try {
+            Event event = eventsByID.remove(eventID);
+            if (event == null) {
+                return false;
+            }
+            eventScheduler.cancelEvent(mainSchedule, eventTimeIndex, eventAttendeeIndex, event);
+            eventReservations.clear(event);
+            observers.forEach(observer -> observer.eventCancelled(event));
+            record(new EventCancelled(eventID));
+            return true;
+        } finally {
+            scheduleLock.writeLock().unlock();
+            endChange();
         }
-        return dataList;
     }
 
     /**
@@ -155,11 +692,49 @@ public class EventManager implements Serializable {
      * @param index the index of the Event to be removed, relative to the main schedule.
      */
     public void cancelEvent(int index) {
-        eventScheduler.cancelEvent(mainSchedule, index);
+        cancelEvent(readSchedule(() -> mainSchedule.get(index).getEventID()));
     }
 
     /**
-     * Returns the list of extracted data of Events from the conference's main schedule that conflict with
+     * Returns the views of Events from the conference's main schedule that conflict with
+     * the rescheduling of the Event with the given ID.
+     *
+     * Reschedules the Event so that it has start time newStartTime and duration newDuration iff there are no
+     * conflicting Events.
+     *
+     * @param eventID The ID of the Event to be rescheduled.
+     * @param newStartTime The new start time for this Event.
+     * @param newDuration The new duration of this Event, in minutes.
+     * @return The list of views of Events that conflict with the rescheduling of the Event.
+     * @throws NoSuchElementException if there is no Event with the given ID.
+     */
+    public List<EventView> rescheduleEvent(UUID eventID, LocalTime newStartTime, int newDuration) {
+        List<Event> response;
+        beginChange();
+        scheduleLock.writeLock().lock();
+        try {
+            Event rescheduled = eventsByID.get(eventID);
+            if (rescheduled == null) {
+                throw new NoSuchElementException("No event with ID " + eventID);
+            }
+            int removedAttendees = rescheduled.getNumAttendees();
+            response = eventScheduler.rescheduleEvent(mainSchedule, eventTimeIndex, eventAttendeeIndex,
+                    rescheduled, newStartTime, newDuration);
+            if (response.isEmpty()) {
+                // Rescheduling removes every attendee, so it also empties the waitlist.
+                eventReservations.clear(rescheduled);
+                observers.forEach(observer -> observer.registrationsChanged(rescheduled, -removedAttendees));
+                record(new EventRescheduled(eventID, newStartTime, newDuration));
+            }
+        } finally {
+            scheduleLock.writeLock().unlock();
+            endChange();
+        }
+        return toViews(response);
+    }
+
+    /**
+     * Returns the views of Events from the conference's main schedule that conflict with
      * the rescheduling of the event at the specified index.
      *
      * Reschedules the Event so that it has start time newStartTime and duration newDuration iff there are no
@@ -168,15 +743,11 @@ public class EventManager implements Serializable {
      * @param index The index of the Event to be rescheduled.
      * @param newStartTime The new start time for this Event.
      * @param newDuration The new duration of this Event, in minutes.
-     * @return The string representation of a list of Events that conflict with the rescheduling of the Event.
+     * @return The list of views of Events that conflict with the rescheduling of the Event.
      */
-    public List<Map<String, Object>> rescheduleEvent(int index, LocalTime newStartTime,
+    public List<EventView> rescheduleEvent(int index, LocalTime newStartTime,
                                        int newDuration) {
-        List<Map<String, Object>> dataList = new ArrayList<>();
-        for (Event event: eventScheduler.rescheduleEvent(mainSchedule, index, newStartTime, newDuration)) {
-            dataList.add(event.extractData());
-        }
-        return dataList;
+        return rescheduleEvent(readSchedule(() -> mainSchedule.get(index).getEventID()), newStartTime, newDuration);
     }
 
     /**
@@ -187,8 +758,8 @@ public class EventManager implements Serializable {
      * @return A list of attendee UUIDs for a specific event with param title and hosted by the specified Speaker.
      */
     public List<UUID> retrieveAttendees(String title, UUID speakerUUID) {
-        List<Event> events = eventFilterer.retrieveEventsBySpeakerAndTitle(mainSchedule, speakerUUID, title);
-        return getUUIDSFromEvents(events);
+        return readSchedule(() -> getUUIDSFromEvents(
+                eventFilterer.retrieveEventsBySpeakerAndTitle(mainSchedule, speakerUUID, title)));
     }
 
     private List<UUID> getUUIDSFromEvents(List<Event> events) {
@@ -198,4 +769,207 @@ public class EventManager implements Serializable {
         }
         return attendeeIDS;
     }
+
+    private static class AttendeeSignedUp implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID attendee;
+        private final UUID eventID;
+        private final Instant at;
+
+        private AttendeeSignedUp(UUID attendee, UUID eventID, Instant at) {
+            this.attendee = attendee;
+            this.eventID = eventID;
+            this.at = at;
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            eventManager.signUp(attendee, eventManager.eventsByID.get(eventID), at);
+        }
+    }
+
+    private static class AttendeeLeft implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID attendee;
+        private final UUID eventID;
+        private final Instant at;
+
+        private AttendeeLeft(UUID attendee, UUID eventID, Instant at) {
+            this.attendee = attendee;
+            this.eventID = eventID;
+            this.at = at;
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            eventManager.leave(attendee, eventManager.eventsByID.get(eventID), at);
+        }
+    }
+
+    private static class WaitlistJoined implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID attendee;
+        private final UUID eventID;
+        private final Instant at;
+
+        private WaitlistJoined(UUID attendee, UUID eventID, Instant at) {
+            this.attendee = attendee;
+            this.eventID = eventID;
+            this.at = at;
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            eventManager.reserve(attendee, eventManager.eventsByID.get(eventID), at);
+        }
+    }
+
+    private static class WaitlistLeft implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID attendee;
+        private final UUID eventID;
+        private final Instant at;
+
+        private WaitlistLeft(UUID attendee, UUID eventID, Instant at) {
+            this.attendee = attendee;
+            this.eventID = eventID;
+            this.at = at;
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            eventManager.leaveWaitlist(attendee, eventManager.eventsByID.get(eventID), at);
+        }
+    }
+
+    private static class EventScheduled implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+        private final String room;
+        private final LocalTime startTime;
+        private final String title;
+        private final List<UUID> speakers;
+        private final int duration;
+        private final UUID eventID;
+
+        private EventScheduled(Event event) {
+            this.capacity = event.getCapacity();
+            this.room = event.getRoom();
+            this.startTime = event.getStartTime();
+            this.title = event.getTitle();
+            this.speakers = new ArrayList<>(event.getSpeakers());
+            this.duration = event.getDuration();
+            this.eventID = event.getEventID();
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            eventManager.schedule(toEvent());
+        }
+
+        private Event toEvent() {
+            return new Event(eventID, capacity, room, startTime, title, new ArrayList<>(speakers), duration);
+        }
+    }
+
+    private static class EventsScheduled implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final List<EventScheduled> events;
+
+        private EventsScheduled(List<Event> events) {
+            this.events = new ArrayList<>(events.size());
+            for (Event event: events) {
+                this.events.add(new EventScheduled(event));
+            }
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            List<Event> batch = new ArrayList<>(events.size());
+            for (EventScheduled event: events) {
+                batch.add(event.toEvent());
+            }
+            eventManager.schedule(batch);
+        }
+    }
+
+    private static class EventCancelled implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID eventID;
+
+        private EventCancelled(UUID eventID) {
+            this.eventID = eventID;
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            eventManager.cancelEvent(eventID);
+        }
+    }
+
+    private static class EventRescheduled implements JournalEntry<EventManager> {
+        private static final long serialVersionUID = 1L;
+        private final LocalTime newStartTime;
+        private final int newDuration;
+        private final UUID eventID;
+
+        private EventRescheduled(UUID eventID, LocalTime newStartTime, int newDuration) {
+            this.newStartTime = newStartTime;
+            this.newDuration = newDuration;
+            this.eventID = eventID;
+        }
+
+        @Override
+        public void apply(EventManager eventManager) {
+            eventManager.rescheduleEvent(eventID, newStartTime, newDuration);
+        }
+    }
+
+    /**
+     * The binary format of an EventManager, which is its main schedule of Events followed by their waitlists.
+     */
+    public static class BinaryCodec implements Codec<EventManager> {
+        /**
+         * Gets the version of the format that write produces.
+         * @return the current version of the format.
+         */
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        /**
+         * Writes the main schedule of eventManager.
+         * @param eventManager the EventManager to write.
+         * @param out the writer to write to.
+         * @throws IOException if the EventManager could not be written.
+         */
+        @Override
+        public void write(EventManager eventManager, BinaryWriter out) throws IOException {
+            out.writeInt(eventManager.mainSchedule.size());
+            for (Event event : eventManager.mainSchedule) {
+                event.writeTo(out);
+            }
+            eventManager.eventReservations.writeTo(out);
+        }
+
+        /**
+         * Reads an EventManager written by write.
+         * @param in the reader to read from.
+         * @param version the version of the format the EventManager was written in.
+         * @return the EventManager that was read.
+         * @throws IOException if the EventManager could not be read.
+         */
+        @Override
+        public EventManager read(BinaryReader in, int version) throws IOException {
+            EventManager eventManager = new EventManager();
+            int numEvents = in.readInt();
+            for (int i = 0; i < numEvents; i++) {
+                eventManager.mainSchedule.add(Event.readFrom(in));
+            }
+            eventManager.eventReservations = EventReservations.readFrom(in);
+            eventManager.indexSchedule();
+            return eventManager;
+        }
+    }
 }
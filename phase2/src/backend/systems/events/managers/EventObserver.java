@@ -0,0 +1,29 @@
+package backend.systems.events.managers;
+
+import backend.entities.Event;
+
+/**
+ * An observer that is notified whenever the schedule of events of an EventManager changes.
+ */
+public interface EventObserver {
+    /**
+     * Called when an Event is added to the schedule, along with any attendees it already has. An EventManager that is
+     * loaded again reports its Events again, so the same Event may be reported more than once.
+     * @param event The Event that was added.
+     */
+    void eventScheduled(Event event);
+
+    /**
+     * Called when an Event is removed from the schedule, along with all of its attendees.
+     * @param event The Event that was removed.
+     */
+    void eventCancelled(Event event);
+
+    /**
+     * Called when the number of attendees of a scheduled Event changes, or when it is rescheduled.
+     * @param event The Event whose attendees changed.
+     * @param change The number of attendees gained, which is negative if attendees were removed, and 0 if an Event
+     *               without attendees was rescheduled.
+     */
+    void registrationsChanged(Event event, int change);
+}
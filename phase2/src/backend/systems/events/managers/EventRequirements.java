@@ -0,0 +1,51 @@
+package backend.systems.events.managers;
+
+import java.util.*;
+
+/**
+ * The requirements of an Event that is yet to be given a room and a start time.
+ */
+public final class EventRequirements {
+    private final String title;
+    private final List<UUID> speakers;
+    private final int capacity;
+    private final int duration;
+
+    /**
+     * Constructs new EventRequirements with a title, speakers, capacity and duration.
+     * @param title The event's title.
+     * @param speakers A list of UUIDs of the speakers speaking at the event.
+     * @param capacity The number of people the event must be able to have.
+     * @param duration The duration of the event, in minutes.
+     */
+    public EventRequirements(String title, List<UUID> speakers, int capacity, int duration) {
+        this.title = title;
+        this.speakers = Collections.unmodifiableList(new ArrayList<>(speakers));
+        this.capacity = capacity;
+        this.duration = duration;
+    }
+
+    /**
+     * Returns the event's title.
+     * @return The event's title.
+     */
+    public String getTitle() { return title; }
+
+    /**
+     * Returns the UUIDs of the speakers speaking at the event.
+     * @return An unmodifiable list of UUIDs of the speakers.
+     */
+    public List<UUID> getSpeakers() { return speakers; }
+
+    /**
+     * Returns the number of people the event must be able to have.
+     * @return The capacity of the event.
+     */
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Returns the duration of the event.
+     * @return The event's duration, in minutes.
+     */
+    public int getDuration() { return duration; }
+}
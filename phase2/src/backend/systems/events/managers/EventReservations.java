@@ -0,0 +1,269 @@
+package backend.systems.events.managers;
+
+import backend.entities.Event;
+import utility.filehandling.BinaryReader;
+import utility.filehandling.BinaryWriter;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A class for reserving seats at the full Events of a schedule of events.
+ *
+ * Each full Event has a waitlist of the attendees waiting for a seat, in the order they joined it. Whenever a seat
+ * is freed, it is held for the attendee at the head of the waitlist, who has HOLD_DURATION to claim it before it is
+ * held for the next attendee instead. Joining, leaving and being promoted from a waitlist each take constant time,
+ * however long the waitlist is.
+ *
+ * Holds expire the next time their Event is touched. A seat freed by an expired hold is held for the next attendee
+ * from the moment the hold expired, so the reservations of an Event at a given time do not depend on when they were
+ * last looked at.
+ *
+ * The reservations of an Event are only read or changed while holding the Event's monitor.
+ */
+class EventReservations implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * How long a seat is held for an attendee promoted from a waitlist.
+     */
+    static final Duration HOLD_DURATION = Duration.ofMinutes(15);
+
+    private final Map<UUID, Waitlist> waitlists;
+
+    /** Constructs a new EventReservations with no waitlists. */
+    EventReservations() { waitlists = new ConcurrentHashMap<>(); }
+
+    private static class Waitlist implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private final Set<UUID> waiting = new LinkedHashSet<>();
+        // Maps each attendee holding a seat to the time their hold expires. Every hold lasts HOLD_DURATION, so holds
+        // are kept in the order they expire.
+        private final Map<UUID, Instant> holds = new LinkedHashMap<>();
+
+        private boolean isEmpty() { return waiting.isEmpty() && holds.isEmpty(); }
+    }
+
+    /**
+     * Returns true iff a seat of the given Event can be given to the given attendee, because either a seat is held
+     * for them or a seat is free. A seat held for the attendee is claimed.
+     *
+     * @param attendee The UUID of the attendee.
+     * @param event The Event, whose monitor is held.
+     * @param now The current time.
+     * @return true iff the attendee may take a seat at the Event.
+     */
+    public boolean admit(UUID attendee, Event event, Instant now) {
+        Waitlist waitlist = expireHolds(event, now);
+        if (waitlist != null && waitlist.holds.remove(attendee) != null) {
+            discardIfEmpty(event, waitlist);
+            return true;
+        }
+        return freeSeats(event, waitlist) > 0;
+    }
+
+    /**
+     * Returns true iff a seat of the given Event can be given to the given attendee, like admit, without claiming a
+     * seat held for them.
+     *
+     * @param attendee The UUID of the attendee.
+     * @param event The Event, whose monitor is held.
+     * @param now The current time.
+     * @return true iff the attendee may take a seat at the Event.
+     */
+    public boolean hasSeatFor(UUID attendee, Event event, Instant now) {
+        Waitlist waitlist = expireHolds(event, now);
+        return (waitlist != null && waitlist.holds.containsKey(attendee)) || freeSeats(event, waitlist) > 0;
+    }
+
+    /**
+     * Adds the given attendee to the end of the waitlist of the given Event iff the Event has no free seat and the
+     * attendee is not attending it, waiting for it or holding a seat at it.
+     *
+     * @param attendee The UUID of the attendee.
+     * @param event The Event, whose monitor is held.
+     * @param now The current time.
+     * @return true iff the attendee was added to the waitlist.
+     */
+    public boolean join(UUID attendee, Event event, Instant now) {
+        Waitlist waitlist = expireHolds(event, now);
+        if (event.checkAttendee(attendee) || freeSeats(event, waitlist) > 0) {
+            return false;
+        }
+        if (waitlist == null) {
+            waitlist = new Waitlist();
+            waitlists.put(event.getEventID(), waitlist);
+        }
+        return !waitlist.holds.containsKey(attendee) && waitlist.waiting.add(attendee);
+    }
+
+    /**
+     * Removes the given attendee from the waitlist of the given Event, or releases the seat held for them.
+     *
+     * A released seat is held for the next attendee on the waitlist.
+     *
+     * @param attendee The UUID of the attendee.
+     * @param event The Event, whose monitor is held.
+     * @param now The current time.
+     * @return true iff the attendee was waiting for or holding a seat at the Event.
+     */
+    public boolean leave(UUID attendee, Event event, Instant now) {
+        Waitlist waitlist = expireHolds(event, now);
+        if (waitlist == null) {
+            return false;
+        }
+        boolean left = waitlist.waiting.remove(attendee);
+        if (!left && waitlist.holds.remove(attendee) != null) {
+            promote(event, waitlist, now);
+            left = true;
+        }
+        discardIfEmpty(event, waitlist);
+        return left;
+    }
+
+    /**
+     * Holds the seats freed at the given Event for the attendees at the head of its waitlist.
+     *
+     * Must be called after an attendee leaves the Event.
+     *
+     * @param event The Event, whose monitor is held.
+     * @param now The current time.
+     */
+    public void release(Event event, Instant now) {
+        Waitlist waitlist = expireHolds(event, now);
+        if (waitlist != null) {
+            promote(event, waitlist, now);
+            discardIfEmpty(event, waitlist);
+        }
+    }
+
+    /**
+     * Removes the waitlist and the held seats of the given Event.
+     * @param event The Event, which is being cancelled or rescheduled.
+     */
+    public void clear(Event event) {
+        waitlists.remove(event.getEventID());
+    }
+
+    /**
+     * Returns true iff a seat at the given Event is held for the given attendee.
+     *
+     * @param attendee The UUID of the attendee.
+     * @param event The Event, whose monitor is held.
+     * @param now The current time.
+     * @return Whether a seat is held for the attendee.
+     */
+    public boolean isHeldFor(UUID attendee, Event event, Instant now) {
+        Waitlist waitlist = expireHolds(event, now);
+        return waitlist != null && waitlist.holds.containsKey(attendee);
+    }
+
+    /**
+     * Returns true iff the given attendee is waiting for or holding a seat at the given Event.
+     *
+     * @param attendee The UUID of the attendee.
+     * @param event The Event, whose monitor is held.
+     * @param now The current time.
+     * @return Whether the attendee is on the waitlist of the Event.
+     */
+    public boolean isWaitlisted(UUID attendee, Event event, Instant now) {
+        Waitlist waitlist = expireHolds(event, now);
+        return waitlist != null && (waitlist.waiting.contains(attendee) || waitlist.holds.containsKey(attendee));
+    }
+
+    private Waitlist expireHolds(Event event, Instant now) {
+        Waitlist waitlist = waitlists.get(event.getEventID());
+        if (waitlist == null) {
+            return null;
+        }
+        Iterator<Map.Entry<UUID, Instant>> holds = waitlist.holds.entrySet().iterator();
+        while (holds.hasNext()) {
+            Instant expiry = holds.next().getValue();
+            if (expiry.isAfter(now)) {
+                break;
+            }
+            holds.remove();
+            // The freed seat is held from the moment the hold expired. Its hold expires after every hold still kept,
+            // so it is added at the end and is looked at again by this loop if it has expired too.
+            promote(event, waitlist, expiry);
+            holds = waitlist.holds.entrySet().iterator();
+        }
+        discardIfEmpty(event, waitlist);
+        return waitlist;
+    }
+
+    private void promote(Event event, Waitlist waitlist, Instant from) {
+        Iterator<UUID> waiting = waitlist.waiting.iterator();
+        int freeSeats = freeSeats(event, waitlist);
+        while (freeSeats > 0 && waiting.hasNext()) {
+            UUID next = waiting.next();
+            waiting.remove();
+            waitlist.holds.put(next, from.plus(HOLD_DURATION));
+            freeSeats--;
+        }
+    }
+
+    private int freeSeats(Event event, Waitlist waitlist) {
+        int held = waitlist == null ? 0 : waitlist.holds.size();
+        return event.getCapacity() - event.getNumAttendees() - held;
+    }
+
+    private void discardIfEmpty(Event event, Waitlist waitlist) {
+        if (waitlist.isEmpty()) {
+            waitlists.remove(event.getEventID());
+        }
+    }
+
+    /**
+     * Writes these reservations in the binary form read by readFrom.
+     * @param out The writer to write to.
+     * @throws IOException if the reservations could not be written.
+     */
+    public void writeTo(BinaryWriter out) throws IOException {
+        out.writeInt(waitlists.size());
+        for (Map.Entry<UUID, Waitlist> entry : waitlists.entrySet()) {
+            out.writeUUID(entry.getKey());
+            Waitlist waitlist = entry.getValue();
+            out.writeInt(waitlist.waiting.size());
+            for (UUID attendee : waitlist.waiting) {
+                out.writeUUID(attendee);
+            }
+            out.writeInt(waitlist.holds.size());
+            for (Map.Entry<UUID, Instant> hold : waitlist.holds.entrySet()) {
+                out.writeUUID(hold.getKey());
+                out.writeLong(hold.getValue().getEpochSecond());
+                out.writeInt(hold.getValue().getNano());
+            }
+        }
+    }
+
+    /**
+     * Reads reservations written by writeTo.
+     * @param in The reader to read from.
+     * @return The reservations that were read.
+     * @throws IOException if the reservations could not be read.
+     */
+    public static EventReservations readFrom(BinaryReader in) throws IOException {
+        EventReservations reservations = new EventReservations();
+        int numWaitlists = in.readInt();
+        for (int i = 0; i < numWaitlists; i++) {
+            UUID eventID = in.readUUID();
+            Waitlist waitlist = new Waitlist();
+            int numWaiting = in.readInt();
+            for (int j = 0; j < numWaiting; j++) {
+                waitlist.waiting.add(in.readUUID());
+            }
+            int numHolds = in.readInt();
+            for (int j = 0; j < numHolds; j++) {
+                UUID attendee = in.readUUID();
+                waitlist.holds.put(attendee, Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            }
+            reservations.waitlists.put(eventID, waitlist);
+        }
+        return reservations;
+    }
+}
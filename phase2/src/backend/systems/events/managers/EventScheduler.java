@@ -10,12 +10,27 @@ import java.util.*;
  * A class for adding new Events to a schedule of events.
  */
 class EventScheduler implements Serializable {
+    private static final long serialVersionUID = -3688988120014200682L;
     private final EventFilterer eventFilter;
 
     /** Constructs a new EventScheduler. */
     EventScheduler() { eventFilter = new EventFilterer(); }
 
-    private List<Event> getRoomConflicts(List<Event> events, String room, LocalTime start, LocalTime end) {
+    private List<Event> getRoomConflicts(List<Event> events, EventTimeIndex eventIndex, String room, LocalTime start,
+                                         LocalTime end) {
+        List<Event> conflictingEvents = eventIndex.retrieveRoomEventsByTimeInterval(room, start, end);
+        assert sameEvents(conflictingEvents, scanRoomConflicts(events, room, start, end));
+        return conflictingEvents;
+    }
+
+    private List<Event> getSpeakerConflicts(List<Event> events, EventTimeIndex eventIndex, UUID speaker,
+                                            LocalTime start, LocalTime end) {
+        List<Event> conflictingEvents = eventIndex.retrieveSpeakerEventsByTimeInterval(speaker, start, end);
+        assert sameEvents(conflictingEvents, scanSpeakerConflicts(events, speaker, start, end));
+        return conflictingEvents;
+    }
+
+    private List<Event> scanRoomConflicts(List<Event> events, String room, LocalTime start, LocalTime end) {
         List<Event> conflictingEvents = new ArrayList<>();
         List<Event> filteredEvents = eventFilter.retrieveEventsByTimeInterval(events, start, end);
         for (Event event: filteredEvents) {
@@ -26,7 +41,7 @@ class EventScheduler implements Serializable {
         return conflictingEvents;
     }
 
-    private List<Event> getSpeakerConflicts(List<Event> events, UUID speaker, LocalTime start, LocalTime end) {
+    private List<Event> scanSpeakerConflicts(List<Event> events, UUID speaker, LocalTime start, LocalTime end) {
         List<Event> conflictingEvents = new ArrayList<>();
         List<Event> filteredEvents = eventFilter.retrieveEventsByTimeInterval(events, start, end);
         for (Event event: filteredEvents) {
@@ -37,85 +52,222 @@ class EventScheduler implements Serializable {
         return conflictingEvents;
     }
 
+    private boolean sameEvents(List<Event> events, List<Event> otherEvents) {
+        return new HashSet<>(events).equals(new HashSet<>(otherEvents));
+    }
+
     /**
-     * Returns the list of Events that conflict with the scheduling of a new Event with the given details.
+     * Returns the list of Events that conflict with the scheduling of a new Event.
      *
-     * Adds the new Event to the given list of Events iff there are no conflicting Events.
+     * Adds the new Event to the given list of Events and index iff there are no conflicting Events.
      *
      * @param events the list of Events to be added to
-     * @param capacity the capacity of the new Event
-     * @param room the room of the new Event
-     * @param startTime the start time of the new Event
-     * @param title the title of the new Event
-     * @param speakers a list of UUIDs of the speakers for the new Event
-     * @param duration the duration of the new Event in minutes
+     * @param eventIndex the index of the given list of Events
+     * @param event the new Event
      * @return a list of Events that conflict with the scheduling of the new Event
      */
-    public List<Event> scheduleEvent(List<Event> events, int capacity, String room, LocalTime startTime, String title, List<UUID> speakers, int duration) {
-        List<Event> conflictingEvents = new ArrayList<>(getRoomConflicts(events, room, startTime, startTime.plusMinutes(duration - 1)));
-        for (UUID speaker: speakers) {
-            conflictingEvents.addAll(getSpeakerConflicts(events, speaker, startTime, startTime.plusMinutes(duration - 1)));
+    public List<Event> scheduleEvent(List<Event> events, EventTimeIndex eventIndex, Event event) {
+        LocalTime startTime = event.getStartTime();
+        LocalTime lastMinute = event.getEndTime().minusMinutes(1);
+        List<Event> conflictingEvents = new ArrayList<>(getRoomConflicts(events, eventIndex, event.getRoom(),
+                startTime, lastMinute));
+        for (UUID speaker: event.getSpeakers()) {
+            conflictingEvents.addAll(getSpeakerConflicts(events, eventIndex, speaker, startTime, lastMinute));
         }
         removeDuplicateConflictedEvents(conflictingEvents);
 
         if (conflictingEvents.isEmpty()) {
-            events.add(new Event(capacity, room, startTime, title, speakers, duration));
+            events.add(event);
+            eventIndex.addEvent(event);
         }
 
         return conflictingEvents;
     }
 
     /**
-     * Removes the Event from a given list of Events that is at the specified index.
+     * Returns the conflicts of a batch of new Events with each other and with a given list of Events.
+     *
+     * Adds every Event of the batch to the given list of Events and index iff there are no conflicts.
+     *
+     * The Events of each room and speaker touched by the batch are sorted by start time and swept once, keeping the
+     * Events that have started but not yet ended, so the batch is checked in O(n log n) time for n Events plus the
+     * number of conflicts found.
+     *
+     * @param events the list of Events to be added to
+     * @param eventIndex the index of the given list of Events
+     * @param batch the new Events
+     * @return the conflicts of the batch, ordered by the index of the Event of the batch they involve
+     */
+    public List<ScheduleConflict> scheduleEvents(List<Event> events, EventTimeIndex eventIndex, List<Event> batch) {
+        Map<Object, List<Interval>> timelines = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            addIntervals(timelines, batch.get(i), i, true);
+        }
+        for (Event event: events) {
+            addIntervals(timelines, event, -1, false);
+        }
+
+        Map<List<Object>, ScheduleConflict> conflicts = new LinkedHashMap<>();
+        for (Map.Entry<Object, List<Interval>> timeline: timelines.entrySet()) {
+            sweep(timeline.getKey(), timeline.getValue(), conflicts);
+        }
+
+        List<ScheduleConflict> conflictList = new ArrayList<>(conflicts.values());
+        conflictList.sort(Comparator.comparingInt(ScheduleConflict::getIndex)
+                .thenComparingInt(ScheduleConflict::getConflictingIndex));
+        if (conflictList.isEmpty()) {
+            for (Event event: batch) {
+                events.add(event);
+                eventIndex.addEvent(event);
+            }
+        }
+        return conflictList;
+    }
+
+    // Adds the intervals of the given Event to the timelines of its room and speakers. Only Events of the batch start
+    // a timeline, so scheduled Events sharing no room or speaker with the batch are left out.
+    private void addIntervals(Map<Object, List<Interval>> timelines, Event event, int index, boolean inBatch) {
+        List<Object> keys = new ArrayList<>(event.getSpeakers().size() + 1);
+        keys.add(event.getRoom());
+        keys.addAll(event.getSpeakers());
+        for (Object key: keys) {
+            List<Interval> timeline = inBatch ? timelines.computeIfAbsent(key, k -> new ArrayList<>())
+                    : timelines.get(key);
+            if (timeline != null) {
+                Interval.addTo(timeline, event, index);
+            }
+        }
+    }
+
+    private void sweep(Object key, List<Interval> timeline, Map<List<Object>, ScheduleConflict> conflicts) {
+        timeline.sort(Comparator.comparingInt(interval -> interval.start));
+        PriorityQueue<Interval> ongoing = new PriorityQueue<>(Comparator.comparingInt(interval -> interval.end));
+        for (Interval interval: timeline) {
+            while (!ongoing.isEmpty() && ongoing.peek().end <= interval.start) {
+                ongoing.poll();
+            }
+            for (Interval other: ongoing) {
+                if (other.event != interval.event && (interval.index >= 0 || other.index >= 0)) {
+                    addConflict(key, interval, other, conflicts);
+                }
+            }
+            ongoing.add(interval);
+        }
+    }
+
+    private void addConflict(Object key, Interval interval, Interval other,
+                             Map<List<Object>, ScheduleConflict> conflicts) {
+        // Report the conflict against the Event of the batch that comes later, so an Event already in the schedule
+        // or earlier in the batch is the one it conflicts with.
+        Interval later = interval;
+        Interval earlier = other;
+        if (earlier.index > later.index) {
+            later = other;
+            earlier = interval;
+        }
+        // An Event crossing midnight has two intervals, so the same conflict may be found twice.
+        List<Object> conflictKey = Arrays.asList(later.event, earlier.event, key);
+        if (!conflicts.containsKey(conflictKey)) {
+            conflicts.put(conflictKey, new ScheduleConflict(later.index, later.event.toView(), earlier.index,
+                    earlier.event.toView(), key instanceof String ? (String) key : null,
+                    key instanceof UUID ? (UUID) key : null));
+        }
+    }
+
+    /**
+     * The minutes of the day taken up by an Event, from start inclusive to end exclusive.
+     *
+     * Two Events conflict iff they share a room or a speaker and their intervals overlap.
+     */
+    static class Interval {
+        static final int MINUTES_PER_DAY = 24 * 60;
+        final int start;
+        final int end;
+        private final Event event;
+        private final int index;
+
+        private Interval(int start, int end, Event event, int index) {
+            this.start = start;
+            this.end = end;
+            this.event = event;
+            this.index = index;
+        }
+
+        static void addTo(List<Interval> timeline, Event event, int index) {
+            int start = event.getStartTime().toSecondOfDay() / 60;
+            int end = start + Math.min(event.getDuration(), MINUTES_PER_DAY);
+            // An Event crossing midnight also takes up the start of the day.
+            timeline.add(new Interval(start, Math.min(end, MINUTES_PER_DAY), event, index));
+            if (end > MINUTES_PER_DAY) {
+                timeline.add(new Interval(0, end - MINUTES_PER_DAY, event, index));
+            }
+        }
+    }
+
+    /**
+     * Removes the given Event from a given list of Events and its index.
      *
      * @param events the list of Events
-     * @param index the index of the Event to be removed
-     * @throws IndexOutOfBoundsException if the given index is invalid
+     * @param eventIndex the index of the given list of Events
+     * @param attendeeIndex the index of the attendees of the given list of Events
+     * @param event the Event to be removed
      */
-    public void cancelEvent(List<Event> events, int index) throws IndexOutOfBoundsException {
-        events.remove(index);
+    public void cancelEvent(List<Event> events, EventTimeIndex eventIndex, EventAttendeeIndex attendeeIndex,
+                            Event event) {
+        events.remove(event);
+        eventIndex.removeEvent(event);
+        attendeeIndex.removeAllAttendees(event);
     }
 
     /**
-     * Returns the list of Events that conflict with the rescheduling of the Event from a given list of Events
-     * that is at the specified index.
+     * Returns the list of Events that conflict with the rescheduling of the given Event from a given list of
+     * Events.
      *
      * Reschedules the Event so that it has start time newStartTime and duration newDuration and removes all
      * its attendees iff there are no conflicting Events
      *
      * @param events the list of Events
-     * @param index the index of the Event to be reschedules
+     * @param eventIndex the index of the given list of Events
+     * @param attendeeIndex the index of the attendees of the given list of Events
+     * @param event the Event to be rescheduled
      * @param newStartTime the new start time for the Event
      * @param newDuration the new duration of the Event in minutes
      * @return a list of Events that conflict with the rescheduling of the Event
-     * @throws IndexOutOfBoundsException if the given index is invalid
      */
-    public List<Event> rescheduleEvent(List<Event> events, int index, LocalTime newStartTime,
-                                       int newDuration) throws IndexOutOfBoundsException {
-        Event event = events.get(index);
+    public List<Event> rescheduleEvent(List<Event> events, EventTimeIndex eventIndex,
+                                       EventAttendeeIndex attendeeIndex, Event event, LocalTime newStartTime,
+                                       int newDuration) {
 
-        List<Event> conflictingEvents = new ArrayList<>(getRoomConflicts(events, event.getRoom(), newStartTime, newStartTime.plusMinutes(newDuration)));
+        List<Event> conflictingEvents = new ArrayList<>(getRoomConflicts(events, eventIndex, event.getRoom(),
+                newStartTime, newStartTime.plusMinutes(newDuration)));
         for (UUID speaker: event.getSpeakers())
-            conflictingEvents.addAll(getSpeakerConflicts(events, speaker, newStartTime, newStartTime.plusMinutes(newDuration)));
+            conflictingEvents.addAll(getSpeakerConflicts(events, eventIndex, speaker, newStartTime,
+                    newStartTime.plusMinutes(newDuration)));
         removeDuplicateConflictedEvents(conflictingEvents);
 
         if (conflictingEvents.isEmpty()) {
-            event.setStartTime(newStartTime);
-            event.setDuration(newDuration);
-            event.removeAllAttendees();
+            moveEvent(eventIndex, attendeeIndex, event, newStartTime, newDuration);
         }
         else if(conflictingEvents.size() == 1) {
             if (conflictingEvents.get(0).equals(event)) {
-                event.setStartTime(newStartTime);
-                event.setDuration(newDuration);
+                moveEvent(eventIndex, attendeeIndex, event, newStartTime, newDuration);
                 conflictingEvents.remove(0);
-                event.removeAllAttendees();
             }
         }
 
         return conflictingEvents;
     }
 
+    private void moveEvent(EventTimeIndex eventIndex, EventAttendeeIndex attendeeIndex, Event event,
+                           LocalTime newStartTime, int newDuration) {
+        eventIndex.removeEvent(event);
+        event.setStartTime(newStartTime);
+        event.setDuration(newDuration);
+        attendeeIndex.removeAllAttendees(event);
+        event.removeAllAttendees();
+        eventIndex.addEvent(event);
+    }
+
     private void removeDuplicateConflictedEvents(List<Event> events) {
         Set<Event> set = new LinkedHashSet<>(events);
         events.clear();
@@ -3,41 +3,81 @@ package backend.systems.events.managers;
 import backend.entities.Event;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * A class for signing up attendees to Events in a schedule of events.
  */
 class EventSignUp implements Serializable {
+    private static final long serialVersionUID = -3723911457138321558L;
     private EventFilterer eventFilterer;
 
     /** Constructs a new EventSignUp */
     EventSignUp() { eventFilterer = new EventFilterer(); }
 
     /**
-     * Register the given attendee for the Event at the specified index, relative to the events that the attendee
-     * can sign up for.
+     * Returns the Event at the specified index, relative to the events that the given attendee can sign up for.
      *
+     * @param attendee The UUID of the attendee.
      * @param events The list of Events the attendee can sign up for.
-     * @param attendee The UUID of the attendee to be registered.
+     * @param attendeeIndex The index of the attendees of the given list of Events.
+     * @param hasSeat Whether an Event has a seat the attendee can take, either free or held for them.
      * @param index The index of the Event, relative to the events that the attendee can sign up for.
+     * @return The Event at the given index.
      * @throws IndexOutOfBoundsException if the given index is invalid.
      */
-    public void registerAttendee(UUID attendee, List<Event> events, int index) throws IndexOutOfBoundsException {
-        eventFilterer.retrieveSignupAbleEvents(events, attendee).get(index).addAttendee(attendee);
+    public Event getSignupAbleEvent(UUID attendee, List<Event> events, EventAttendeeIndex attendeeIndex,
+                                    Predicate<Event> hasSeat, int index) throws IndexOutOfBoundsException {
+        return eventFilterer.retrieveSignupAbleEvents(events, attendeeIndex.getEvents(attendee), hasSeat).get(index);
     }
 
     /**
-     * Remove the given attendee for the Event at the specified index, relative to the events that the
-     * attendee has signed up for.
+     * Returns the Event at the specified index, relative to the events that the given attendee has signed up for.
      *
-     * @param events The list of Events the attendee has signed up for.
-     * @param attendee The UUID of the attendee to be removed.
+     * @param attendee The UUID of the attendee.
+     * @param attendeeIndex The index of the attendees of the schedule of events.
      * @param index The index of the Event, relative to the events that the attendee has signed up for.
+     * @return The Event at the given index.
      * @throws IndexOutOfBoundsException if the given index is invalid.
      */
-    public void removeAttendee(UUID attendee, List<Event> events, int index) throws IndexOutOfBoundsException {
-        eventFilterer.retrieveEventsByAttendee(events, attendee).get(index).removeAttendee(attendee);
+    public Event getAttendedEvent(UUID attendee, EventAttendeeIndex attendeeIndex, int index)
+            throws IndexOutOfBoundsException {
+        return new ArrayList<>(attendeeIndex.getEvents(attendee)).get(index);
+    }
+
+    /**
+     * Register the given attendee for the given Event iff it still has a free seat and the attendee is not already
+     * attending it.
+     *
+     * @param attendee The UUID of the attendee to be registered.
+     * @param event The Event to register the attendee for.
+     * @param attendeeIndex The index of the attendees of the schedule of events.
+     * @return true iff the attendee was registered.
+     */
+    public boolean registerAttendee(UUID attendee, Event event, EventAttendeeIndex attendeeIndex) {
+        if (!event.reserveSeat(attendee)) {
+            return false;
+        }
+        attendeeIndex.addAttendee(attendee, event);
+        return true;
+    }
+
+    /**
+     * Remove the given attendee from the given Event.
+     *
+     * @param attendee The UUID of the attendee to be removed.
+     * @param event The Event to remove the attendee from.
+     * @param attendeeIndex The index of the attendees of the schedule of events.
+     * @return true iff the attendee was attending the Event.
+     */
+    public boolean removeAttendee(UUID attendee, Event event, EventAttendeeIndex attendeeIndex) {
+        if (!event.removeAttendee(attendee)) {
+            return false;
+        }
+        attendeeIndex.removeAttendee(attendee, event);
+        return true;
     }
 }
@@ -0,0 +1,138 @@
+package backend.systems.events.managers;
+
+import backend.entities.Event;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * An index of the Events in a schedule of events, keyed by room and by speaker and sorted by start time.
+ *
+ * Lets the EventScheduler find the Events in a single room or hosted by a single speaker that overlap a time
+ * interval without scanning the whole schedule.
+ */
+class EventTimeIndex {
+    private final Map<String, Timeline> roomTimelines;
+    private final Map<UUID, Timeline> speakerTimelines;
+
+    /**
+     * Constructs a new EventTimeIndex containing the given Events.
+     * @param events The Events to be indexed.
+     */
+    EventTimeIndex(List<Event> events) {
+        roomTimelines = new HashMap<>();
+        speakerTimelines = new HashMap<>();
+        for (Event event: events) {
+            addEvent(event);
+        }
+    }
+
+    /**
+     * Adds an Event to the index under its room and each of its speakers.
+     * @param event The Event to be added.
+     */
+    public void addEvent(Event event) {
+        roomTimelines.computeIfAbsent(event.getRoom(), room -> new Timeline()).add(event);
+        for (UUID speaker: event.getSpeakers()) {
+            speakerTimelines.computeIfAbsent(speaker, id -> new Timeline()).add(event);
+        }
+    }
+
+    /**
+     * Removes an Event from the index.
+     *
+     * Must be called before the Event's start time is changed.
+     *
+     * @param event The Event to be removed.
+     */
+    public void removeEvent(Event event) {
+        Timeline roomTimeline = roomTimelines.get(event.getRoom());
+        if (roomTimeline != null) {
+            roomTimeline.remove(event);
+        }
+        for (UUID speaker: event.getSpeakers()) {
+            Timeline speakerTimeline = speakerTimelines.get(speaker);
+            if (speakerTimeline != null) {
+                speakerTimeline.remove(event);
+            }
+        }
+    }
+
+    /**
+     * Returns a new list of the Events in the given room that overlap with a specified time interval.
+     *
+     * The end points of the interval are not included.
+     *
+     * @param room The room of the Events.
+     * @param start The start time of the interval.
+     * @param end The end time of the interval.
+     * @return A new list of Events in the given room that fall in the given time interval.
+     */
+    public List<Event> retrieveRoomEventsByTimeInterval(String room, LocalTime start, LocalTime end) {
+        Timeline timeline = roomTimelines.get(room);
+        return timeline == null ? new ArrayList<>() : timeline.overlapping(start, end);
+    }
+
+    /**
+     * Returns a new list of the Events hosted by the given speaker that overlap with a specified time interval.
+     *
+     * The end points of the interval are not included.
+     *
+     * @param speaker The UUID of the Speaker speaking at the Events.
+     * @param start The start time of the interval.
+     * @param end The end time of the interval.
+     * @return A new list of Events hosted by the given speaker that fall in the given time interval.
+     */
+    public List<Event> retrieveSpeakerEventsByTimeInterval(UUID speaker, LocalTime start, LocalTime end) {
+        Timeline timeline = speakerTimelines.get(speaker);
+        return timeline == null ? new ArrayList<>() : timeline.overlapping(start, end);
+    }
+
+    /**
+     * The Events of a single room or speaker, sorted by start time, along with the longest span of any
+     * Event added so far.
+     */
+    private static class Timeline {
+        private final TreeMap<LocalTime, List<Event>> eventsByStart = new TreeMap<>();
+        private long longestSpan = 0;
+
+        private void add(Event event) {
+            eventsByStart.computeIfAbsent(event.getStartTime(), time -> new ArrayList<>()).add(event);
+            longestSpan = Math.max(longestSpan, spanOf(event));
+        }
+
+        private void remove(Event event) {
+            List<Event> bucket = eventsByStart.get(event.getStartTime());
+            if (bucket != null) {
+                bucket.remove(event);
+                if (bucket.isEmpty()) {
+                    eventsByStart.remove(event.getStartTime());
+                }
+            }
+        }
+
+        private List<Event> overlapping(LocalTime start, LocalTime end) {
+            // Any Event ending after start must have started within longestSpan minutes of it.
+            LocalTime earliest = start.minusMinutes(longestSpan);
+            // Fall back to every Event starting before end when the window crosses midnight.
+            SortedMap<LocalTime, List<Event>> candidates = earliest.isAfter(start) || earliest.isAfter(end) ?
+                    eventsByStart.headMap(end) : eventsByStart.subMap(earliest, end);
+
+            List<Event> matchedEvents = new ArrayList<>();
+            for (List<Event> bucket: candidates.values()) {
+                for (Event event: bucket) {
+                    if (event.getEndTime().compareTo(start) > 0) {
+                        matchedEvents.add(event);
+                    }
+                }
+            }
+            return matchedEvents;
+        }
+
+        private static long spanOf(Event event) {
+            long span = Duration.between(event.getStartTime(), event.getEndTime()).toMinutes();
+            return span < 0 ? span + Duration.ofDays(1).toMinutes() : span;
+        }
+    }
+}
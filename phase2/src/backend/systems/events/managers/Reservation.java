@@ -0,0 +1,16 @@
+package backend.systems.events.managers;
+
+/** Enumeration set for the outcome of reserving a seat at an Event.
+ */
+public enum Reservation {
+    /** The attendee was signed up for the Event. */
+    SIGNED_UP,
+    /** The Event was full, so the attendee was added to the end of its waitlist. */
+    WAITLISTED,
+    /** The Event has no free seat and none is held for the attendee, so the attendee was not signed up. */
+    FULL,
+    /** The attendee is already attending or waiting for the Event. */
+    REFUSED,
+    /** No Event has the given ID, for instance because it was cancelled. */
+    NOT_FOUND
+}
@@ -0,0 +1,81 @@
+package backend.systems.events.managers;
+
+import backend.entities.EventView;
+
+import java.util.UUID;
+
+/**
+ * A conflict found while scheduling a batch of Events, between an Event of the batch and either an earlier Event of
+ * the batch or an Event already in the schedule.
+ *
+ * Two Events conflict if they overlap and share either a room or a speaker.
+ */
+public final class ScheduleConflict {
+    private final int index;
+    private final EventView event;
+    private final int conflictingIndex;
+    private final EventView conflictingEvent;
+    private final String room;
+    private final UUID speaker;
+
+    /**
+     * Constructs a new ScheduleConflict.
+     * @param index The index of the Event in the batch.
+     * @param event The view of the Event.
+     * @param conflictingIndex The index in the batch of the conflicting Event, or -1 if it is already scheduled.
+     * @param conflictingEvent The view of the conflicting Event.
+     * @param room The room the Events share, or null if they share a speaker.
+     * @param speaker The speaker the Events share, or null if they share a room.
+     */
+    ScheduleConflict(int index, EventView event, int conflictingIndex, EventView conflictingEvent, String room,
+                     UUID speaker) {
+        this.index = index;
+        this.event = event;
+        this.conflictingIndex = conflictingIndex;
+        this.conflictingEvent = conflictingEvent;
+        this.room = room;
+        this.speaker = speaker;
+    }
+
+    /**
+     * Returns the index of the Event in the batch.
+     * @return The index of the Event.
+     */
+    public int getIndex() { return index; }
+
+    /**
+     * Returns the view of the Event in the batch.
+     * @return The view of the Event.
+     */
+    public EventView getEvent() { return event; }
+
+    /**
+     * Returns the index in the batch of the conflicting Event, which is always less than getIndex.
+     * @return The index of the conflicting Event, or -1 if it is already scheduled.
+     */
+    public int getConflictingIndex() { return conflictingIndex; }
+
+    /**
+     * Returns true iff the conflicting Event is already in the schedule rather than in the batch.
+     * @return Whether the conflicting Event is already scheduled.
+     */
+    public boolean isWithScheduledEvent() { return conflictingIndex < 0; }
+
+    /**
+     * Returns the view of the conflicting Event.
+     * @return The view of the conflicting Event.
+     */
+    public EventView getConflictingEvent() { return conflictingEvent; }
+
+    /**
+     * Returns the room the two Events share.
+     * @return The shared room, or null if the Events share a speaker instead.
+     */
+    public String getRoom() { return room; }
+
+    /**
+     * Returns the speaker the two Events share.
+     * @return The UUID of the shared speaker, or null if the Events share a room instead.
+     */
+    public UUID getSpeaker() { return speaker; }
+}
@@ -0,0 +1,50 @@
+package backend.systems.events.managers;
+
+import java.util.*;
+
+/**
+ * A plan giving a room and a start time to each of a list of EventRequirements that could be placed, which can be
+ * scheduled with EventManager.scheduleEvents.
+ */
+public final class SchedulePlan {
+    private final List<EventDetails> events;
+    private final List<Integer> placed;
+    private final List<Integer> unplaced;
+
+    /**
+     * Constructs a new SchedulePlan.
+     * @param events The details of the placed Events, in the order of their requirements.
+     * @param placed The index of the requirements of each placed Event.
+     * @param unplaced The indexes of the requirements that could not be placed.
+     */
+    SchedulePlan(List<EventDetails> events, List<Integer> placed, List<Integer> unplaced) {
+        this.events = Collections.unmodifiableList(new ArrayList<>(events));
+        this.placed = Collections.unmodifiableList(new ArrayList<>(placed));
+        this.unplaced = Collections.unmodifiableList(new ArrayList<>(unplaced));
+    }
+
+    /**
+     * Returns the details of the placed Events, including their rooms and start times.
+     * @return An unmodifiable list of the details of the placed Events, in the order of their requirements.
+     */
+    public List<EventDetails> getEvents() { return events; }
+
+    /**
+     * Returns the index of the requirements of each placed Event, so that getEvents().get(i) was placed for the
+     * requirements at index getPlaced().get(i).
+     * @return An unmodifiable list of the indexes of the placed requirements.
+     */
+    public List<Integer> getPlaced() { return placed; }
+
+    /**
+     * Returns the indexes of the requirements that could not be placed.
+     * @return An unmodifiable list of the indexes of the requirements that could not be placed.
+     */
+    public List<Integer> getUnplaced() { return unplaced; }
+
+    /**
+     * Returns the number of Events that could be placed.
+     * @return The number of placed Events.
+     */
+    public int getNumPlaced() { return events.size(); }
+}
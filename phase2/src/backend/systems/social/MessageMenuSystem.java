@@ -1,5 +1,6 @@
 package backend.systems.social;
 
+import backend.entities.MessageView;
 import backend.entities.Statuses;
 import backend.systems.MenuSystem;
 import backend.entities.users.Perms;
@@ -42,7 +43,7 @@ public abstract class MessageMenuSystem extends MenuSystem {
     protected void processBaseInput(int option) {
         switch (option) {
             case(1):
-                viewMessages(messageManager.getInboxData(userManager.getLoggedInUserUUID()), Statuses.READ);
+                viewMessages(messageManager.getInboxViews(userManager.getLoggedInUserUUID()), Statuses.READ);
                 break;
             case(2):
                 viewMessagesByStatus();
@@ -92,11 +93,7 @@ public abstract class MessageMenuSystem extends MenuSystem {
 
     private List<UUID> askForUsernames() {
         String usernames = askForString("User(s)");
-        String[] recipients = usernames.split(",");
-        ArrayList<UUID> recipientUUIDs = new ArrayList<>();
-        for (String recipient : recipients) {
-            recipientUUIDs.add(userManager.getUUIDWithUsername(recipient));
-        }
+        List<UUID> recipientUUIDs = userManager.getUUIDsWithUsernames(Arrays.asList(usernames.split(",")));
 
         if (recipientUUIDs.contains(null)) {
             inboxUI.displayError("A username you entered does not exist.");
@@ -115,7 +112,7 @@ public abstract class MessageMenuSystem extends MenuSystem {
         return recipientUUIDs;
     }
 
-    private void viewMessages(List<Map<String, Object>> inboxData, Statuses status) {
+    private void viewMessages(List<MessageView> inboxData, Statuses status) {
         int index = selectMessage(inboxData);
         if (index != -1) {
             inboxUI.displayMessage(inboxData.get(index));
@@ -127,7 +124,7 @@ public abstract class MessageMenuSystem extends MenuSystem {
         int index = processStatusInput();
         List<Statuses> status = Collections.singletonList(Statuses.values()[index]);
         Statuses targetStatus = messageManager.getStatusOverwrite(status.get(0));
-        viewMessages(messageManager.getInboxData(userManager.getLoggedInUserUUID(), status), targetStatus);
+        viewMessages(messageManager.getInboxViews(userManager.getLoggedInUserUUID(), status), targetStatus);
     }
 
     private List<String> statusesToString(Statuses[] statuses) {
@@ -149,12 +146,12 @@ public abstract class MessageMenuSystem extends MenuSystem {
     private void setMessageStates() {
        int index = processStatusInput();
        List<Statuses> statuses = Arrays.asList(Statuses.values());
-       viewMessages(messageManager.getInboxData(userManager.getLoggedInUserUUID(), statuses), Statuses.values()[index]);
+       viewMessages(messageManager.getInboxViews(userManager.getLoggedInUserUUID(), statuses), Statuses.values()[index]);
        inboxUI.displayStatusChanged(Statuses.values()[index]);
     }
 
     private void processMessageDeletion() {
-        List<Map<String, Object>> inboxData = messageManager.getInboxData(userManager.getLoggedInUserUUID());
+        List<MessageView> inboxData = messageManager.getInboxViews(userManager.getLoggedInUserUUID());
         int index = selectMessage(inboxData);
         if (index != -1) {
             messageManager.deleteMessage(userManager.getLoggedInUserUUID(), index);
@@ -162,7 +159,7 @@ public abstract class MessageMenuSystem extends MenuSystem {
         }
     }
 
-    private int selectMessage(List<Map<String, Object>> inboxData) {
+    private int selectMessage(List<MessageView> inboxData) {
         inboxUI.displayInbox(inboxData);
         if (inboxData.isEmpty()) {
             return -1;
@@ -1,14 +1,12 @@
 package backend.systems.social;
 
-import backend.systems.events.managers.EventManager;
+import backend.systems.conference.ConferenceCatalog;
 import backend.systems.social.managers.MessageManager;
 import backend.systems.usermangement.managers.UserManager;
 import utility.RunnableSystem;
 import utility.Web.WebOpener;
 import utility.Web.WebValidator;
 
-import java.util.List;
-
 /**
  * The class that constructs new message subsystems and a linker.
  * We use this factory to further encapsulate what class is used to implement
@@ -21,18 +19,18 @@ class SocialSubSystemsFactory {
      * @param systemName the name of the subsystem
      * @param userManager the user manager used by the subsystem
      * @param messageManager the message manager used by the subsystem
-     * @param eventManagers the event managers used by the subsystem
+     * @param conferenceCatalog the catalog of the conferences used by the subsystem
      * @return a newly constructed message subsystem
      */
     public RunnableSystem createMessageSubSystem(String systemName, UserManager userManager, MessageManager messageManager,
-                                                 List<EventManager> eventManagers){
+                                                 ConferenceCatalog conferenceCatalog){
         switch (systemName){
             case "organizer":
                 return new OrganizerMessageMenuSystem(userManager, messageManager);
             case "regular":
                 return new RegularMessageMenuSystem(userManager, messageManager);
             case "speaker":
-                return new SpeakerMessageMenuSystem(userManager, messageManager, eventManagers);
+                return new SpeakerMessageMenuSystem(userManager, messageManager, conferenceCatalog);
             case "linker":
                 return new UserLinkSystem(new WebValidator(), new WebOpener(), userManager);
             default:
@@ -1,7 +1,7 @@
 package backend.systems.social;
 import backend.systems.MenuSystem;
 import backend.systems.social.managers.MessageManager;
-import backend.systems.events.managers.EventManager;
+import backend.systems.conference.ConferenceCatalog;
 import backend.systems.usermangement.managers.UserManager;
 import frontend.MenuUI;
 import utility.RunnableSystem;
@@ -19,7 +19,7 @@ import static backend.entities.users.Perms.*;
 public class SocialSystem extends MenuSystem {
     private final MessageManager messageManager;
     private final UserManager userManager;
-    private final List<EventManager> eventManagers;
+    private final ConferenceCatalog conferenceCatalog;
     private final Map<Integer, RunnableSystem> subSystems;
     private final MenuUI menuUI;
 
@@ -27,13 +27,13 @@ public class SocialSystem extends MenuSystem {
      * Constructs a new social system with the information below.
      * @param messageManager The message manager used by the system.
      * @param userManager The user managed used by the system.
-     * @param eventManagers The list of event managers used by the system.
+     * @param conferenceCatalog The catalog of the conferences used by the system.
      */
     public SocialSystem(MessageManager messageManager, UserManager userManager,
-                        List<EventManager> eventManagers) {
+                        ConferenceCatalog conferenceCatalog) {
         this.messageManager = messageManager;
         this.userManager = userManager;
-        this.eventManagers = eventManagers;
+        this.conferenceCatalog = conferenceCatalog;
         this.subSystems = new HashMap<>();
         this.menuUI = new MenuUI();
         initializeSubSystems();
@@ -48,21 +48,21 @@ public class SocialSystem extends MenuSystem {
 
         if (userManager.loggedInHasPermission(CAN_SCHEDULE)) {
             subSystems.put(subSystems.size() + 1, socialSubSystemsFactory.createMessageSubSystem("organizer",
-                    userManager, messageManager, eventManagers));
+                    userManager, messageManager, conferenceCatalog));
         }
         else if (userManager.loggedInHasPermission(CAN_SPEAK_AT_TALK)) {
             subSystems.put(subSystems.size() + 1, socialSubSystemsFactory.createMessageSubSystem("speaker", userManager,
-                    messageManager, eventManagers));
+                    messageManager, conferenceCatalog));
         }
 
         // Allocate a default message subsystem
         if (subSystems.size() == 0) subSystems.put(subSystems.size() + 1,
                 socialSubSystemsFactory.createMessageSubSystem("regular",
-                        userManager, messageManager, eventManagers));
+                        userManager, messageManager, conferenceCatalog));
 
         subSystems.put(subSystems.size() + 1,
                 socialSubSystemsFactory.createMessageSubSystem("linker", userManager, messageManager
-                        , eventManagers));
+                        , conferenceCatalog));
     }
 
     /**
@@ -1,11 +1,15 @@
 package backend.systems.social;
 
+import backend.entities.EventView;
+import backend.entities.MessageView;
 import backend.entities.users.Perms;
+import backend.systems.conference.ConferenceCatalog;
 import backend.systems.events.managers.EventManager;
 import backend.systems.usermangement.managers.UserManager;
 import backend.systems.social.managers.MessageManager;
 import utility.inputprocessors.InputProcessor;
 import utility.inputprocessors.OptionInputProcessor;
+import utility.filehandling.ManagerHandle;
 
 import java.util.*;
 
@@ -13,18 +17,18 @@ import java.util.*;
  * An extension of MessageMenuSystem responsible for the message menu available to speakers.
  */
 class SpeakerMessageMenuSystem extends MessageMenuSystem {
-    private List<EventManager> eventManagers;
+    private ConferenceCatalog conferenceCatalog;
 
     /**
      * Creates a SpeakerMessageMenuSystem object.
      * @param userManager A UserManager object that is already instantiated at the point this is instantiated.
      * @param messageManager A MessageManager object that is already instantiated at the point this is instantiated.
-     * @param eventManagers A EventManager object that is already instantiated at the point this is instantiated.
+     * @param conferenceCatalog The catalog of the conferences, whose EventManagers are loaded when first needed.
      */
     public SpeakerMessageMenuSystem(UserManager userManager, MessageManager messageManager,
-                                    List<EventManager> eventManagers) {
+                                    ConferenceCatalog conferenceCatalog) {
         super(userManager, messageManager, 7);
-        this.eventManagers = eventManagers;
+        this.conferenceCatalog = conferenceCatalog;
     }
 
     /**
@@ -67,9 +71,9 @@ class SpeakerMessageMenuSystem extends MessageMenuSystem {
     }
 
     private void processMessageToTalks() {
-        List<Map<String, Object>> eventsData = new ArrayList<>();
-        for (EventManager eventManager: eventManagers){
-            eventsData.addAll(eventManager.retrieveEventsBySpeaker(userManager.getLoggedInUserUUID()));
+        List<EventView> eventsData = new ArrayList<>();
+        for (ManagerHandle<EventManager> eventManager: conferenceCatalog.getEventManagers()){
+            eventsData.addAll(eventManager.get().retrieveEventViewsBySpeaker(userManager.getLoggedInUserUUID()));
         }
 
         if (eventsData.isEmpty()) {
@@ -87,8 +91,8 @@ class SpeakerMessageMenuSystem extends MessageMenuSystem {
     private void sendMessageToTalks(List<String> events, String msg, String title) {
         List<UUID> attendeeUUIDs = new ArrayList<>();
         for (String event : events) {
-            for(EventManager eventManager: eventManagers){
-                attendeeUUIDs.addAll(eventManager.retrieveAttendees(event, userManager.getLoggedInUserUUID()));
+            for(ManagerHandle<EventManager> eventManager: conferenceCatalog.getEventManagers()){
+                attendeeUUIDs.addAll(eventManager.get().retrieveAttendees(event, userManager.getLoggedInUserUUID()));
             }
         }
         if (attendeeUUIDs.isEmpty()) inboxUI.displayError("No one is attending your talks!");
@@ -101,11 +105,11 @@ class SpeakerMessageMenuSystem extends MessageMenuSystem {
     }
 
     private void replyToAttendee() {
-        List<Map<String, Object>> messagesData = messageManager.getInboxData(userManager.getLoggedInUserUUID());
+        List<MessageView> messagesData = messageManager.getInboxViews(userManager.getLoggedInUserUUID());
         int index = processMessages(messagesData) - 1;
 
         if(index != -1) {
-            UUID replierUUID = (UUID)messagesData.get(index).get("sender");
+            UUID replierUUID = messagesData.get(index).getSender();
             if(userManager.hasPermission(replierUUID, Perms.CAN_BE_MESSAGED)) {
                 String message = processMessageBody();
                 String title = processTitle();
@@ -118,7 +122,7 @@ class SpeakerMessageMenuSystem extends MessageMenuSystem {
         }
     }
 
-    private int processMessages(List<Map<String, Object>> messagesData) {
+    private int processMessages(List<MessageView> messagesData) {
         inboxUI.displayInbox(messagesData);
         if(!messagesData.isEmpty()) {
             InputProcessor<Integer> optionInputProcessor = new OptionInputProcessor(input, messagesData.size());
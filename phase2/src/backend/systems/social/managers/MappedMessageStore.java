@@ -0,0 +1,540 @@
+package backend.systems.social.managers;
+
+import backend.entities.Message;
+import backend.entities.MessageContent;
+import backend.entities.MessageView;
+import backend.entities.Statuses;
+import utility.filehandling.BinaryReader;
+import utility.filehandling.BinaryWriter;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * A store of messages kept in a memory-mapped, append-only segment file instead of on the heap.
+ *
+ * The content of a message is written to the file once, followed by one small record for every recipient's copy
+ * of it. The copies in each inbox, and the copies each user has sent, are linked together through the file, so the
+ * heap only holds the first and last record of each user's inbox and outbox. Deleting a message marks its record
+ * as deleted rather than removing it.
+ *
+ * Only the records before the saved end of the file are part of the store's saved state. Anything appended after
+ * the last save is overwritten when the changes since then are replayed.
+ */
+class MappedMessageStore implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int REGION_SIZE = 16 * 1024 * 1024;
+    private static final int HEADER_SIZE = 8;
+    private static final int SEGMENT_MAGIC = 0x54434D53;
+    private static final int CONTENT_CACHE_SIZE = 256;
+
+    private static final byte CONTENT_RECORD = 1;
+    private static final byte COPY_RECORD = 2;
+    private static final byte DELETED = -1;
+    private static final long NONE = -1;
+
+    private static final int COPY_CONTENT = 1;
+    private static final int COPY_RECIPIENT = 9;
+    private static final int COPY_STATUS = 25;
+    private static final int COPY_NEXT_IN_INBOX = 26;
+    private static final int COPY_NEXT_IN_OUTBOX = 34;
+    private static final int COPY_RECORD_SIZE = 42;
+
+    private final String segmentFilePath;
+    private long end;
+    private final Map<UUID, Mailbox> mailboxes;
+    private transient FileChannel channel;
+    private transient List<MappedByteBuffer> regions;
+    private transient Map<UUID, Long> contentCache;
+
+    /**
+     * Constructs an empty store, replacing any segment file already at segmentFilePath.
+     * @param segmentFilePath The file path of the segment file.
+     */
+    MappedMessageStore(String segmentFilePath) {
+        this(segmentFilePath, HEADER_SIZE, new HashMap<>());
+        try {
+            channel.truncate(0);
+            region(0).putInt(0, SEGMENT_MAGIC);
+            region(0).putInt(4, 1);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create the message segment " + segmentFilePath, e);
+        }
+    }
+
+    private MappedMessageStore(String segmentFilePath, long end, Map<UUID, Mailbox> mailboxes) {
+        this.segmentFilePath = segmentFilePath;
+        this.end = end;
+        this.mailboxes = mailboxes;
+        open();
+    }
+
+    private void open() {
+        try {
+            channel = new RandomAccessFile(segmentFilePath, "rw").getChannel();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open the message segment " + segmentFilePath, e);
+        }
+        regions = new ArrayList<>();
+        contentCache = new LinkedHashMap<UUID, Long>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+                return size() > CONTENT_CACHE_SIZE;
+            }
+        };
+    }
+
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        force();
+        out.defaultWriteObject();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        open();
+    }
+
+    /**
+     * Writes where this store's segment file is and the first and last records of every user's inbox and outbox.
+     * @param out The writer to write to.
+     * @throws IOException if the store could not be written.
+     */
+    synchronized void writeTo(BinaryWriter out) throws IOException {
+        force();
+        out.writeString(segmentFilePath);
+        out.writeLong(end);
+        out.writeInt(mailboxes.size());
+        for (Map.Entry<UUID, Mailbox> entry : mailboxes.entrySet()) {
+            Mailbox mailbox = entry.getValue();
+            out.writeUUID(entry.getKey());
+            out.writeBoolean(mailbox.hasInbox);
+            out.writeLong(mailbox.inboxHead);
+            out.writeLong(mailbox.inboxTail);
+            out.writeInt(mailbox.inboxLength);
+            out.writeLong(mailbox.outboxHead);
+            out.writeLong(mailbox.outboxTail);
+            out.writeInt(mailbox.outboxLength);
+        }
+    }
+
+    /**
+     * Reads a store written by writeTo, and reopens its segment file.
+     * @param in The reader to read from.
+     * @return The store that was read.
+     * @throws IOException if the store could not be read.
+     */
+    static MappedMessageStore readFrom(BinaryReader in) throws IOException {
+        String segmentFilePath = in.readString();
+        long end = in.readLong();
+        int numMailboxes = in.readInt();
+        Map<UUID, Mailbox> mailboxes = new HashMap<>();
+        for (int i = 0; i < numMailboxes; i++) {
+            UUID user = in.readUUID();
+            Mailbox mailbox = new Mailbox();
+            mailbox.hasInbox = in.readBoolean();
+            mailbox.inboxHead = in.readLong();
+            mailbox.inboxTail = in.readLong();
+            mailbox.inboxLength = in.readInt();
+            mailbox.outboxHead = in.readLong();
+            mailbox.outboxTail = in.readLong();
+            mailbox.outboxLength = in.readInt();
+            mailboxes.put(user, mailbox);
+        }
+        return new MappedMessageStore(segmentFilePath, end, mailboxes);
+    }
+
+    /**
+     * Writes every record appended so far through to the segment file.
+     */
+    synchronized void force() {
+        for (MappedByteBuffer region : regions) {
+            if (region != null) {
+                region.force();
+            }
+        }
+    }
+
+    /**
+     * Returns true iff the user has an inbox.
+     * @param user The UUID of the user.
+     * @return Whether the user has an inbox.
+     */
+    synchronized boolean hasInbox(UUID user) {
+        Mailbox mailbox = mailboxes.get(user);
+        return mailbox != null && mailbox.hasInbox;
+    }
+
+    /**
+     * Gives the user an empty inbox, if they do not already have one.
+     * @param user The UUID of the user.
+     * @return true iff the user did not already have an inbox.
+     */
+    synchronized boolean addInbox(UUID user) {
+        Mailbox mailbox = mailboxes.computeIfAbsent(user, id -> new Mailbox());
+        boolean added = !mailbox.hasInbox;
+        mailbox.hasInbox = true;
+        return added;
+    }
+
+    /**
+     * Returns true iff the user's inbox holds a message that has not been deleted.
+     * @param user The UUID of the user.
+     * @return Whether the user has any messages.
+     */
+    synchronized boolean hasMail(UUID user) {
+        Mailbox mailbox = mailboxes.get(user);
+        if (mailbox == null) {
+            return false;
+        }
+        long copy = mailbox.inboxHead;
+        for (int i = 0; i < mailbox.inboxLength; i++) {
+            if (readByte(copy + COPY_STATUS) != DELETED) {
+                return true;
+            }
+            copy = readLong(copy + COPY_NEXT_IN_INBOX);
+        }
+        return false;
+    }
+
+    /**
+     * Appends a copy of a message to the end of its recipient's inbox and its sender's outbox.
+     *
+     * The content is only written again if it is not one of the contents written most recently.
+     * @param message The copy of the message to store.
+     */
+    synchronized void deliver(Message message) {
+        MessageContent content = message.getContent();
+        Long contentOffset = contentCache.get(content.getMsgID());
+        if (contentOffset == null) {
+            contentOffset = appendContent(content);
+            contentCache.put(content.getMsgID(), contentOffset);
+        }
+        appendCopy(contentOffset, content.getSender(), message.getRecipient(), message.getStatus());
+    }
+
+    /**
+     * Appends every message in the given inboxes, writing the content of each message only once.
+     * @param inboxes The inboxes to store, mapping each recipient to their messages in order.
+     */
+    synchronized void addAll(Map<UUID, List<Message>> inboxes) {
+        Map<UUID, Long> contentOffsets = new HashMap<>();
+        for (Map.Entry<UUID, List<Message>> inbox : inboxes.entrySet()) {
+            addInbox(inbox.getKey());
+            for (Message message : inbox.getValue()) {
+                MessageContent content = message.getContent();
+                Long contentOffset = contentOffsets.get(content.getMsgID());
+                if (contentOffset == null) {
+                    contentOffset = appendContent(content);
+                    contentOffsets.put(content.getMsgID(), contentOffset);
+                }
+                appendCopy(contentOffset, content.getSender(), message.getRecipient(), message.getStatus());
+            }
+        }
+    }
+
+    /**
+     * Gets the messages in a user's inbox that have one of the given statuses, oldest first.
+     * @param user The UUID of the user.
+     * @param statuses The statuses of the messages to get.
+     * @return The views of the messages.
+     */
+    synchronized List<MessageView> getInboxViews(UUID user, List<Statuses> statuses) {
+        List<MessageView> inboxData = new ArrayList<>();
+        Mailbox mailbox = mailboxes.get(user);
+        long copy = mailbox.inboxHead;
+        for (int i = 0; i < mailbox.inboxLength; i++) {
+            byte status = readByte(copy + COPY_STATUS);
+            if (status != DELETED && statuses.contains(Statuses.values()[status])) {
+                inboxData.add(readMessage(copy).toView());
+            }
+            copy = readLong(copy + COPY_NEXT_IN_INBOX);
+        }
+        return inboxData;
+    }
+
+    /**
+     * Gets the messages a user has sent that have not been deleted by their recipient.
+     * @param user The UUID of the user.
+     * @return The views of the messages.
+     */
+    synchronized List<MessageView> getSentViews(UUID user) {
+        List<MessageView> sentData = new ArrayList<>();
+        Mailbox mailbox = mailboxes.get(user);
+        if (mailbox == null) {
+            return sentData;
+        }
+        long copy = mailbox.outboxHead;
+        for (int i = 0; i < mailbox.outboxLength; i++) {
+            if (readByte(copy + COPY_STATUS) != DELETED) {
+                sentData.add(readMessage(copy).toView());
+            }
+            copy = readLong(copy + COPY_NEXT_IN_OUTBOX);
+        }
+        return sentData;
+    }
+
+    /**
+     * Gets the position of a copy of a message in a user's inbox.
+     * @param user The UUID of the user.
+     * @param msgID The ID of the message.
+     * @param copyNumber How many copies of the same message come before the wanted one in the inbox.
+     * @return The index of the copy among the messages in the inbox, or -1 if it is not there.
+     */
+    synchronized int indexOf(UUID user, UUID msgID, int copyNumber) {
+        Mailbox mailbox = mailboxes.get(user);
+        if (mailbox == null) {
+            return -1;
+        }
+        long copy = mailbox.inboxHead;
+        int index = 0;
+        int remaining = copyNumber;
+        for (int i = 0; i < mailbox.inboxLength; i++) {
+            if (readByte(copy + COPY_STATUS) != DELETED) {
+                long content = readLong(copy + COPY_CONTENT);
+                if (readUUID(content + 1).equals(msgID) && remaining-- == 0) {
+                    return index;
+                }
+                index++;
+            }
+            copy = readLong(copy + COPY_NEXT_IN_INBOX);
+        }
+        return -1;
+    }
+
+    /**
+     * Gets how many copies of the message at an index of a user's inbox come before it in the inbox.
+     * @param user The UUID of the user.
+     * @param index The index of the message among the messages in the inbox.
+     * @return The number of earlier copies with the same message ID.
+     */
+    synchronized int copyNumberAt(UUID user, int index) {
+        Mailbox mailbox = mailboxes.get(user);
+        UUID msgID = readUUID(readLong(copyAt(user, index) + COPY_CONTENT) + 1);
+        long copy = mailbox.inboxHead;
+        int remaining = index;
+        int copyNumber = 0;
+        for (int i = 0; i < mailbox.inboxLength && remaining > 0; i++) {
+            if (readByte(copy + COPY_STATUS) != DELETED) {
+                if (readUUID(readLong(copy + COPY_CONTENT) + 1).equals(msgID)) {
+                    copyNumber++;
+                }
+                remaining--;
+            }
+            copy = readLong(copy + COPY_NEXT_IN_INBOX);
+        }
+        return copyNumber;
+    }
+
+    /**
+     * Deletes the message at an index of a user's inbox.
+     * @param user The UUID of the user.
+     * @param index The index of the message among the messages in the inbox.
+     * @return The ID of the deleted message.
+     */
+    synchronized UUID delete(UUID user, int index) {
+        long copy = copyAt(user, index);
+        writeByte(copy + COPY_STATUS, DELETED);
+        return readUUID(readLong(copy + COPY_CONTENT) + 1);
+    }
+
+    /**
+     * Changes the status of the message at an index of a user's inbox.
+     * @param user The UUID of the user.
+     * @param index The index of the message among the messages in the inbox.
+     * @param status The new status of the message.
+     * @return The ID of the changed message.
+     */
+    synchronized UUID setStatus(UUID user, int index, Statuses status) {
+        long copy = copyAt(user, index);
+        writeByte(copy + COPY_STATUS, (byte) status.ordinal());
+        return readUUID(readLong(copy + COPY_CONTENT) + 1);
+    }
+
+    private long copyAt(UUID user, int index) {
+        Mailbox mailbox = mailboxes.get(user);
+        long copy = mailbox.inboxHead;
+        int remaining = index;
+        for (int i = 0; i < mailbox.inboxLength; i++) {
+            if (readByte(copy + COPY_STATUS) != DELETED) {
+                if (remaining == 0) {
+                    return copy;
+                }
+                remaining--;
+            }
+            copy = readLong(copy + COPY_NEXT_IN_INBOX);
+        }
+        throw new IndexOutOfBoundsException("Index: " + index);
+    }
+
+    private Message readMessage(long copy) {
+        long content = readLong(copy + COPY_CONTENT);
+        UUID msgID = readUUID(content + 1);
+        UUID sender = readUUID(content + 17);
+        LocalTime timeSent = LocalTime.ofNanoOfDay(readLong(content + 33));
+        long position = content + 41;
+        String title = readString(position);
+        position += 4 + Math.max(0, readInt(position));
+        String body = readString(position);
+
+        Message message = new Message(new MessageContent(msgID, sender, body, timeSent, title),
+                readUUID(copy + COPY_RECIPIENT));
+        message.setStatus(Statuses.values()[readByte(copy + COPY_STATUS)]);
+        return message;
+    }
+
+    private long appendContent(MessageContent content) {
+        byte[] title = encode(content.getTitle());
+        byte[] body = encode(content.getBody());
+        int length = 41 + 4 + (title == null ? 0 : title.length) + 4 + (body == null ? 0 : body.length);
+        long record = allocate(length);
+        writeByte(record, CONTENT_RECORD);
+        writeUUID(record + 1, content.getMsgID());
+        writeUUID(record + 17, content.getSender());
+        writeLong(record + 33, content.getTimeSent().toNanoOfDay());
+        long position = writeBytes(record + 41, title);
+        writeBytes(position, body);
+        return record;
+    }
+
+    private void appendCopy(long contentOffset, UUID sender, UUID recipient, Statuses status) {
+        Mailbox inbox = mailboxes.get(recipient);
+        if (inbox == null || !inbox.hasInbox) {
+            throw new IllegalStateException("No inbox for " + recipient);
+        }
+        Mailbox outbox = mailboxes.computeIfAbsent(sender, id -> new Mailbox());
+
+        long copy = allocate(COPY_RECORD_SIZE);
+        writeByte(copy, COPY_RECORD);
+        writeLong(copy + COPY_CONTENT, contentOffset);
+        writeUUID(copy + COPY_RECIPIENT, recipient);
+        writeByte(copy + COPY_STATUS, (byte) status.ordinal());
+        writeLong(copy + COPY_NEXT_IN_INBOX, NONE);
+        writeLong(copy + COPY_NEXT_IN_OUTBOX, NONE);
+
+        if (inbox.inboxLength == 0) {
+            inbox.inboxHead = copy;
+        } else {
+            writeLong(inbox.inboxTail + COPY_NEXT_IN_INBOX, copy);
+        }
+        inbox.inboxTail = copy;
+        inbox.inboxLength++;
+
+        if (outbox.outboxLength == 0) {
+            outbox.outboxHead = copy;
+        } else {
+            writeLong(outbox.outboxTail + COPY_NEXT_IN_OUTBOX, copy);
+        }
+        outbox.outboxTail = copy;
+        outbox.outboxLength++;
+    }
+
+    private long allocate(int length) {
+        if (length > REGION_SIZE) {
+            throw new IllegalArgumentException("Message is too large to store");
+        }
+        long record = end;
+        if (record / REGION_SIZE != (record + length - 1) / REGION_SIZE) {
+            record = (record / REGION_SIZE + 1) * REGION_SIZE;
+        }
+        end = record + length;
+        return record;
+    }
+
+    private MappedByteBuffer region(int index) {
+        while (regions.size() <= index) {
+            regions.add(null);
+        }
+        MappedByteBuffer region = regions.get(index);
+        if (region == null) {
+            try {
+                region = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * REGION_SIZE, REGION_SIZE);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not map the message segment " + segmentFilePath, e);
+            }
+            regions.set(index, region);
+        }
+        return region;
+    }
+
+    private byte readByte(long position) {
+        return region((int) (position / REGION_SIZE)).get((int) (position % REGION_SIZE));
+    }
+
+    private int readInt(long position) {
+        return region((int) (position / REGION_SIZE)).getInt((int) (position % REGION_SIZE));
+    }
+
+    private long readLong(long position) {
+        return region((int) (position / REGION_SIZE)).getLong((int) (position % REGION_SIZE));
+    }
+
+    private UUID readUUID(long position) {
+        return new UUID(readLong(position), readLong(position + 8));
+    }
+
+    private String readString(long position) {
+        int length = readInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer source = region((int) (position / REGION_SIZE)).duplicate();
+        source.position((int) (position % REGION_SIZE) + 4);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeByte(long position, byte value) {
+        region((int) (position / REGION_SIZE)).put((int) (position % REGION_SIZE), value);
+    }
+
+    private void writeLong(long position, long value) {
+        region((int) (position / REGION_SIZE)).putLong((int) (position % REGION_SIZE), value);
+    }
+
+    private void writeUUID(long position, UUID value) {
+        writeLong(position, value.getMostSignificantBits());
+        writeLong(position + 8, value.getLeastSignificantBits());
+    }
+
+    private long writeBytes(long position, byte[] bytes) {
+        MappedByteBuffer region = region((int) (position / REGION_SIZE));
+        int offset = (int) (position % REGION_SIZE);
+        if (bytes == null) {
+            region.putInt(offset, -1);
+            return position + 4;
+        }
+        region.putInt(offset, bytes.length);
+        ByteBuffer target = region.duplicate();
+        target.position(offset + 4);
+        target.put(bytes);
+        return position + 4 + bytes.length;
+    }
+
+    private byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The first and last records of a user's inbox and outbox, and how many records each links together.
+     */
+    private static class Mailbox implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private boolean hasInbox;
+        private long inboxHead = NONE;
+        private long inboxTail = NONE;
+        private int inboxLength;
+        private long outboxHead = NONE;
+        private long outboxTail = NONE;
+        private int outboxLength;
+    }
+}
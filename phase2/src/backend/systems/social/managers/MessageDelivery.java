@@ -0,0 +1,94 @@
+package backend.systems.social.managers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A handle on a message that is being delivered to its recipients in the background.
+ *
+ * Every recipient is eventually either delivered to or counted as failed, for instance because they have no inbox.
+ */
+public class MessageDelivery {
+    private final int total;
+    private final AtomicInteger delivered;
+    private final AtomicInteger failed;
+
+    /**
+     * Constructs a MessageDelivery for a message with the given number of recipients.
+     * @param total The number of recipients the message is being delivered to.
+     */
+    MessageDelivery(int total) {
+        this.total = total;
+        this.delivered = new AtomicInteger();
+        this.failed = new AtomicInteger();
+    }
+
+    /**
+     * Records that the message has reached some more recipients.
+     * @param count The number of recipients the message has just been delivered to.
+     */
+    void recordDelivered(int count) {
+        if (count > 0) {
+            delivered.addAndGet(count);
+            notifyIfFinished();
+        }
+    }
+
+    /**
+     * Records that the message could not be delivered to some more recipients.
+     * @param count The number of recipients the message could not be delivered to.
+     */
+    void recordFailed(int count) {
+        if (count > 0) {
+            failed.addAndGet(count);
+            notifyIfFinished();
+        }
+    }
+
+    private void notifyIfFinished() {
+        if (isFinished()) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of recipients the message is being delivered to.
+     * @return The total number of recipients.
+     */
+    public int getTotal() { return total; }
+
+    /**
+     * Gets the number of recipients whose inbox the message has reached so far.
+     * @return The number of recipients delivered to.
+     */
+    public int getDelivered() { return delivered.get(); }
+
+    /**
+     * Gets the number of recipients the message could not be delivered to.
+     * @return The number of failed deliveries.
+     */
+    public int getFailed() { return failed.get(); }
+
+    /**
+     * Returns true iff the message has reached every recipient.
+     * @return Whether the delivery is complete and succeeded for every recipient.
+     */
+    public boolean isDone() { return delivered.get() == total; }
+
+    /**
+     * Returns true iff every recipient has either been delivered to or failed.
+     * @return Whether no delivery is still pending.
+     */
+    public boolean isFinished() { return delivered.get() + failed.get() == total; }
+
+    /**
+     * Blocks until every recipient has either been delivered to or failed.
+     * @throws InterruptedException if the current thread is interrupted while waiting.
+     */
+    public synchronized void awaitCompletion() throws InterruptedException {
+        while (!isFinished()) {
+            wait();
+        }
+    }
+}
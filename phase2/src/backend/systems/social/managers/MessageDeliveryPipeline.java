@@ -0,0 +1,156 @@
+package backend.systems.social.managers;
+
+import backend.entities.Message;
+import backend.entities.MessageContent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A pool of background workers that append messages to inboxes in chunks.
+ *
+ * Every recipient is always handled by the same worker, and each worker handles its chunks in the order they were
+ * submitted, so messages reach any one inbox in the order they were sent.
+ */
+class MessageDeliveryPipeline {
+    private static final int CHUNK_SIZE = 256;
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final List<BlockingQueue<Chunk>> lanes;
+    private final Consumer<Message> deliverer;
+    private int pendingChunks;
+
+    /**
+     * Constructs a pipeline with one worker per available processor.
+     * @param deliverer The action that appends a single message to its recipient's inbox.
+     */
+    MessageDeliveryPipeline(Consumer<Message> deliverer) {
+        this.deliverer = deliverer;
+        this.lanes = new ArrayList<>();
+        int numWorkers = Math.max(1, Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < numWorkers; i++) {
+            BlockingQueue<Chunk> lane = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            lanes.add(lane);
+            Thread worker = new Thread(() -> runLane(lane), "message-delivery-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues a message for delivery to every recipient.
+     *
+     * Blocks only if the workers have fallen far enough behind that their queues are full.
+     *
+     * @param content The content of the message.
+     * @param recipients The UUIDs of the recipients.
+     * @param delivery The handle that each recipient's delivery, or failure, is recorded to.
+     */
+    public void submit(MessageContent content, List<UUID> recipients, MessageDelivery delivery) {
+        List<List<UUID>> partitions = new ArrayList<>();
+        for (int i = 0; i < lanes.size(); i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (UUID recipient : recipients) {
+            partitions.get(laneOf(recipient)).add(recipient);
+        }
+
+        for (int i = 0; i < lanes.size(); i++) {
+            List<UUID> partition = partitions.get(i);
+            for (int start = 0; start < partition.size(); start += CHUNK_SIZE) {
+                List<UUID> chunkRecipients = partition.subList(start, Math.min(start + CHUNK_SIZE, partition.size()));
+                enqueue(lanes.get(i), new Chunk(content, chunkRecipients, delivery));
+            }
+        }
+    }
+
+    /**
+     * Blocks until every message submitted so far has been delivered.
+     */
+    public synchronized void awaitIdle() {
+        boolean interrupted = false;
+        while (pendingChunks > 0) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int laneOf(UUID recipient) {
+        return Math.floorMod(recipient.hashCode(), lanes.size());
+    }
+
+    private void enqueue(BlockingQueue<Chunk> lane, Chunk chunk) {
+        synchronized (this) {
+            pendingChunks++;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                lane.put(chunk);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLane(BlockingQueue<Chunk> lane) {
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = lane.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            int failed = 0;
+            try {
+                for (UUID recipient : chunk.recipients) {
+                    try {
+                        deliverer.accept(new Message(chunk.content, recipient));
+                    } catch (RuntimeException e) {
+                        failed++;
+                        Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Deliver Message To " + recipient, e);
+                    }
+                }
+            } finally {
+                chunk.delivery.recordFailed(failed);
+                chunk.delivery.recordDelivered(chunk.recipients.size() - failed);
+                synchronized (this) {
+                    if (--pendingChunks == 0) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A group of recipients of one message, delivered to together by a single worker.
+     */
+    private static class Chunk {
+        private final MessageContent content;
+        private final List<UUID> recipients;
+        private final MessageDelivery delivery;
+
+        private Chunk(MessageContent content, List<UUID> recipients, MessageDelivery delivery) {
+            this.content = content;
+            this.recipients = recipients;
+            this.delivery = delivery;
+        }
+    }
+}
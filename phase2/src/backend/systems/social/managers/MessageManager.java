@@ -1,56 +1,237 @@
 package backend.systems.social.managers;
 
+import backend.entities.MessageContent;
+import backend.entities.MessageView;
 import backend.entities.Statuses;
+import utility.filehandling.BinaryReader;
+import utility.filehandling.BinaryWriter;
+import utility.filehandling.Codec;
+import utility.filehandling.Journal;
+import utility.filehandling.JournalEntry;
+import utility.filehandling.Journaled;
 import backend.entities.Message;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.time.LocalTime;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Class to manage messages.*/
-public class MessageManager implements Serializable {
-    private final Map<UUID, List<Message>> inboxes;
+ * Class to manage messages.
+ *
+ * Messages are delivered to inboxes by a background MessageDeliveryPipeline, so each inbox is only accessed while
+ * holding its lock.
+ *
+ * A MessageManager either keeps its messages on the heap, or, if it was constructed with a segment file, keeps them
+ * in a MappedMessageStore so that the heap only holds a few pointers per user.*/
+public class MessageManager implements Serializable, Journaled<MessageManager> {
+    private static final long serialVersionUID = -275047846163340709L;
+    private Map<UUID, List<Message>> inboxes;
+    private MappedMessageStore mappedStore;
+    private transient Map<UUID, Set<Message>> outboxes;
+    private transient MessageDeliveryPipeline deliveryPipeline;
+    private transient Journal<MessageManager> journal;
+    private transient volatile long version;
 
     /** Constructs a new message manager with the information below.
      * @param userIDs A list of user UUIDs.
      */
     public MessageManager(List<UUID> userIDs) {
-        inboxes = new HashMap<>();
+        inboxes = new ConcurrentHashMap<>();
+        outboxes = new ConcurrentHashMap<>();
         for (UUID id : userIDs) {
             inboxes.put(id, new ArrayList<>());
         }
     }
 
+    /** Constructs a new message manager that keeps its messages in a memory-mapped segment file.
+     * @param userIDs A list of user UUIDs.
+     * @param segmentFilePath The file path of the segment file, which is replaced if it already exists.
+     */
+    public MessageManager(List<UUID> userIDs, String segmentFilePath) {
+        this(Collections.emptyList());
+        mappedStore = new MappedMessageStore(segmentFilePath);
+        for (UUID id : userIDs) {
+            mappedStore.addInbox(id);
+        }
+    }
+
+    /**
+     * Returns a copy of this message manager that keeps its messages in a memory-mapped segment file, once every
+     * message already sent has been delivered.
+     * @param segmentFilePath The file path of the segment file, which is replaced if it already exists.
+     * @return The copy of this message manager.
+     */
+    public MessageManager copyToSegmentFile(String segmentFilePath) {
+        if (mappedStore != null) {
+            throw new IllegalStateException("The messages are already kept in a segment file");
+        }
+        awaitDeliveries();
+        MessageManager copy = new MessageManager(Collections.emptyList(), segmentFilePath);
+        copy.mappedStore.addAll(inboxes);
+        return copy;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        awaitDeliveries();
+        out.defaultWriteObject();
+    }
+
+    private void awaitDeliveries() {
+        if (deliveryPipeline != null) {
+            deliveryPipeline.awaitIdle();
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        inboxes = new ConcurrentHashMap<>(inboxes);
+        outboxes = new ConcurrentHashMap<>();
+        Map<UUID, Message> firstCopies = new HashMap<>();
+        for (List<Message> inbox : inboxes.values()) {
+            for (Message message : inbox) {
+                Message firstCopy = firstCopies.putIfAbsent(message.getMsgID(), message);
+                if (firstCopy != null) {
+                    message.shareContent(firstCopy);
+                }
+                addToOutbox(message);
+            }
+        }
+    }
+
+    /**
+     * Sets the journal that every later change to the inboxes is recorded to.
+     * @param journal The journal to record changes to.
+     */
+    @Override
+    public void setJournal(Journal<MessageManager> journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the number of changes made to the inboxes since this manager was created or loaded.
+     * @return The version of this manager.
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    private void record(JournalEntry<MessageManager> entry) {
+        version++;
+        if (journal != null) {
+            journal.append(this, entry);
+        }
+    }
+
+    private void beginChange() {
+        if (journal != null) {
+            journal.beginChange();
+        }
+    }
+
+    private void endChange() {
+        if (journal != null) {
+            journal.endChange();
+        }
+    }
+
+    private void addToOutbox(Message message) {
+        Set<Message> outbox = outboxes.computeIfAbsent(message.getSender(), id -> new LinkedHashSet<>());
+        synchronized (outbox) {
+            outbox.add(message);
+        }
+    }
+
+    private void removeFromOutbox(Message message) {
+        Set<Message> outbox = outboxes.get(message.getSender());
+        if (outbox != null) {
+            synchronized (outbox) {
+                outbox.remove(message);
+            }
+        }
+    }
+
+    private synchronized MessageDeliveryPipeline getDeliveryPipeline() {
+        if (deliveryPipeline == null) {
+            deliveryPipeline = new MessageDeliveryPipeline(this::deliver);
+        }
+        return deliveryPipeline;
+    }
+
     /**
      * Send a message to recipient by appending it to his list of messages.
+     *
+     * The message is delivered in the background, after any message already sent to the same recipient.
      * @param sender The UUID of the sender.
      * @param recipient The UUID of the recipient.
      * @param msg A string which is the body of the message.
+     * @return A handle that tracks the delivery of the message.
      */
-    public void sendMessageToIndividual(UUID sender, UUID recipient, String msg, String title) {
-        Message m = new Message(UUID.randomUUID(), sender, recipient, msg, LocalTime.now(), title);
-        inboxes.get(recipient).add(m);
+    public MessageDelivery sendMessageToIndividual(UUID sender, UUID recipient, String msg, String title) {
+        return sendMessageToMultiple(sender, Collections.singletonList(recipient), msg, title);
     }
 
     /**
      * Convenience method to send a message to multiple people at once.
+     *
+     * Every recipient's copy shares a single message content, so only their statuses are stored per recipient.
+     * The message is delivered in the background, so this returns as soon as it has been queued. Recipients without
+     * an inbox are counted as failed deliveries straight away, and are not queued. A recipient listed more than once
+     * still gets a single copy.
      * @param sender The UUID of the sender.
      * @param recipients A list of UUIDs of the recipients
      * @param msg A string which is the body of the message.
+     * @return A handle that tracks the delivery of the message.
      */
-    public void sendMessageToMultiple(UUID sender, List<UUID> recipients, String msg, String title) {
-        for (UUID recipient : recipients) {
-            sendMessageToIndividual(sender, recipient, msg, title);
+    public MessageDelivery sendMessageToMultiple(UUID sender, List<UUID> recipients, String msg, String title) {
+        MessageContent content = new MessageContent(UUID.randomUUID(), sender, msg, LocalTime.now(), title);
+        beginChange();
+        try {
+            Set<UUID> distinct = new LinkedHashSet<>(recipients);
+            List<UUID> reachable = new ArrayList<>(distinct.size());
+            for (UUID recipient : distinct) {
+                if (userHasInbox(recipient)) {
+                    reachable.add(recipient);
+                }
+            }
+            MessageDelivery delivery = new MessageDelivery(distinct.size());
+            delivery.recordFailed(distinct.size() - reachable.size());
+            getDeliveryPipeline().submit(content, reachable, delivery);
+            record(new MessageSent(content, reachable));
+            return delivery;
+        } finally {
+            endChange();
         }
     }
 
+    private void deliver(Message m) {
+        if (mappedStore != null) {
+            mappedStore.deliver(m);
+            return;
+        }
+        List<Message> inbox = inboxes.get(m.getRecipient());
+        if (inbox == null) {
+            throw new IllegalStateException("No inbox for " + m.getRecipient());
+        }
+        synchronized (inbox) {
+            inbox.add(m);
+        }
+        addToOutbox(m);
+    }
+
     /**
      * Returns true if a user has an inbox in inboxes, false otherwise.
      * @param userID The UUID of the user.
      * @return True if user has an inbox, false otherwise.
      */
     public boolean userHasInbox(UUID userID) {
+        if (mappedStore != null) {
+            return mappedStore.hasInbox(userID);
+        }
         return inboxes.containsKey(userID);
     }
 
@@ -60,45 +241,101 @@ public class MessageManager implements Serializable {
      * @return true if the user's inbox is non-empty, false otherwise
      */
     public boolean userHasMail(UUID userID) {
-        return userHasInbox(userID) && (!inboxes.get(userID).isEmpty());
+        if (!userHasInbox(userID)) {
+            return false;
+        }
+        if (mappedStore != null) {
+            return mappedStore.hasMail(userID);
+        }
+        List<Message> inbox = inboxes.get(userID);
+        synchronized (inbox) {
+            return !inbox.isEmpty();
+        }
     }
 
     /**
-     * Maps the given UUID to an empty list in inboxes.
+     * Maps the given UUID to an empty list in inboxes, unless it already has an inbox.
      * @param userID The UUID of the user.
      */
     public void addBlankInbox(UUID userID) {
-        inboxes.put(userID, new ArrayList<>());
+        beginChange();
+        try {
+            boolean added;
+            if (mappedStore != null) {
+                added = mappedStore.addInbox(userID);
+            } else {
+                added = inboxes.putIfAbsent(userID, new ArrayList<>()) == null;
+            }
+            if (added) {
+                record(new InboxAdded(userID));
+            }
+        } finally {
+            endChange();
+        }
     }
 
     /**
-     * A method to get all a user's messages and parse them into a generic format for the caller.
+     * A method to get views of all a user's read and unread messages.
      * @param userID the UUID of the user whose messages are desired
-     * @return A list of message representations (maps) with all message info
+     * @return A list of message views with all message info
      */
-    public List<Map<String, Object>> getInboxData(UUID userID) {
+    public List<MessageView> getInboxViews(UUID userID) {
+        return getInboxViews(userID, Arrays.asList(Statuses.READ, Statuses.UNREAD));
+    }
+
+    /**
+     * A method to get views of a user's messages that have one of the given statuses.
+     * @param userID the UUID of the user whose messages are desired
+     * @param statuses the statuses of the messages that are desired
+     * @return A list of message views with all message info
+     */
+    public List<MessageView> getInboxViews(UUID userID, List<Statuses> statuses) {
+        if (mappedStore != null) {
+            return mappedStore.getInboxViews(userID, statuses);
+        }
         List<Message> inbox = inboxes.get(userID);
-        List<Map<String, Object>> inboxData = new ArrayList<>();
+        List<MessageView> inboxData = new ArrayList<>();
 
-        for (Message message : inbox) {
-            if (message.getStatus().equals(Statuses.READ) || message.getStatus().equals(Statuses.UNREAD)) {
-                inboxData.add(message.extractData());
+        synchronized (inbox) {
+            for (Message message : inbox) {
+                if (statuses.contains(message.getStatus())) {
+                    inboxData.add(message.toView());
+                }
             }
         }
-
         return inboxData;
     }
 
+    /**
+     * A method to get all a user's messages and parse them into a generic format for the caller.
+     * @param userID the UUID of the user whose messages are desired
+     * @return A list of message representations (maps) with all message info
+     */
+    public List<Map<String, Object>> getInboxData(UUID userID) {
+        return MessageView.toMaps(getInboxViews(userID));
+    }
+
     public List<Map<String, Object>> getInboxData(UUID userID, List<Statuses> statuses) {
-        List<Message> inbox = inboxes.get(userID);
-        List<Map<String, Object>> inboxData = new ArrayList<>();
+        return MessageView.toMaps(getInboxViews(userID, statuses));
+    }
 
-        for (Message message : inbox) {
-            if (statuses.contains(message.getStatus())) {
-                inboxData.add(message.extractData());
+    /**
+     * A method to get views of all a user's sent messages.
+     * @param userID the UUID of the user whose sent messages are desired
+     * @return A list of message views with all message info
+     */
+    public List<MessageView> getSentMessageViews(UUID userID) {
+        if (mappedStore != null) {
+            return mappedStore.getSentViews(userID);
+        }
+        List<MessageView> sentData = new ArrayList<>();
+        Set<Message> outbox = outboxes.getOrDefault(userID, Collections.emptySet());
+        synchronized (outbox) {
+            for (Message msg : outbox) {
+                sentData.add(msg.toView());
             }
         }
-        return inboxData;
+        return sentData;
     }
 
     /**
@@ -107,15 +344,7 @@ public class MessageManager implements Serializable {
      * @return A list of message representations (maps) with all message info
      */
     public List<Map<String, Object>> getSentMessageData(UUID userID) {
-        List<Map<String, Object>> inboxData = new ArrayList<>();
-        for (List<Message> inbox : inboxes.values()) {
-            for (Message msg : inbox) {
-                if (msg.getSender().equals(userID)) {
-                    inboxData.add(msg.extractData());
-                }
-            }
-        }
-        return inboxData;
+        return MessageView.toMaps(getSentMessageViews(userID));
     }
 
     /**
@@ -124,7 +353,23 @@ public class MessageManager implements Serializable {
      * @param index index of the message to remove
      */
     public void deleteMessage(UUID userID, int index) {
-        inboxes.get(userID).remove(index);
+        beginChange();
+        try {
+            int copyNumber = copyNumberAt(userID, index);
+            if (mappedStore != null) {
+                record(new MessageDeleted(userID, mappedStore.delete(userID, index), copyNumber));
+                return;
+            }
+            List<Message> inbox = inboxes.get(userID);
+            Message message;
+            synchronized (inbox) {
+                message = inbox.remove(index);
+            }
+            removeFromOutbox(message);
+            record(new MessageDeleted(userID, message.getMsgID(), copyNumber));
+        } finally {
+            endChange();
+        }
     }
 
     /**
@@ -134,7 +379,60 @@ public class MessageManager implements Serializable {
      * @param status the new message status
      */
     public void changeMessageState(UUID userID, int index, Statuses status) {
-        inboxes.get(userID).get(index).setStatus(status);
+        beginChange();
+        try {
+            int copyNumber = copyNumberAt(userID, index);
+            if (mappedStore != null) {
+                record(new MessageStateChanged(userID, mappedStore.setStatus(userID, index, status), copyNumber,
+                        status));
+                return;
+            }
+            List<Message> inbox = inboxes.get(userID);
+            UUID msgID;
+            synchronized (inbox) {
+                Message message = inbox.get(index);
+                message.setStatus(status);
+                msgID = message.getMsgID();
+            }
+            record(new MessageStateChanged(userID, msgID, copyNumber, status));
+        } finally {
+            endChange();
+        }
+    }
+
+    // Messages saved before recipients were de-duplicated may leave two copies of one message in an inbox, so a
+    // change is journaled with which of those copies it applies to.
+    private int indexOfMessage(UUID userID, UUID msgID, int copyNumber) {
+        if (mappedStore != null) {
+            return mappedStore.indexOf(userID, msgID, copyNumber);
+        }
+        List<Message> inbox = inboxes.get(userID);
+        int remaining = copyNumber;
+        synchronized (inbox) {
+            for (int i = 0; i < inbox.size(); i++) {
+                if (inbox.get(i).getMsgID().equals(msgID) && remaining-- == 0) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int copyNumberAt(UUID userID, int index) {
+        if (mappedStore != null) {
+            return mappedStore.copyNumberAt(userID, index);
+        }
+        List<Message> inbox = inboxes.get(userID);
+        int copyNumber = 0;
+        synchronized (inbox) {
+            UUID msgID = inbox.get(index).getMsgID();
+            for (int i = 0; i < index; i++) {
+                if (inbox.get(i).getMsgID().equals(msgID)) {
+                    copyNumber++;
+                }
+            }
+        }
+        return copyNumber;
     }
 
     /**
@@ -149,4 +447,202 @@ public class MessageManager implements Serializable {
         }
         return Statuses.READ;
     }
+
+    private static class MessageSent implements JournalEntry<MessageManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID msgID;
+        private final UUID sender;
+        private final String body;
+        private final LocalTime timeSent;
+        private final String title;
+        private final List<UUID> recipients;
+
+        private MessageSent(MessageContent content, List<UUID> recipients) {
+            this.msgID = content.getMsgID();
+            this.sender = content.getSender();
+            this.body = content.getBody();
+            this.timeSent = content.getTimeSent();
+            this.title = content.getTitle();
+            this.recipients = new ArrayList<>(recipients);
+        }
+
+        @Override
+        public void apply(MessageManager messageManager) {
+            MessageContent content = new MessageContent(msgID, sender, body, timeSent, title);
+            for (UUID recipient : recipients) {
+                messageManager.deliver(new Message(content, recipient));
+            }
+        }
+    }
+
+    private static class InboxAdded implements JournalEntry<MessageManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID userID;
+
+        private InboxAdded(UUID userID) {
+            this.userID = userID;
+        }
+
+        @Override
+        public void apply(MessageManager messageManager) {
+            messageManager.addBlankInbox(userID);
+        }
+    }
+
+    /**
+     * The deletion of a message, recorded by its ID so that replaying it never deletes a different message, even
+     * if a segment file already holds the deletion.
+     */
+    private static class MessageDeleted implements JournalEntry<MessageManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID userID;
+        private final UUID msgID;
+        private final int copyNumber;
+
+        private MessageDeleted(UUID userID, UUID msgID, int copyNumber) {
+            this.userID = userID;
+            this.msgID = msgID;
+            this.copyNumber = copyNumber;
+        }
+
+        @Override
+        public void apply(MessageManager messageManager) {
+            int index = messageManager.indexOfMessage(userID, msgID, copyNumber);
+            if (index >= 0) {
+                messageManager.deleteMessage(userID, index);
+            }
+        }
+    }
+
+    private static class MessageStateChanged implements JournalEntry<MessageManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID userID;
+        private final UUID msgID;
+        private final int copyNumber;
+        private final Statuses status;
+
+        private MessageStateChanged(UUID userID, UUID msgID, int copyNumber, Statuses status) {
+            this.userID = userID;
+            this.msgID = msgID;
+            this.copyNumber = copyNumber;
+            this.status = status;
+        }
+
+        @Override
+        public void apply(MessageManager messageManager) {
+            int index = messageManager.indexOfMessage(userID, msgID, copyNumber);
+            if (index >= 0) {
+                messageManager.changeMessageState(userID, index, status);
+            }
+        }
+    }
+
+    /**
+     * The binary format of a MessageManager.
+     *
+     * The content of a message sent to several recipients is written once, and every later copy of it only refers
+     * back to it, so the copies share one MessageContent again when they are read. A MessageManager that keeps its
+     * messages in a segment file only writes where the file is and the pointers into it.
+     */
+    public static class BinaryCodec implements Codec<MessageManager> {
+        private static final int NEW_CONTENT = -1;
+
+        /**
+         * Gets the version of the format that write produces.
+         * @return the current version of the format.
+         */
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        /**
+         * Writes messageManager, once every message already sent has been delivered.
+         * @param messageManager the MessageManager to write.
+         * @param out the writer to write to.
+         * @throws IOException if the MessageManager could not be written.
+         */
+        @Override
+        public void write(MessageManager messageManager, BinaryWriter out) throws IOException {
+            messageManager.awaitDeliveries();
+            out.writeBoolean(messageManager.mappedStore != null);
+            if (messageManager.mappedStore != null) {
+                messageManager.mappedStore.writeTo(out);
+                return;
+            }
+            Map<UUID, Integer> contentTable = new HashMap<>();
+            out.writeInt(messageManager.inboxes.size());
+            for (Map.Entry<UUID, List<Message>> inbox : messageManager.inboxes.entrySet()) {
+                out.writeUUID(inbox.getKey());
+                synchronized (inbox.getValue()) {
+                    out.writeInt(inbox.getValue().size());
+                    for (Message message : inbox.getValue()) {
+                        writeContent(message.getContent(), contentTable, out);
+                        out.writeEnum(message.getStatus());
+                    }
+                }
+            }
+        }
+
+        private void writeContent(MessageContent content, Map<UUID, Integer> contentTable, BinaryWriter out)
+                throws IOException {
+            Integer reference = contentTable.get(content.getMsgID());
+            if (reference != null) {
+                out.writeInt(reference);
+                return;
+            }
+            contentTable.put(content.getMsgID(), contentTable.size());
+            out.writeInt(NEW_CONTENT);
+            out.writeUUID(content.getMsgID());
+            out.writeUUID(content.getSender());
+            out.writeString(content.getBody());
+            out.writeTime(content.getTimeSent());
+            out.writeString(content.getTitle());
+        }
+
+        /**
+         * Reads a MessageManager written by write.
+         * @param in the reader to read from.
+         * @param version the version of the format the MessageManager was written in.
+         * @return the MessageManager that was read.
+         * @throws IOException if the MessageManager could not be read.
+         */
+        @Override
+        public MessageManager read(BinaryReader in, int version) throws IOException {
+            MessageManager messageManager = new MessageManager(Collections.emptyList());
+            if (in.readBoolean()) {
+                messageManager.mappedStore = MappedMessageStore.readFrom(in);
+                return messageManager;
+            }
+            List<MessageContent> contentTable = new ArrayList<>();
+            int numInboxes = in.readInt();
+            for (int i = 0; i < numInboxes; i++) {
+                UUID recipient = in.readUUID();
+                int numMessages = in.readInt();
+                List<Message> inbox = new ArrayList<>();
+                for (int j = 0; j < numMessages; j++) {
+                    Message message = new Message(readContent(contentTable, in), recipient);
+                    message.setStatus(in.readEnum(Statuses.class));
+                    inbox.add(message);
+                    messageManager.addToOutbox(message);
+                }
+                messageManager.inboxes.put(recipient, inbox);
+            }
+            return messageManager;
+        }
+
+        private MessageContent readContent(List<MessageContent> contentTable, BinaryReader in) throws IOException {
+            int reference = in.readInt();
+            if (reference != NEW_CONTENT) {
+                if (reference < 0 || reference >= contentTable.size()) {
+                    throw new IOException("Invalid message reference " + reference);
+                }
+                return contentTable.get(reference);
+            }
+            MessageContent content = new MessageContent(in.readUUID(), in.readUUID(), in.readString(), in.readTime(),
+                    in.readString());
+            contentTable.add(content);
+            return content;
+        }
+    }
 }
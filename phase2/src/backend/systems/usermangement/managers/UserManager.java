@@ -3,24 +3,118 @@ package backend.systems.usermangement.managers;
 import backend.entities.users.Perms;
 import backend.entities.users.Socials;
 import backend.entities.users.User;
+import utility.filehandling.BinaryReader;
+import utility.filehandling.BinaryWriter;
+import utility.filehandling.Codec;
+import utility.filehandling.Journal;
+import utility.filehandling.JournalEntry;
+import utility.filehandling.Journaled;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.logging.Logger;
 
 /**
  * Represents a UserManager, handles the management of a collection of users.
  * Performs basic retrieval and application to data contained in the users it manages.
  */
-public class UserManager implements Serializable {
+public class UserManager implements Serializable, Journaled<UserManager> {
+    private static final long serialVersionUID = 7715758167171109564L;
     private Map<UUID, User> users;
     private User loggedInUser;
+    private transient Map<String, UUID> usernameIndex;
+    private transient Map<String, UUID> exactUsernames;
+    private transient List<UserObserver> observers;
+    private transient Journal<UserManager> journal;
+    private transient volatile long version;
 
     /**
      * Constructs an empty UserManager.
      */
     public UserManager() {
         this.users = new HashMap<>();
+        this.usernameIndex = new HashMap<>();
+        this.exactUsernames = new HashMap<>();
+        this.observers = new ArrayList<>();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.usernameIndex = new HashMap<>();
+        this.exactUsernames = new HashMap<>();
+        // Older saves compared usernames exactly, so two accounts may share a normalized name;
+        // index them in a fixed order so the same account wins every time.
+        List<User> ordered = new ArrayList<>(this.users.values());
+        ordered.sort(Comparator.comparing(User::getUsername).thenComparing(User::getUUID));
+        for (User u : ordered) {
+            indexUsername(u);
+        }
+        this.observers = new ArrayList<>();
+    }
+
+    private void indexUsername(User u) {
+        exactUsernames.put(u.getUsername(), u.getUUID());
+        UUID holder = usernameIndex.putIfAbsent(normalizeUsername(u.getUsername()), u.getUUID());
+        if (holder != null && !holder.equals(u.getUUID())) {
+            Logger.getAnonymousLogger().warning("Username \"" + u.getUsername() + "\" collides with \""
+                    + users.get(holder).getUsername() + "\"; it can only be found by its exact username");
+        }
+    }
+
+    private String normalizeUsername(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sets the journal that every later change to the users is recorded to.
+     * @param journal The journal to record changes to.
+     */
+    @Override
+    public void setJournal(Journal<UserManager> journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the number of changes made to the users since this manager was created or loaded.
+     * @return The version of this manager.
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    private void record(JournalEntry<UserManager> entry) {
+        version++;
+        if (journal != null) {
+            journal.append(this, entry);
+        }
+    }
+
+    private void beginChange() {
+        if (journal != null) {
+            journal.beginChange();
+        }
+    }
+
+    private void endChange() {
+        if (journal != null) {
+            journal.endChange();
+        }
+    }
+
+    /**
+     * Registers an observer to be notified whenever a user is added or logs in.
+     * The observer is immediately told about every user already in the manager.
+     * @param observer The observer to register.
+     */
+    public void addObserver(UserObserver observer) {
+        observers.add(observer);
+        for (UUID id : users.keySet()) {
+            observer.userAdded(id);
+        }
     }
 
     /**
@@ -35,11 +129,24 @@ public class UserManager implements Serializable {
         UserFactory userCreator = new UserFactory();
         User u;
 
-        do {
-            u = userCreator.buildUser(type, name, username, password);
-        }while(containsUserWithUUID(u.getUUID()));
+        beginChange();
+        try {
+            do {
+                u = userCreator.buildUser(type, name, username, password);
+            }while(containsUserWithUUID(u.getUUID()));
 
+            putUser(u);
+            record(new UserAdded(u));
+        } finally {
+            endChange();
+        }
+    }
+
+    private void putUser(User u) {
         this.users.put(u.getUUID(), u);
+        indexUsername(u);
+        UUID id = u.getUUID();
+        observers.forEach(observer -> observer.userAdded(id));
     }
 
     /**
@@ -53,16 +160,12 @@ public class UserManager implements Serializable {
 
     /**
      * Returns True IFF the UserManager contains a user with a username <username>
+     * Usernames are compared ignoring case and surrounding whitespace.
      * @param username The username of a  potential User.
      * @return True IFF the user with that Username exists. (Usernames are unique)
      */
     public boolean containsUserWithUsername(String username) {
-        for (User u : this.users.values()) {
-            if (u.getUsername().equals(username)) {
-                return true;
-            }
-        }
-        return false;
+        return exactUsernames.containsKey(username) || usernameIndex.containsKey(normalizeUsername(username));
     }
 
     /**
@@ -88,21 +191,41 @@ public class UserManager implements Serializable {
      * @param banned the banned status of the user
      */
     public void setUserBan(UUID id, boolean banned) {
-        users.get(id).setBanned(banned);
+        beginChange();
+        try {
+            User user = users.get(id);
+            if (user.getIsBanned() != banned) {
+                user.setBanned(banned);
+                record(new UserBanSet(id, banned));
+            }
+        } finally {
+            endChange();
+        }
     }
 
     /**
      * Gets the UUID of a user with a username <username>
+     * Usernames are compared ignoring case and surrounding whitespace, but an exact match always wins.
      * @param username The Username of the user.
-     * @return The UUID of the user with a username <username>
+     * @return The UUID of the user with a username <username>, or null if there is no such user.
      */
     public UUID getUUIDWithUsername(String username) {
-        for (User u : this.users.values()) {
-            if (u.getUsername().equals(username)) {
-                return u.getUUID();
-            }
+        UUID exact = exactUsernames.get(username);
+        return exact != null ? exact : usernameIndex.get(normalizeUsername(username));
+    }
+
+    /**
+     * Gets the UUIDs of the users with each of the given usernames.
+     * @param usernames The Usernames of the users.
+     * @return A list of the UUIDs of the users, in the same order as usernames, containing null for
+     * each username that does not belong to a user.
+     */
+    public List<UUID> getUUIDsWithUsernames(List<String> usernames) {
+        List<UUID> userIDs = new ArrayList<>();
+        for (String username : usernames) {
+            userIDs.add(getUUIDWithUsername(username));
         }
-        return null;
+        return userIDs;
     }
 
     /**
@@ -118,8 +241,21 @@ public class UserManager implements Serializable {
      * @param userID The UUID of the user to set as logged in.
      */
     public void setLoggedInUser(UUID userID) {
+        beginChange();
+        try {
+            LocalDateTime login = LocalDateTime.now();
+            logIn(userID, login);
+            record(new UserLoggedIn(userID, login));
+        } finally {
+            endChange();
+        }
+    }
+
+    private void logIn(UUID userID, LocalDateTime login) {
         this.loggedInUser = this.users.get(userID);
-        users.get(userID).setLastLoggedIn(LocalDateTime.now());
+        LocalDateTime previousLogin = loggedInUser.getLastLoggedIn();
+        loggedInUser.setLastLoggedIn(login);
+        observers.forEach(observer -> observer.userLoggedIn(userID, previousLogin, login));
     }
 
     /**
@@ -179,6 +315,15 @@ public class UserManager implements Serializable {
         return StartTime.isBefore(time) && EndTime.isAfter(time);
     }
 
+    /**
+     * Gets the last time a user logged in.
+     * @param userID The UUID of the User.
+     * @return The time the User last logged in, or the time they were registered if they never have.
+     */
+    public LocalDateTime getLastLoggedInWithUUID(UUID userID) {
+        return this.users.get(userID).getLastLoggedIn();
+    }
+
     /**
      * Checks if a user has other social media links.
      * @param uuid UUID of the user
@@ -203,7 +348,13 @@ public class UserManager implements Serializable {
      * @param social The social media platform of the link to be removed.
      */
     public void removeUserLink(UUID uuid, Socials social) {
-        users.get(uuid).removeProfileLink(social);
+        beginChange();
+        try {
+            users.get(uuid).removeProfileLink(social);
+            record(new UserLinkRemoved(uuid, social));
+        } finally {
+            endChange();
+        }
     }
 
     /**
@@ -212,6 +363,144 @@ public class UserManager implements Serializable {
      * @param link the link to the platform
      */
     public void setLoggedInUserLink(Socials social, String link) {
-        loggedInUser.setProfileLink(social, link);
+        beginChange();
+        try {
+            loggedInUser.setProfileLink(social, link);
+            record(new UserLinkSet(loggedInUser.getUUID(), social, link));
+        } finally {
+            endChange();
+        }
+    }
+
+    private static class UserAdded implements JournalEntry<UserManager> {
+        private static final long serialVersionUID = 1L;
+        private final User user;
+
+        private UserAdded(User user) {
+            this.user = user;
+        }
+
+        @Override
+        public void apply(UserManager userManager) {
+            userManager.putUser(user);
+        }
+    }
+
+    private static class UserBanSet implements JournalEntry<UserManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID userID;
+        private final boolean banned;
+
+        private UserBanSet(UUID userID, boolean banned) {
+            this.userID = userID;
+            this.banned = banned;
+        }
+
+        @Override
+        public void apply(UserManager userManager) {
+            userManager.users.get(userID).setBanned(banned);
+        }
+    }
+
+    private static class UserLoggedIn implements JournalEntry<UserManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID userID;
+        private final LocalDateTime login;
+
+        private UserLoggedIn(UUID userID, LocalDateTime login) {
+            this.userID = userID;
+            this.login = login;
+        }
+
+        @Override
+        public void apply(UserManager userManager) {
+            userManager.logIn(userID, login);
+        }
+    }
+
+    private static class UserLinkRemoved implements JournalEntry<UserManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID userID;
+        private final Socials social;
+
+        private UserLinkRemoved(UUID userID, Socials social) {
+            this.userID = userID;
+            this.social = social;
+        }
+
+        @Override
+        public void apply(UserManager userManager) {
+            userManager.users.get(userID).removeProfileLink(social);
+        }
+    }
+
+    private static class UserLinkSet implements JournalEntry<UserManager> {
+        private static final long serialVersionUID = 1L;
+        private final UUID userID;
+        private final Socials social;
+        private final String link;
+
+        private UserLinkSet(UUID userID, Socials social, String link) {
+            this.userID = userID;
+            this.social = social;
+            this.link = link;
+        }
+
+        @Override
+        public void apply(UserManager userManager) {
+            userManager.users.get(userID).setProfileLink(social, link);
+        }
+    }
+
+    /**
+     * The binary format of a UserManager, which is its users and the user that is logged in.
+     */
+    public static class BinaryCodec implements Codec<UserManager> {
+        /**
+         * Gets the version of the format that write produces.
+         * @return the current version of the format.
+         */
+        @Override
+        public int getVersion() {
+            return 1;
+        }
+
+        /**
+         * Writes the users of userManager.
+         * @param userManager the UserManager to write.
+         * @param out the writer to write to.
+         * @throws IOException if the UserManager could not be written.
+         */
+        @Override
+        public void write(UserManager userManager, BinaryWriter out) throws IOException {
+            out.writeInt(userManager.users.size());
+            for (User user : userManager.users.values()) {
+                user.writeTo(out);
+            }
+            out.writeBoolean(userManager.loggedInUser != null);
+            if (userManager.loggedInUser != null) {
+                out.writeUUID(userManager.loggedInUser.getUUID());
+            }
+        }
+
+        /**
+         * Reads a UserManager written by write.
+         * @param in the reader to read from.
+         * @param version the version of the format the UserManager was written in.
+         * @return the UserManager that was read.
+         * @throws IOException if the UserManager could not be read.
+         */
+        @Override
+        public UserManager read(BinaryReader in, int version) throws IOException {
+            UserManager userManager = new UserManager();
+            int numUsers = in.readInt();
+            for (int i = 0; i < numUsers; i++) {
+                userManager.putUser(User.readFrom(in));
+            }
+            if (in.readBoolean()) {
+                userManager.loggedInUser = userManager.users.get(in.readUUID());
+            }
+            return userManager;
+        }
     }
 }
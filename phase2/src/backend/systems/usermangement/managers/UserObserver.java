@@ -0,0 +1,23 @@
+package backend.systems.usermangement.managers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An observer that is notified whenever the users of a UserManager change.
+ */
+public interface UserObserver {
+    /**
+     * Called when a user is added to the UserManager.
+     * @param userID The UUID of the user that was added.
+     */
+    void userAdded(UUID userID);
+
+    /**
+     * Called when a user logs in.
+     * @param userID The UUID of the user that logged in.
+     * @param previousLogin The time the user last logged in before now.
+     * @param login The time the user logged in.
+     */
+    void userLoggedIn(UUID userID, LocalDateTime previousLogin, LocalDateTime login);
+}
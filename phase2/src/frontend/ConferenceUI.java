@@ -0,0 +1,104 @@
+package frontend;
+
+import backend.entities.Conference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * UI class for printing prompts and errors related to the ConferenceSystem.
+ */
+public class ConferenceUI extends MenuUI {
+
+    /**
+     * Displays the active conferences as options, followed by the option to find conferences by date and the options
+     * for managing conferences if the user can manage them.
+     * @param conferenceNames the names of the active conferences
+     * @param canManage whether the options to create and archive conferences are displayed
+     */
+    public void displayConferenceOptions(List<String> conferenceNames, boolean canManage) {
+        List<String> options = new ArrayList<>(conferenceNames);
+        options.add("Find conferences between two dates");
+        if (canManage) {
+            options.add("Create a conference");
+            options.add("Archive a conference");
+        }
+        displayOptions(options, true, true);
+    }
+
+    /**
+     * Prompts the user for the name of a new conference.
+     */
+    public void promptConferenceName() {
+        System.out.println("Please enter the name of the conference:");
+    }
+
+    /**
+     * Prompts the user for the date of a new conference.
+     */
+    public void promptConferenceDate() {
+        System.out.println("Please enter the date of the conference (YYYY-MM-DD):");
+    }
+
+    /**
+     * Prompts the user for the first date of the range of conferences to find.
+     */
+    public void promptFirstDate() {
+        System.out.println("Please enter the first date to search from (YYYY-MM-DD):");
+    }
+
+    /**
+     * Prompts the user for the last date of the range of conferences to find.
+     */
+    public void promptLastDate() {
+        System.out.println("Please enter the last date to search to (YYYY-MM-DD):");
+    }
+
+    /**
+     * Displays the conferences found between two dates, marking the archived ones.
+     * @param conferences the conferences found, ordered by date
+     */
+    public void displayConferencesBetween(List<Conference> conferences) {
+        if (conferences.isEmpty()) {
+            System.out.println("No conferences were held between those dates.");
+            return;
+        }
+        for (Conference conference : conferences) {
+            System.out.println(conference.getConferenceName() + " | " + conference.getConferenceDate()
+                    + (conference.isArchived() ? " (archived)" : ""));
+        }
+    }
+
+    /**
+     * Displays an error for dates that could not be read.
+     */
+    public void displayInvalidDate() {
+        System.out.println("That is not a valid date!");
+    }
+
+    /**
+     * Display success/failure of creating a conference.
+     * @param created whether the conference was created
+     */
+    public void displayConferenceCreated(boolean created) {
+        if (created) {
+            System.out.println("The conference has been successfully created.");
+        } else {
+            System.out.println("A conference with that name or date already exists!");
+        }
+    }
+
+    /**
+     * Prompts the user to choose the conference to archive.
+     */
+    public void promptArchiveConference() {
+        System.out.println("Which conference would you like to archive?");
+    }
+
+    /**
+     * Displays a message confirming that a conference was archived.
+     */
+    public void displayConferenceArchived() {
+        System.out.println("The conference has been successfully archived.");
+    }
+}
@@ -1,9 +1,11 @@
 package frontend;
 
+import backend.entities.EventView;
+import backend.systems.events.managers.EventDetails;
+import backend.systems.events.managers.ScheduleConflict;
 import backend.systems.usermangement.managers.UserManager;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -21,10 +23,10 @@ public class EventUI extends MenuUI {
     }
 
     /**
-     * Displays a formatted list of events based on the given list of extracted event data.
-     * @param eventList The list of extracted event data for the events to be displayed.
+     * Displays a formatted list of events based on the given list of event views.
+     * @param eventList The list of views of the events to be displayed.
      */
-    public void displayEvents(List<Map<String, Object>> eventList) {
+    public void displayEvents(List<EventView> eventList) {
         if (eventList.isEmpty()) {
             System.out.println("\nThere are no events to display");
         }
@@ -32,7 +34,7 @@ public class EventUI extends MenuUI {
             System.out.println("------------------------Events------------------------");
             StringBuilder sb = new StringBuilder();
             int i = 1;
-            for (Map<String, Object> data : eventList) {
+            for (EventView data : eventList) {
                 sb.append("Event " + i + "\n");
                 formatEventData(sb, data);
                 System.out.print(sb);
@@ -43,20 +45,20 @@ public class EventUI extends MenuUI {
         }
     }
 
-    private void formatEventData(StringBuilder sb, Map<String, Object> data) {
-        sb.append("\"" + data.get("Title") + "\"" + "\n");
-        List<?> speakers = (List<?>) data.get("Speaker");
+    private void formatEventData(StringBuilder sb, EventView data) {
+        sb.append("\"" + data.getTitle() + "\"" + "\n");
+        List<UUID> speakers = data.getSpeakers();
         if (!(speakers.isEmpty())){
             sb.append("Hosted by: ");
-            for (Object speakerUUID: speakers) {
-                sb.append(userManager.getNameWithUUID((UUID)speakerUUID) + ", ");
+            for (UUID speakerUUID: speakers) {
+                sb.append(userManager.getNameWithUUID(speakerUUID) + ", ");
             }
             sb.delete(sb.length() - 2, sb.length() - 1);
             sb.append("\n");
         }
-        sb.append(data.get("StartTime") + " to " + data.get("EndTime") + "\n");
-        sb.append("Room: " + data.get("Room") + "\n");
-        sb.append(data.get("Registered") + "/" + data.get("Capacity") + " spots filled" + "\n");
+        sb.append(data.getStartTime() + " to " + data.getEndTime() + "\n");
+        sb.append("Room: " + data.getRoom() + "\n");
+        sb.append(data.getRegistered() + "/" + data.getCapacity() + " spots filled" + "\n");
     }
 
     /**
@@ -68,7 +70,9 @@ public class EventUI extends MenuUI {
         System.out.println("2. Schedule a new event.");
         System.out.println("3. Reschedule an existing event.");
         System.out.println("4. Cancel an existing event.");
-        System.out.println("5. Return to main menu.");
+        System.out.println("5. Import events from a CSV file.");
+        System.out.println("6. Plan events automatically from a CSV file.");
+        System.out.println("7. Return to main menu.");
     }
 
     /**
@@ -80,7 +84,9 @@ public class EventUI extends MenuUI {
         System.out.println("2. Sign up for an event.");
         System.out.println("3. Cancel a registered event.");
         System.out.println("4. View events you have signed up for.");
-        System.out.println("5. Return to main menu.");
+        System.out.println("5. Claim a seat held for you.");
+        System.out.println("6. Leave a waitlist.");
+        System.out.println("7. Return to main menu.");
     }
 
     /**
@@ -111,6 +117,57 @@ public class EventUI extends MenuUI {
         System.out.println("You have successfully registered for the event!");
     }
 
+    /**
+     * Displays a message asking the user whether to join the waitlist of a full event.
+     */
+    public void displayWaitlistPrompt() {
+        System.out.println("That event is full. Would you like to join its waitlist? (Y/N)");
+    }
+
+    /**
+     * Displays a message informing the user that they have joined the waitlist of an event.
+     * @param holdMinutes The number of minutes a freed seat is held for the user.
+     */
+    public void displayWaitlistJoined(long holdMinutes) {
+        System.out.println("You have joined the waitlist! When a seat frees up it will be held for you for " +
+                holdMinutes + " minutes.");
+    }
+
+    /**
+     * Displays a message informing the user that they could not join the waitlist of an event.
+     */
+    public void displayWaitlistRefused() {
+        System.out.println("You are already signed up or on the waitlist for that event.");
+    }
+
+    /**
+     * Displays a message informing the user that they are already signed up for the event.
+     */
+    public void displayAlreadySignedUp() {
+        System.out.println("You are already signed up for that event.");
+    }
+
+    /**
+     * Displays a message informing the user that the seat held for them was released before they claimed it.
+     */
+    public void displayHoldExpired() {
+        System.out.println("Sorry, the seat held for you was released before you claimed it.");
+    }
+
+    /**
+     * Displays a message informing the user that they have left the waitlist of an event.
+     */
+    public void displayLeftWaitlist() {
+        System.out.println("You have left the waitlist.");
+    }
+
+    /**
+     * Displays a message informing the user that the selected event has been cancelled in the meantime.
+     */
+    public void displayEventNotFound() {
+        System.out.println("That event no longer exists.");
+    }
+
     /**
      * Displays a message informing the user that they have successfully unregistered for an event.
      */
@@ -206,11 +263,151 @@ public class EventUI extends MenuUI {
      * Displays a message informing the user that the event was not scheduled due to conflicts, and
      * displays conflicting events.
      */
-    public void displayScheduleFailure(List<Map<String, Object>> eventList) {
+    public void displayScheduleFailure(List<EventView> eventList) {
         System.out.println("Your event was not scheduled. Your event conflicts with the following existing events:\n");
         displayEvents(eventList);
     }
 
+    /**
+     * Displays a message prompting the user for the path of a CSV file of events to import.
+     */
+    public void displayImportPrompt() {
+        System.out.println("Enter the path of the CSV file to import.");
+        System.out.println("Each line holds: title, room, start time (HH:MM), duration, capacity, speakers' " +
+                "usernames separated by semicolons.");
+    }
+
+    /**
+     * Displays a message informing the user that the CSV file could not be read.
+     * @param filePath The path of the file.
+     */
+    public void displayImportFileError(String filePath) {
+        System.out.println("Could not read the file \"" + filePath + "\".");
+    }
+
+    /**
+     * Displays a message informing the user that no events were imported because some lines of the CSV file are
+     * invalid, and displays why.
+     * @param errors The description of each invalid line.
+     */
+    public void displayImportErrors(List<String> errors) {
+        System.out.println("No events were imported. The following lines are invalid:\n");
+        for (String error : errors) {
+            System.out.println(error);
+        }
+    }
+
+    /**
+     * Displays a message informing the user that every event of the CSV file was scheduled.
+     * @param count The number of events scheduled.
+     */
+    public void displayImportSuccess(int count) {
+        System.out.println(count + " events have been successfully scheduled!");
+    }
+
+    /**
+     * Displays a message informing the user that no events were imported due to conflicts, and displays the
+     * conflicts.
+     * @param conflicts The conflicts between the imported events and other events.
+     * @param lines The line of the CSV file of each imported event, in the order they were imported.
+     */
+    public void displayImportFailure(List<ScheduleConflict> conflicts, List<Integer> lines) {
+        System.out.println("No events were imported. The following events conflict:\n");
+        StringBuilder sb = new StringBuilder();
+        for (ScheduleConflict conflict : conflicts) {
+            sb.append("Line " + lines.get(conflict.getIndex()) + " \"" + conflict.getEvent().getTitle() +
+                    "\" conflicts with ");
+            if (conflict.isWithScheduledEvent()) {
+                sb.append("the scheduled event");
+            }
+            else {
+                sb.append("line " + lines.get(conflict.getConflictingIndex()));
+            }
+            sb.append(" \"" + conflict.getConflictingEvent().getTitle() + "\" (" +
+                    conflict.getConflictingEvent().getStartTime() + " to " +
+                    conflict.getConflictingEvent().getEndTime() + ") over ");
+            if (conflict.getRoom() != null) {
+                sb.append("room " + conflict.getRoom());
+            }
+            else {
+                sb.append("speaker " + userManager.getNameWithUUID(conflict.getSpeaker()));
+            }
+            System.out.println(sb);
+            sb.setLength(0);
+        }
+    }
+
+    /**
+     * Displays a message prompting the user for the path of a CSV file of events to be given rooms and start times.
+     */
+    public void displayPlanPrompt() {
+        System.out.println("Enter the path of the CSV file of events to plan.");
+        System.out.println("Each line holds: title, duration, capacity, speakers' usernames separated by semicolons.");
+    }
+
+    /**
+     * Displays a message prompting the user for the rooms events may be planned in.
+     */
+    public void displayRoomsPrompt() {
+        System.out.println("Enter the rooms available, as name:seats separated by commas (e.g. Hall A:200, Room 2:40).");
+    }
+
+    /**
+     * Displays a message informing the user that the rooms entered are invalid.
+     * @param reason Why the rooms are invalid.
+     */
+    public void displayInvalidRooms(String reason) { System.out.println("Invalid input: " + reason); }
+
+    /**
+     * Displays a message prompting the user for the earliest time events may start.
+     */
+    public void displayDayStartPrompt() { System.out.println("Enter the earliest time events may start."); }
+
+    /**
+     * Displays a message prompting the user for the latest time events may end.
+     */
+    public void displayDayEndPrompt() { System.out.println("Enter the latest time events may end."); }
+
+    /**
+     * Displays a message informing the user that the day must end after it starts.
+     */
+    public void displayInvalidDayEnd() { System.out.println("Invalid input: Events must be able to end after they start."); }
+
+    /**
+     * Displays a message informing the user that events are being planned.
+     * @param count The number of events being planned.
+     */
+    public void displayPlanStart(int count) { System.out.println("Planning " + count + " events..."); }
+
+    /**
+     * Displays the room and start time planned for each event, and the events that could not be placed.
+     * @param events The details of the placed events.
+     * @param lines The line of the CSV file of each placed event.
+     * @param unplacedTitles The titles of the events that could not be placed.
+     * @param unplacedLines The line of the CSV file of each event that could not be placed.
+     */
+    public void displayPlan(List<EventDetails> events, List<Integer> lines, List<String> unplacedTitles,
+                            List<Integer> unplacedLines) {
+        int total = events.size() + unplacedTitles.size();
+        System.out.println(events.size() + " of " + total + " events could be placed.\n");
+        for (int i = 0; i < events.size(); i++) {
+            EventDetails event = events.get(i);
+            System.out.println("Line " + lines.get(i) + " \"" + event.getTitle() + "\": room " + event.getRoom() +
+                    ", " + event.getStartTime() + " to " + event.getStartTime().plusMinutes(event.getDuration()));
+        }
+        if (!unplacedTitles.isEmpty()) {
+            System.out.println("\nThe following events could not be placed:");
+            for (int i = 0; i < unplacedTitles.size(); i++) {
+                System.out.println("Line " + unplacedLines.get(i) + " \"" + unplacedTitles.get(i) + "\"");
+            }
+        }
+    }
+
+    /**
+     * Displays a message asking the user whether to schedule the placed events.
+     */
+    public void displayPlanConfirmPrompt() { System.out.println("\nSchedule the placed events? (Y/N)"); }
+
     /**
      * Displays a message informing the user that they have started to reschedule a new event.
      */
@@ -230,7 +427,7 @@ public class EventUI extends MenuUI {
      * Displays a message informing the user that the event was not rescheduled due to conflicts, and
      * displays conflicting events.
      */
-    public void displayRescheduleFailure(List<Map<String, Object>> eventList) {
+    public void displayRescheduleFailure(List<EventView> eventList) {
         System.out.println("Your event was not rescheduled. Your event conflicts with the following existing events:\n");
         displayEvents(eventList);
     }
@@ -1,9 +1,8 @@
 package frontend;
+import backend.entities.MessageView;
 import backend.entities.Statuses;
 import backend.systems.usermangement.managers.UserManager;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 /**
  * Represents a InboxUI used for the message system UI.
@@ -25,18 +24,18 @@ public class InboxUI extends MenuUI {
      * empty.
      * @param inboxData The user's inbox data.
      */
-    public void displayInbox(List<Map<String, Object>> inboxData) {
+    public void displayInbox(List<MessageView> inboxData) {
         int i = 1;
 
-        for (Map<String, Object> data : inboxData) {
+        for (MessageView data : inboxData) {
             StringBuilder sb = new StringBuilder();
-            String recipient = userManager.getUsernameWithUUID((UUID) data.get("recipient"));
-            String sender = userManager.getUsernameWithUUID((UUID) data.get("sender"));
+            String recipient = userManager.getUsernameWithUUID(data.getRecipient());
+            String sender = userManager.getUsernameWithUUID(data.getSender());
             System.out.println("------------------------------------------------------");
             System.out.print("Message " + i + ": ");
-            sb.append(data.get("title") + " | ");
+            sb.append(data.getTitle() + " | ");
             sb.append("From " + sender + " To " + recipient + " | ");
-            sb.append(data.get("status"));
+            sb.append(data.getStatus());
             System.out.println(sb);
             i += 1;
         }
@@ -49,16 +48,16 @@ public class InboxUI extends MenuUI {
 
     /**
      * Displays the formatted details and body of the message represented by the given messageData.
-     * @param messageData the data of the message to be displayed
+     * @param messageData the view of the message to be displayed
      */
-    public void displayMessage(Map<String, Object> messageData) {
+    public void displayMessage(MessageView messageData) {
         StringBuilder sb = new StringBuilder();
-        String recipient = userManager.getUsernameWithUUID((UUID) messageData.get("recipient"));
-        String sender = userManager.getUsernameWithUUID((UUID) messageData.get("sender"));
+        String recipient = userManager.getUsernameWithUUID(messageData.getRecipient());
+        String sender = userManager.getUsernameWithUUID(messageData.getSender());
         System.out.println("------------------------------------------------------");
-        sb.append("Title: " + messageData.get("title") + "\n");
-        sb.append("Sent by " + sender + " To " + recipient  + " | " + messageData.get("timeSent") + "\n");
-        sb.append("Body: " + messageData.get("body"));
+        sb.append("Title: " + messageData.getTitle() + "\n");
+        sb.append("Sent by " + sender + " To " + recipient  + " | " + messageData.getTimeSent() + "\n");
+        sb.append("Body: " + messageData.getBody());
         System.out.println(sb);
         System.out.println("------------------------------------------------------");
     }
@@ -1,9 +1,9 @@
 package frontend;
 
+import backend.entities.EventView;
 import backend.systems.usermangement.managers.UserManager;
 
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -20,14 +20,14 @@ public class StatisticsUI {
 
     /**
      * Displays the available statistics related to events.
-     * @param eventList The list of extracted event data for the top 5 most attended events
+     * @param eventList The list of views of the top 5 most attended events
      * @param average The average number of attendees per event
      */
-    public void displayEventStats(List<Map<String, Object>> eventList, int average) {
+    public void displayEventStats(List<EventView> eventList, int average) {
         System.out.println("--------------Top 5 most attended Events--------------");
         StringBuilder sb = new StringBuilder();
         int i = 1;
-        for (Map<String, Object> data: eventList) {
+        for (EventView data: eventList) {
             sb.append("#" + i + ": ");
             formatEventData(sb, data);
             System.out.print(sb);
@@ -41,18 +41,18 @@ public class StatisticsUI {
         else { System.out.println("No events have taken place!"); }
     }
 
-    private void formatEventData(StringBuilder sb, Map<String, Object> data) {
-        sb.append("\"" + data.get("Title") + "\"" + "\n");
-        List<?> speakers = (List<?>) data.get("Speaker");
+    private void formatEventData(StringBuilder sb, EventView data) {
+        sb.append("\"" + data.getTitle() + "\"" + "\n");
+        List<UUID> speakers = data.getSpeakers();
         if (!(speakers.isEmpty())){
             sb.append("Hosted by: ");
-            for (Object speakerUUID: speakers) {
-                sb.append(userManager.getNameWithUUID((UUID)speakerUUID) + ", ");
+            for (UUID speakerUUID: speakers) {
+                sb.append(userManager.getNameWithUUID(speakerUUID) + ", ");
             }
             sb.delete(sb.length() - 2, sb.length() - 1);
             sb.append("\n");
         }
-        sb.append(data.get("Registered") + "/" + data.get("Capacity") + " spots filled" + "\n\n");
+        sb.append(data.getRegistered() + "/" + data.getCapacity() + " spots filled" + "\n\n");
     }
 
     /**
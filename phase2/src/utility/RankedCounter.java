@@ -0,0 +1,118 @@
+package utility;
+
+import java.util.*;
+
+/**
+ * Utility counter that keeps a running integer count per item, ordered so that the highest counts can be read
+ * without looking at every item.
+ *
+ * Counts are held in mutable cells, and the items are also grouped by count, so reading the k highest counts costs
+ * O(k) however many items are tracked. Items with equal counts are ranked by how long they have held that count,
+ * longest first.
+ * @param <T> the type of the items being counted.
+ */
+public class RankedCounter<T> {
+    private final Map<T, Count> counts = new HashMap<>();
+    private final TreeMap<Integer, Set<T>> itemsByCount = new TreeMap<>();
+    private long total;
+
+    private static class Count {
+        private int value;
+    }
+
+    /**
+     * Starts tracking an item with a count of zero, if it is not already being tracked.
+     * @param item the item to track.
+     */
+    public void track(T item) {
+        if (!counts.containsKey(item)) {
+            counts.put(item, new Count());
+            bucket(0).add(item);
+        }
+    }
+
+    /**
+     * Adds delta to the count of an item, tracking it first if needed.
+     * @param item the item whose count changes.
+     * @param delta the amount to add, which may be negative.
+     */
+    public void add(T item, int delta) {
+        track(item);
+        if (delta == 0) {
+            return;
+        }
+        Count count = counts.get(item);
+        unbucket(count.value, item);
+        count.value += delta;
+        bucket(count.value).add(item);
+        total += delta;
+    }
+
+    /**
+     * Stops tracking an item, removing its count from the total.
+     * @param item the item to stop tracking.
+     */
+    public void untrack(T item) {
+        Count count = counts.remove(item);
+        if (count != null) {
+            unbucket(count.value, item);
+            total -= count.value;
+        }
+    }
+
+    /**
+     * Gets the count of an item.
+     * @param item the item.
+     * @return the count of the item, or zero if it is not tracked.
+     */
+    public int getCount(T item) {
+        Count count = counts.get(item);
+        return count == null ? 0 : count.value;
+    }
+
+    /**
+     * Gets the sum of the counts of all tracked items.
+     * @return the total count.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the number of tracked items.
+     * @return the number of tracked items.
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * Gets the k tracked items with the highest counts, highest first.
+     * @param k the maximum number of items to return.
+     * @return a new list of at most k items.
+     */
+    public List<T> getTop(int k) {
+        List<T> topItems = new ArrayList<>();
+        for (Set<T> items : itemsByCount.descendingMap().values()) {
+            for (T item : items) {
+                if (topItems.size() >= k) {
+                    return topItems;
+                }
+                topItems.add(item);
+            }
+        }
+        return topItems;
+    }
+
+    private Set<T> bucket(int count) {
+        return itemsByCount.computeIfAbsent(count, c -> new LinkedHashSet<>());
+    }
+
+    private void unbucket(int count, T item) {
+        Set<T> items = itemsByCount.get(count);
+        items.remove(item);
+        if (items.isEmpty()) {
+            itemsByCount.remove(count);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package utility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility selector for keeping the k items with the largest integer keys out of a stream of items.
+ *
+ * Items with equal keys keep the order they were offered in, so the result is the same as stably sorting every
+ * item by decreasing key and taking the first k, but only k items are ever held.
+ * @param <T> the type of the items being selected.
+ */
+public class TopKSelector<T> {
+    private final int k;
+    private final int[] keys;
+    private final long[] order;
+    private final Object[] items;
+    private int size;
+    private long offered;
+
+    /**
+     * Constructs a TopKSelector that keeps at most k items.
+     * @param k the maximum number of items to keep.
+     */
+    public TopKSelector(int k) {
+        this.k = Math.max(k, 0);
+        this.keys = new int[this.k];
+        this.order = new long[this.k];
+        this.items = new Object[this.k];
+    }
+
+    /**
+     * Offers an item to the selector, keeping it iff it is among the k largest keys offered so far.
+     * @param key the key of the item.
+     * @param item the item to offer.
+     */
+    public void offer(int key, T item) {
+        long position = offered++;
+        if (size < k) {
+            keys[size] = key;
+            order[size] = position;
+            items[size] = item;
+            siftUp(size++);
+        }
+        else if (k > 0 && key > keys[0]) {
+            keys[0] = key;
+            order[0] = position;
+            items[0] = item;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Gets the kept items, ordered by decreasing key and then by the order they were offered in.
+     * @return a new list of at most k items.
+     */
+    public List<T> getTopItems() {
+        Object[] topItems = new Object[size];
+        rankInto(new int[size], topItems);
+
+        List<T> result = new ArrayList<>(size);
+        for (Object item : topItems) {
+            result.add(cast(item));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the keys of the kept items, in the same order as getTopItems.
+     * @return a new array of at most k keys.
+     */
+    public int[] getTopKeys() {
+        int[] topKeys = new int[size];
+        rankInto(topKeys, new Object[size]);
+        return topKeys;
+    }
+
+    // Pops a copy of the heap, lowest ranked first, filling the arrays from the back.
+    private void rankInto(int[] topKeys, Object[] topItems) {
+        TopKSelector<T> copy = new TopKSelector<>(k);
+        System.arraycopy(keys, 0, copy.keys, 0, size);
+        System.arraycopy(order, 0, copy.order, 0, size);
+        System.arraycopy(items, 0, copy.items, 0, size);
+        copy.size = size;
+
+        for (int i = size - 1; i >= 0; i--) {
+            topKeys[i] = copy.keys[0];
+            topItems[i] = copy.items[0];
+            copy.swap(0, --copy.size);
+            copy.siftDown(0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T cast(Object item) {
+        return (T) item;
+    }
+
+    // The heap root is the lowest ranked item: smallest key, latest offered among equal keys.
+    private boolean ranksBelow(int i, int j) {
+        return keys[i] < keys[j] || (keys[i] == keys[j] && order[i] > order[j]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!ranksBelow(i, parent)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int lowest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && ranksBelow(left, lowest)) {
+                lowest = left;
+            }
+            if (right < size && ranksBelow(right, lowest)) {
+                lowest = right;
+            }
+            if (lowest == i) {
+                return;
+            }
+            swap(i, lowest);
+            i = lowest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        long position = order[i];
+        order[i] = order[j];
+        order[j] = position;
+        Object item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+    }
+}
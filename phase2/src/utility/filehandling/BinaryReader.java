@@ -0,0 +1,130 @@
+package utility.filehandling;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A class which reads values written by BinaryWriter.
+ */
+public class BinaryReader {
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = -1;
+
+    private final DataInputStream in;
+    private final List<String> stringTable;
+
+    /**
+     * Constructs a BinaryReader that reads from in.
+     * @param in the stream to read from.
+     */
+    public BinaryReader(InputStream in) {
+        this.in = new DataInputStream(in);
+        this.stringTable = new ArrayList<>();
+    }
+
+    /**
+     * Reads an int.
+     * @return the value read.
+     * @throws IOException if the value could not be read.
+     */
+    public int readInt() throws IOException {
+        return in.readInt();
+    }
+
+    /**
+     * Reads a long.
+     * @return the value read.
+     * @throws IOException if the value could not be read.
+     */
+    public long readLong() throws IOException {
+        return in.readLong();
+    }
+
+    /**
+     * Reads a boolean.
+     * @return the value read.
+     * @throws IOException if the value could not be read.
+     */
+    public boolean readBoolean() throws IOException {
+        return in.readBoolean();
+    }
+
+    /**
+     * Reads a UUID.
+     * @return the UUID read.
+     * @throws IOException if the value could not be read.
+     */
+    public UUID readUUID() throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Reads a time.
+     * @return the time read.
+     * @throws IOException if the value could not be read.
+     */
+    public LocalTime readTime() throws IOException {
+        return LocalTime.ofNanoOfDay(in.readLong());
+    }
+
+    /**
+     * Reads a date and time.
+     * @return the date and time read.
+     * @throws IOException if the value could not be read.
+     */
+    public LocalDateTime readDateTime() throws IOException {
+        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+        return LocalDateTime.of(date, readTime());
+    }
+
+    /**
+     * Reads a string, looking it up in the table of strings read so far if only a reference to it was written.
+     * @return the string read, which may be null.
+     * @throws IOException if the value could not be read.
+     */
+    public String readString() throws IOException {
+        int reference = in.readInt();
+        if (reference == NULL_STRING) {
+            return null;
+        }
+        if (reference != NEW_STRING) {
+            if (reference < 1 || reference > stringTable.size()) {
+                throw new IOException("Invalid string reference " + reference);
+            }
+            return stringTable.get(reference - 1);
+        }
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        stringTable.add(value);
+        return value;
+    }
+
+    /**
+     * Reads the name of an enum constant.
+     * @param type the type of the enum.
+     * @param <E> the type of the enum.
+     * @return the constant read, which may be null.
+     * @throws IOException if the value could not be read or is not a constant of type.
+     */
+    public <E extends Enum<E>> E readEnum(Class<E> type) throws IOException {
+        String name = readString();
+        try {
+            return name == null ? null : Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown " + type.getSimpleName() + " " + name);
+        }
+    }
+}
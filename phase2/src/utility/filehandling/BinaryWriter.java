@@ -0,0 +1,130 @@
+package utility.filehandling;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A class which writes values in the compact binary form read by BinaryReader.
+ *
+ * UUIDs are written as two longs and times as nanoseconds of the day. Strings are kept in a table as they are
+ * written, so a string that was already written, such as a repeated title or room, only costs a reference to its
+ * earlier copy.
+ */
+public class BinaryWriter {
+    private static final int NULL_STRING = 0;
+    private static final int NEW_STRING = -1;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> stringTable;
+
+    /**
+     * Constructs a BinaryWriter that writes to out.
+     * @param out the stream to write to.
+     */
+    public BinaryWriter(OutputStream out) {
+        this.out = new DataOutputStream(out);
+        this.stringTable = new HashMap<>();
+    }
+
+    /**
+     * Writes an int.
+     * @param value the value to write.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeInt(int value) throws IOException {
+        out.writeInt(value);
+    }
+
+    /**
+     * Writes a long.
+     * @param value the value to write.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeLong(long value) throws IOException {
+        out.writeLong(value);
+    }
+
+    /**
+     * Writes a boolean.
+     * @param value the value to write.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeBoolean(boolean value) throws IOException {
+        out.writeBoolean(value);
+    }
+
+    /**
+     * Writes a UUID as its two halves.
+     * @param value the UUID to write, which must not be null.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeUUID(UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    /**
+     * Writes a time as the number of nanoseconds since the start of the day.
+     * @param value the time to write, which must not be null.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeTime(LocalTime value) throws IOException {
+        out.writeLong(value.toNanoOfDay());
+    }
+
+    /**
+     * Writes a date and time as its day since the epoch and its time of day.
+     * @param value the date and time to write, which must not be null.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        out.writeLong(value.toLocalDate().toEpochDay());
+        writeTime(value.toLocalTime());
+    }
+
+    /**
+     * Writes a string, or a reference to it if it has already been written.
+     * @param value the string to write, which may be null.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        Integer reference = stringTable.get(value);
+        if (reference != null) {
+            out.writeInt(reference);
+            return;
+        }
+        stringTable.put(value, stringTable.size() + 1);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(NEW_STRING);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes the name of an enum constant.
+     * @param value the constant to write, which may be null.
+     * @throws IOException if the value could not be written.
+     */
+    public void writeEnum(Enum<?> value) throws IOException {
+        writeString(value == null ? null : value.name());
+    }
+
+    /**
+     * Flushes everything written so far to the underlying stream.
+     * @throws IOException if the stream could not be flushed.
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,90 @@
+package utility.filehandling;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A class which periodically compacts a set of journals into fresh snapshots on a background thread.
+ *
+ * Only journals holding changes since their last snapshot are compacted, so objects which have not changed are not
+ * saved again. Compacting only holds back changes to an object while its snapshot is encoded in memory, so the menus
+ * keep running while snapshots are written to disk.
+ */
+public class Checkpointer {
+    private final long interval;
+    private final TimeUnit unit;
+    private final List<Journal<?>> journals;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructs a Checkpointer which checkpoints its journals every interval once started.
+     * @param interval the time between checkpoints.
+     * @param unit the unit of interval.
+     */
+    public Checkpointer(long interval, TimeUnit unit) {
+        this.interval = interval;
+        this.unit = unit;
+        this.journals = new CopyOnWriteArrayList<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread checkpointer = new Thread(runnable, "checkpointer");
+            checkpointer.setDaemon(true);
+            return checkpointer;
+        });
+    }
+
+    /**
+     * Adds a journal to be checkpointed.
+     * @param journal The journal to checkpoint.
+     */
+    public void add(Journal<?> journal) {
+        journals.add(journal);
+    }
+
+    /**
+     * Starts checkpointing the journals in the background.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::checkpoint, interval, interval, unit);
+    }
+
+    /**
+     * Compacts every journal which holds changes since its last snapshot.
+     * @return The number of journals compacted.
+     */
+    public int checkpoint() {
+        int compacted = 0;
+        for (Journal<?> journal : journals) {
+            if (!journal.hasChangesSinceSnapshot()) {
+                continue;
+            }
+            try {
+                journal.compact();
+                compacted++;
+            } catch (RuntimeException e) {
+                Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Checkpoint " + journal.getFilePath(), e);
+            }
+        }
+        Logger.getAnonymousLogger().log(Level.FINE, "Checkpointed " + compacted + " of " + journals.size() + " files");
+        return compacted;
+    }
+
+    /**
+     * Stops checkpointing in the background, waits for a checkpoint in progress to finish, and then checkpoints and
+     * closes every journal one last time.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint();
+        journals.forEach(Journal::close);
+    }
+}
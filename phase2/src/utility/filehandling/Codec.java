@@ -0,0 +1,35 @@
+package utility.filehandling;
+
+import java.io.IOException;
+
+/**
+ * A hand-written binary format for objects of type T, used instead of Java serialization to save and load them.
+ *
+ * Each format has a version number, which is saved alongside the data so that older files can still be read after
+ * the format changes.
+ * @param <T> the type of object encoded.
+ */
+public interface Codec<T> {
+    /**
+     * Gets the version of the format that write produces.
+     * @return the current version of the format.
+     */
+    int getVersion();
+
+    /**
+     * Writes object in the current version of the format.
+     * @param object the object to write.
+     * @param out the writer to write to.
+     * @throws IOException if the object could not be written.
+     */
+    void write(T object, BinaryWriter out) throws IOException;
+
+    /**
+     * Reads an object written in the given version of the format.
+     * @param in the reader to read from.
+     * @param version the version of the format the object was written in.
+     * @return the object that was read.
+     * @throws IOException if the object could not be read.
+     */
+    T read(BinaryReader in, int version) throws IOException;
+}
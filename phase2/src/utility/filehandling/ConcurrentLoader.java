@@ -0,0 +1,62 @@
+package utility.filehandling;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A class which loads several journaled objects at the same time, each on its own background thread.
+ *
+ * Each load returns a future, so a caller can start using one object as soon as it is ready while the rest are still
+ * loading. The time each file took to load is recorded and logged.
+ */
+public class ConcurrentLoader {
+    private final ExecutorService executor;
+    private final Map<String, Long> loadTimes;
+
+    /**
+     * Constructs a ConcurrentLoader whose threads do not keep the program running.
+     */
+    public ConcurrentLoader() {
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread loader = new Thread(runnable, "loader");
+            loader.setDaemon(true);
+            return loader;
+        });
+        this.loadTimes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Starts loading the object persisted by journal in the background.
+     * @param journal The journal of the object to load.
+     * @param <T> The type of the object.
+     * @return A future that completes with the loaded object.
+     */
+    public <T extends Journaled<T>> CompletableFuture<T> load(Journal<T> journal) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T loaded = journal.load();
+            long millis = (System.nanoTime() - start) / 1000000;
+            synchronized (loadTimes) {
+                loadTimes.put(journal.getFilePath(), millis);
+            }
+            Logger.getAnonymousLogger().log(Level.FINE, "Loaded " + journal.getFilePath() + " in " + millis + " ms");
+            return loaded;
+        }, executor);
+    }
+
+    /**
+     * Gets how long each file loaded so far took to load, in the order they finished.
+     * @return A map from the file path of each loaded snapshot to its load time in milliseconds.
+     */
+    public Map<String, Long> getLoadTimes() {
+        synchronized (loadTimes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(loadTimes));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package utility.filehandling;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reader of files of comma-separated values.
+ *
+ * Each line of the file is a row. A field may be quoted with double quotes so that it can contain commas, in which
+ * case a double quote inside it is written as two double quotes. Whitespace around fields is removed, but whitespace
+ * inside the quotes of a quoted field is kept.
+ */
+public class CsvReader {
+    /**
+     * Reads every row of the file at the given path, including empty ones, so that the row at index i is on line
+     * i + 1 of the file.
+     * @param filePath the path of the file.
+     * @return the fields of every row of the file.
+     * @throws IOException if the file could not be read.
+     */
+    public static List<List<String>> read(String filePath) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rows.add(parseLine(line));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Splits a single line of comma-separated values into its fields.
+     * @param line the line to be split.
+     * @return the fields of the line.
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                }
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                }
+                else {
+                    quoted = false;
+                }
+            }
+            else if (c == '"' && field.toString().trim().isEmpty()) {
+                field.setLength(0);
+                quoted = true;
+                wasQuoted = true;
+            }
+            else if (c == ',') {
+                fields.add(wasQuoted ? field.toString() : field.toString().trim());
+                field.setLength(0);
+                wasQuoted = false;
+            }
+            else if (!wasQuoted || !Character.isWhitespace(c)) {
+                field.append(c);
+            }
+        }
+        fields.add(wasQuoted ? field.toString() : field.toString().trim());
+        return fields;
+    }
+}
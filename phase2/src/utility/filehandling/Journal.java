@@ -0,0 +1,429 @@
+package utility.filehandling;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A class which persists an object of type T as a snapshot .ser file plus an append-only journal of the changes made
+ * to it since the snapshot was taken.
+ *
+ * Every change costs a single small append to the journal, which is written straight to the file so that it survives
+ * the program crashing. Once enough changes have built up the journal is compacted into a new snapshot, so loading
+ * never replays more than that many changes.
+ *
+ * The journal is stored next to the snapshot, at the snapshot's file path with ".journal" appended. Each record holds
+ * its length, its sequence number, the serialized entry and a checksum, so a record cut short by a crash is detected
+ * and discarded. The snapshot stores the sequence number of the last change it includes, so a crash between writing
+ * a snapshot and clearing the journal does not apply any change twice.
+ *
+ * Snapshots are saved with Java serialization unless the journal is given a Codec, in which case they are saved in
+ * the codec's binary format. Either kind of snapshot is recognised when it is loaded, so switching a file to a codec
+ * converts it the next time it is compacted.
+ *
+ * Snapshots are written atomically through a SnapshotFile, which keeps the previous two snapshots. If the newest
+ * snapshot turns out to be damaged an older one is loaded instead, and the journal is replayed on top of it; any
+ * changes made between the two snapshots are lost, but the rest of the data is not.
+ * @param <T> the type to persist.
+ */
+public class Journal<T extends Journaled<T>> {
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    private static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+    private static final int BINARY_SNAPSHOT_MAGIC = 0x54434142;
+    private static final int SNAPSHOT_GENERATIONS = 2;
+
+    private final String filePath;
+    private final String journalPath;
+    private final SnapshotFile snapshotFile;
+    private final Codec<T> codec;
+    private final int compactionThreshold;
+    private final ReentrantReadWriteLock changeLock = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+    private T target;
+    private long lastSequence;
+    private int entriesSinceSnapshot;
+    private long snapshotVersion;
+    private FileOutputStream output;
+
+    /**
+     * Constructs a Journal for the snapshot at filePath, which is compacted every 1000 changes.
+     * @param filePath the file path of the snapshot.
+     */
+    public Journal(String filePath) {
+        this(filePath, null, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a Journal for the snapshot at filePath, which is saved with Java serialization.
+     * @param filePath the file path of the snapshot.
+     * @param compactionThreshold the number of changes after which the journal is compacted into a new snapshot.
+     */
+    public Journal(String filePath, int compactionThreshold) {
+        this(filePath, null, compactionThreshold);
+    }
+
+    /**
+     * Constructs a Journal for the snapshot at filePath, which is saved in codec's binary format and compacted every
+     * 1000 changes.
+     * @param filePath the file path of the snapshot.
+     * @param codec the binary format of the snapshot.
+     */
+    public Journal(String filePath, Codec<T> codec) {
+        this(filePath, codec, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a Journal for the snapshot at filePath.
+     * @param filePath the file path of the snapshot.
+     * @param codec the binary format of the snapshot, or null to save it with Java serialization.
+     * @param compactionThreshold the number of changes after which the journal is compacted into a new snapshot.
+     */
+    public Journal(String filePath, Codec<T> codec, int compactionThreshold) {
+        this.filePath = filePath;
+        this.journalPath = filePath + ".journal";
+        this.snapshotFile = new SnapshotFile(filePath, SNAPSHOT_GENERATIONS);
+        this.codec = codec;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Gets the file path of the snapshot.
+     * @return The file path of the snapshot.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns whether a snapshot has been saved, so that there is something to load.
+     * @return true iff a snapshot exists.
+     */
+    public boolean exists() {
+        return snapshotFile.exists();
+    }
+
+    /**
+     * Loads the snapshot, replays every change journaled after it, and then starts recording the loaded object's
+     * changes to this journal.
+     * @return The loaded object.
+     */
+    public synchronized T load() {
+        target = snapshotFile.read(this::readSnapshot);
+        if (target == null) {
+            throw new IllegalStateException("Could not load any snapshot of " + filePath);
+        }
+        entriesSinceSnapshot = 0;
+        snapshotVersion = target.getVersion();
+
+        long validLength = replay(lastSequence);
+        try {
+            RandomAccessFile journalFile = new RandomAccessFile(journalPath, "rw");
+            if (journalFile.length() != validLength) {
+                journalFile.setLength(validLength);
+            }
+            journalFile.close();
+            output = new FileOutputStream(journalPath, true);
+        } catch (IOException e) {
+            Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+            Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Open Journal");
+        }
+        target.setJournal(this);
+        return target;
+    }
+
+    /**
+     * Starts the journal over from target, replacing the saved snapshot with it and discarding any journaled changes.
+     * @param target the object to persist.
+     */
+    public void reset(T target) {
+        synchronized (this) {
+            this.target = target;
+            this.lastSequence = 0;
+            target.setJournal(this);
+        }
+        compact();
+    }
+
+    /**
+     * Marks the start of a change to the loaded object, which must be followed by a call to endChange once the
+     * change has been made and appended. Any number of changes may be made at once, but no snapshot is taken while
+     * one is being made, so every snapshot matches the journal exactly.
+     */
+    public void beginChange() {
+        changeLock.readLock().lock();
+    }
+
+    /**
+     * Marks the end of a change started by beginChange, compacting the journal if enough changes have built up.
+     */
+    public void endChange() {
+        changeLock.readLock().unlock();
+        if (changeLock.getReadHoldCount() == 0 && isCompactionDue()) {
+            compact();
+        }
+    }
+
+    /**
+     * Appends a change that has just been made to the loaded object to the journal, compacting the journal if
+     * enough changes have built up and no change is being made by this thread.
+     * @param source the object that was changed, which must be the loaded object.
+     * @param entry the change that was made.
+     * @throws IllegalStateException if source is not the loaded object, for instance because it has been unloaded,
+     *                               as the change could then never be saved.
+     */
+    public void append(T source, JournalEntry<T> entry) {
+        synchronized (this) {
+            if (source != target) {
+                throw new IllegalStateException("Changed an object of " + filePath + " that is no longer loaded");
+            }
+            if (output == null) {
+                return;
+            }
+            try {
+                output.write(encode(lastSequence + 1, entry));
+                lastSequence++;
+                entriesSinceSnapshot++;
+            } catch (IOException e) {
+                Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Write To Journal", e);
+                return;
+            }
+        }
+        if (changeLock.getReadHoldCount() == 0 && isCompactionDue()) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns whether the loaded object has changed since its last snapshot was saved, including changes replayed
+     * from the journal when it was loaded.
+     * @return true iff the object's version differs from the version its last snapshot was saved at.
+     */
+    public synchronized boolean hasChangesSinceSnapshot() {
+        return target != null && target.getVersion() != snapshotVersion;
+    }
+
+    private synchronized boolean isCompactionDue() {
+        return entriesSinceSnapshot >= compactionThreshold;
+    }
+
+    /**
+     * Saves the loaded object as a new snapshot and, if that succeeds, clears the changes it includes from the
+     * journal.
+     *
+     * Changes are only held back while the snapshot is encoded in memory. Writing it to disk happens while further
+     * changes are journaled, and those changes are kept in the journal.
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            byte[] snapshot;
+            long snapshotSequence;
+            long version;
+            long journalLength;
+            changeLock.writeLock().lock();
+            try {
+                synchronized (this) {
+                    if (target == null) {
+                        return;
+                    }
+                    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                    writeSnapshot(encoded);
+                    snapshot = encoded.toByteArray();
+                    snapshotSequence = lastSequence;
+                    version = target.getVersion();
+                    journalLength = output == null ? 0 : output.getChannel().size();
+                }
+            } catch (IOException e) {
+                Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+                Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Save Data");
+                return;
+            } finally {
+                changeLock.writeLock().unlock();
+            }
+
+            if (!snapshotFile.write(file -> file.write(snapshot))) {
+                return;
+            }
+            clearJournal(journalLength, snapshotSequence, version);
+        }
+    }
+
+    private synchronized void clearJournal(long snapshotJournalLength, long snapshotSequence, long version) {
+        snapshotVersion = version;
+        try {
+            if (output == null) {
+                output = new FileOutputStream(journalPath);
+            } else if (output.getChannel().size() == snapshotJournalLength) {
+                output.getChannel().truncate(0);
+            } else {
+                keepJournalAfter(snapshotJournalLength);
+            }
+            entriesSinceSnapshot = (int) (lastSequence - snapshotSequence);
+        } catch (IOException e) {
+            Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+            Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Clear Journal");
+        }
+    }
+
+    private void keepJournalAfter(long position) throws IOException {
+        // Changes were journaled while the snapshot was being written, so they are moved into a fresh journal which
+        // then replaces the old one.
+        Path journal = Paths.get(journalPath);
+        Path temporary = Paths.get(journalPath + ".tmp");
+        try (FileChannel source = FileChannel.open(journal, StandardOpenOption.READ);
+             FileOutputStream copy = new FileOutputStream(temporary.toFile())) {
+            long size = source.size();
+            long copied = 0;
+            while (copied < size - position) {
+                copied += source.transferTo(position + copied, size - position - copied, copy.getChannel());
+            }
+            copy.getFD().sync();
+        }
+        output.close();
+        try {
+            SnapshotFile.moveAtomically(temporary, journal);
+        } finally {
+            output = new FileOutputStream(journalPath, true);
+        }
+    }
+
+    /**
+     * Saves the loaded object if it has changed since its last snapshot, closes the journal file and forgets the
+     * object, so that it can be garbage collected. It can be loaded again with load. Changing the forgotten object
+     * afterwards throws an IllegalStateException.
+     */
+    public void unload() {
+        if (hasChangesSinceSnapshot()) {
+            compact();
+        }
+        close();
+        synchronized (this) {
+            target = null;
+        }
+    }
+
+    /**
+     * Closes the journal file. Changes made afterwards are no longer recorded.
+     */
+    public synchronized void close() {
+        try {
+            if (output != null) {
+                output.close();
+            }
+        } catch (IOException e) {
+            Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+        }
+        output = null;
+    }
+
+    private void writeSnapshot(OutputStream output) throws IOException {
+        if (codec == null) {
+            ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+            objectOutput.writeObject(new ArrayList<>(Arrays.asList(target, lastSequence)));
+            objectOutput.flush();
+            return;
+        }
+        DataOutputStream header = new DataOutputStream(output);
+        header.writeInt(BINARY_SNAPSHOT_MAGIC);
+        header.writeInt(codec.getVersion());
+        header.writeLong(lastSequence);
+        BinaryWriter writer = new BinaryWriter(output);
+        codec.write(target, writer);
+        writer.flush();
+    }
+
+    private T readSnapshot(InputStream input) throws IOException, ClassNotFoundException {
+        input.mark(4);
+        DataInputStream header = new DataInputStream(input);
+        if (header.readInt() != BINARY_SNAPSHOT_MAGIC) {
+            input.reset();
+            // The snapshot file was written by writeSnapshot() for a target of type T.
+            @SuppressWarnings("unchecked")
+            List<Object> snapshot = (List<Object>) new ObjectInputStream(input).readObject();
+            lastSequence = snapshot.size() > 1 ? (Long) snapshot.get(1) : 0;
+            @SuppressWarnings("unchecked")
+            T loaded = (T) snapshot.get(0);
+            return loaded;
+        }
+        if (codec == null) {
+            throw new IllegalStateException("A codec is needed to load the binary snapshot " + filePath);
+        }
+        int version = header.readInt();
+        long sequence = header.readLong();
+        T loaded = codec.read(new BinaryReader(input), version);
+        lastSequence = sequence;
+        return loaded;
+    }
+
+    private byte[] encode(long sequence, JournalEntry<T> entry) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyOutput = new DataOutputStream(body);
+        bodyOutput.writeLong(sequence);
+        ObjectOutputStream entryOutput = new ObjectOutputStream(bodyOutput);
+        entryOutput.writeObject(entry);
+        entryOutput.close();
+        byte[] bodyBytes = body.toByteArray();
+
+        CRC32 checksum = new CRC32();
+        checksum.update(bodyBytes);
+        ByteArrayOutputStream record = new ByteArrayOutputStream(bodyBytes.length + 12);
+        DataOutputStream recordOutput = new DataOutputStream(record);
+        recordOutput.writeInt(bodyBytes.length);
+        recordOutput.write(bodyBytes);
+        recordOutput.writeLong(checksum.getValue());
+        return record.toByteArray();
+    }
+
+    private long replay(long snapshotSequence) {
+        long validLength = 0;
+        File journalFile = new File(journalPath);
+        if (!journalFile.exists()) {
+            return validLength;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                int length = input.readInt();
+                if (length < 8 || length > MAX_RECORD_LENGTH) {
+                    break;
+                }
+                byte[] bodyBytes = new byte[length];
+                input.readFully(bodyBytes);
+                CRC32 checksum = new CRC32();
+                checksum.update(bodyBytes);
+                if (input.readLong() != checksum.getValue()) {
+                    break;
+                }
+
+                DataInputStream body = new DataInputStream(new ByteArrayInputStream(bodyBytes));
+                long sequence = body.readLong();
+                // Entries are only appended by record() on a target of type T.
+                @SuppressWarnings("unchecked")
+                JournalEntry<T> entry = (JournalEntry<T>) new ObjectInputStream(body).readObject();
+                if (sequence > snapshotSequence) {
+                    try {
+                        entry.apply(target);
+                    } catch (RuntimeException e) {
+                        Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Replay Journal Entry " + sequence, e);
+                    }
+                    lastSequence = sequence;
+                    entriesSinceSnapshot++;
+                }
+                validLength += 4 + length + 8;
+            }
+        } catch (EOFException e) {
+            // The last record was cut short, so it is discarded.
+        } catch (IOException | ClassNotFoundException e) {
+            Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+            Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Replay Journal Past Record At " + validLength);
+        }
+        return validLength;
+    }
+}
@@ -0,0 +1,16 @@
+package utility.filehandling;
+
+import java.io.Serializable;
+
+/**
+ * A single change to an object of type T, which is written to a Journal when it is made and applied again when the
+ * journal is replayed.
+ * @param <T> the type of object the change is made to.
+ */
+public interface JournalEntry<T> extends Serializable {
+    /**
+     * Makes this change to target.
+     * @param target the object to change.
+     */
+    void apply(T target);
+}
@@ -0,0 +1,20 @@
+package utility.filehandling;
+
+/**
+ * An object that records every change made to it to a Journal.
+ * @param <T> the type of the object, which its journal entries are applied to.
+ */
+public interface Journaled<T extends Journaled<T>> {
+    /**
+     * Sets the journal that every later change to this object is recorded to.
+     * @param journal the journal to record changes to.
+     */
+    void setJournal(Journal<T> journal);
+
+    /**
+     * Gets the number of changes made to this object since it was created or loaded. Every change increases it, so an
+     * object whose version is the same as when it was last saved has not changed since.
+     * @return the version of this object.
+     */
+    long getVersion();
+}
@@ -0,0 +1,92 @@
+package utility.filehandling;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A class which loads journaled objects only when they are first used, and keeps at most a fixed number of them in
+ * memory at once.
+ *
+ * Each object is reached through a ManagerHandle. When loading an object would leave more than the maximum in
+ * memory, the least recently used ones are unloaded, saving them first if they have changed. Pinned objects are never
+ * unloaded. An object may be unloaded as soon as another object of the cache is loaded, so callers should get it from
+ * its handle each time they use it rather than hold on to it. Changing an object after it was unloaded throws an
+ * IllegalStateException rather than losing the change. Code that needs to follow an object in and out of memory can
+ * register a ResidencyListener with its handle.
+ * @param <T> the type of the objects.
+ */
+public class ManagerCache<T extends Journaled<T>> {
+    private final int maxResident;
+    private final LinkedHashMap<ManagerHandle<T>, T> resident;
+
+    /**
+     * Constructs a ManagerCache which keeps at most maxResident unpinned objects in memory.
+     * @param maxResident the number of objects to keep in memory.
+     */
+    public ManagerCache(int maxResident) {
+        this.maxResident = Math.max(1, maxResident);
+        this.resident = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Adds the object persisted by journal to the cache, without loading it.
+     * @param journal The journal of the object.
+     * @return The handle through which the object is loaded.
+     */
+    public ManagerHandle<T> add(Journal<T> journal) {
+        return new ManagerHandle<>(this, journal);
+    }
+
+    /**
+     * Removes an object from the cache, unloading it if it is loaded. Its handle must not be used afterwards.
+     * @param handle The handle of the object.
+     */
+    public synchronized void remove(ManagerHandle<T> handle) {
+        T removed = resident.remove(handle);
+        if (removed != null) {
+            handle.getJournal().unload();
+            handle.unloaded(removed);
+        }
+    }
+
+    synchronized T get(ManagerHandle<T> handle) {
+        T loaded = resident.get(handle);
+        if (loaded == null) {
+            loaded = handle.getJournal().load();
+            resident.put(handle, loaded);
+            unloadLeastRecentlyUsed();
+            handle.loaded(loaded);
+        }
+        return loaded;
+    }
+
+    synchronized void addResidencyListener(ManagerHandle<T> handle, ResidencyListener<T> listener) {
+        handle.listen(listener);
+        T loaded = resident.get(handle);
+        if (loaded != null) {
+            listener.loaded(loaded);
+        }
+    }
+
+    private void unloadLeastRecentlyUsed() {
+        int unpinned = 0;
+        for (ManagerHandle<T> handle : resident.keySet()) {
+            if (!handle.isPinned()) {
+                unpinned++;
+            }
+        }
+        // The most recently used object is last, so it is never the one unloaded.
+        Iterator<Map.Entry<ManagerHandle<T>, T>> leastRecentlyUsed = resident.entrySet().iterator();
+        while (unpinned > maxResident && leastRecentlyUsed.hasNext()) {
+            Map.Entry<ManagerHandle<T>, T> entry = leastRecentlyUsed.next();
+            ManagerHandle<T> handle = entry.getKey();
+            if (!handle.isPinned()) {
+                handle.getJournal().unload();
+                leastRecentlyUsed.remove();
+                handle.unloaded(entry.getValue());
+                unpinned--;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package utility.filehandling;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A handle to a journaled object of a ManagerCache, which is loaded the first time it is used.
+ * @param <T> the type of the object.
+ */
+public class ManagerHandle<T extends Journaled<T>> {
+    private final ManagerCache<T> cache;
+    private final Journal<T> journal;
+    private final List<ResidencyListener<T>> residencyListeners;
+    private volatile boolean pinned;
+
+    ManagerHandle(ManagerCache<T> cache, Journal<T> journal) {
+        this.cache = cache;
+        this.journal = journal;
+        this.residencyListeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Gets the object, loading it if it is not already in memory.
+     * @return The object.
+     */
+    public T get() {
+        return cache.get(this);
+    }
+
+    /**
+     * Keeps the object in memory once it is loaded, so it is never unloaded to make room for others.
+     */
+    public void pin() {
+        pinned = true;
+    }
+
+    /**
+     * Lets the object be unloaded to make room for others again.
+     */
+    public void unpin() {
+        pinned = false;
+    }
+
+    /**
+     * Returns whether the object is kept in memory.
+     * @return true iff the object has been pinned.
+     */
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    /**
+     * Registers a listener that is told each time the object is loaded or unloaded. If the object is already loaded,
+     * the listener is told so straight away.
+     * @param listener The listener to be registered.
+     */
+    public void addResidencyListener(ResidencyListener<T> listener) {
+        cache.addResidencyListener(this, listener);
+    }
+
+    void listen(ResidencyListener<T> listener) {
+        residencyListeners.add(listener);
+    }
+
+    void loaded(T object) {
+        residencyListeners.forEach(listener -> listener.loaded(object));
+    }
+
+    void unloaded(T object) {
+        residencyListeners.forEach(listener -> listener.unloaded(object));
+    }
+
+    /**
+     * Gets the journal of the object.
+     * @return The journal of the object.
+     */
+    public Journal<T> getJournal() {
+        return journal;
+    }
+}
@@ -0,0 +1,19 @@
+package utility.filehandling;
+
+/**
+ * A listener that is told whenever the object of a ManagerHandle is loaded into memory or unloaded from it.
+ * @param <T> the type of the object.
+ */
+public interface ResidencyListener<T> {
+    /**
+     * Called once the object has been loaded.
+     * @param object the object that was loaded.
+     */
+    void loaded(T object);
+
+    /**
+     * Called once the object has been unloaded. The object must not be changed afterwards.
+     * @param object the object that was unloaded.
+     */
+    void unloaded(T object);
+}
@@ -0,0 +1,275 @@
+package utility.filehandling;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A class which saves a snapshot file atomically, keeping a number of previous generations of it to fall back on.
+ *
+ * A snapshot is first written in full to a temporary file next to it, forced to disk, and then renamed over the
+ * existing file. The file at the file path is therefore always either the old snapshot or the new one, never a
+ * partly written one, and anyone reading it while a new snapshot is saved simply keeps reading the old one.
+ *
+ * Before the new snapshot replaces the old one, the old one is kept as generation 1 (the file path with ".1"
+ * appended), generation 1 becomes generation 2 and so on. Every snapshot ends with a trailer holding its length and
+ * checksum. When loading, a snapshot whose checksum does not match or which cannot be read is skipped in favour of
+ * the newest previous generation which can. Files saved before the trailer was added are still loaded.
+ */
+public class SnapshotFile {
+    private static final int TRAILER_MAGIC = 0x54435346;
+    private static final int TRAILER_LENGTH = 20;
+
+    private final String filePath;
+    private final int generations;
+
+    /**
+     * A function which writes the contents of a snapshot.
+     */
+    public interface ContentWriter {
+        /**
+         * Writes the contents of the snapshot to output. The output should not be closed.
+         * @param output the stream to write the snapshot to.
+         * @throws IOException if the snapshot could not be written.
+         */
+        void write(OutputStream output) throws IOException;
+    }
+
+    /**
+     * A function which reads the contents of a snapshot.
+     * @param <R> the type of object read from the snapshot.
+     */
+    public interface ContentReader<R> {
+        /**
+         * Reads the contents of a snapshot from input. Any bytes after the contents are ignored.
+         * @param input the stream to read the snapshot from.
+         * @return the object read from the snapshot.
+         * @throws IOException if the snapshot could not be read.
+         * @throws ClassNotFoundException if the snapshot holds a class which no longer exists.
+         */
+        R read(InputStream input) throws IOException, ClassNotFoundException;
+    }
+
+    /**
+     * Constructs a SnapshotFile for the snapshot at filePath.
+     * @param filePath the file path of the snapshot.
+     * @param generations the number of previous snapshots to keep.
+     */
+    public SnapshotFile(String filePath, int generations) {
+        this.filePath = filePath;
+        this.generations = Math.max(0, generations);
+    }
+
+    /**
+     * Gets the file path of the snapshot.
+     * @return The file path of the snapshot.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Gets the file path of a generation of the snapshot.
+     * @param generation the generation, where 0 is the current snapshot and 1 is the one before it.
+     * @return The file path of the generation.
+     */
+    public String getGenerationPath(int generation) {
+        return generation == 0 ? filePath : filePath + "." + generation;
+    }
+
+    /**
+     * Returns whether any generation of the snapshot exists.
+     * @return true iff a snapshot has been saved.
+     */
+    public boolean exists() {
+        for (int generation = 0; generation <= generations; generation++) {
+            if (new File(getGenerationPath(generation)).exists()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Atomically replaces the snapshot with the contents written by content, keeping the old snapshot as the newest
+     * previous generation.
+     * @param content the function writing the new snapshot.
+     * @return true iff the new snapshot was saved. If not, the old snapshot is left untouched.
+     */
+    public boolean write(ContentWriter content) {
+        Path target = Paths.get(filePath);
+        Path temporary = Paths.get(filePath + ".tmp");
+        try {
+            writeTemporary(temporary, content);
+            keepPreviousGeneration(target);
+            moveAtomically(temporary, target);
+            syncDirectory(target);
+            return true;
+        } catch (IOException e) {
+            Logger.getAnonymousLogger().log(Level.SEVERE, e.getMessage());
+            Logger.getAnonymousLogger().log(Level.SEVERE, "Could Not Save Data");
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException ignored) {
+                // The temporary file is overwritten by the next save anyway.
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Reads the newest generation of the snapshot which is intact and can be read by content.
+     * @param content the function reading a snapshot.
+     * @param <R> the type of object read from the snapshot.
+     * @return The object read from the snapshot, or null if no generation could be read.
+     */
+    public <R> R read(ContentReader<R> content) {
+        for (int generation = 0; generation <= generations; generation++) {
+            File file = new File(getGenerationPath(generation));
+            if (!file.exists()) {
+                continue;
+            }
+            try {
+                if (!isIntact(file)) {
+                    Logger.getAnonymousLogger().log(Level.WARNING, "Checksum Mismatch In " + file.getPath());
+                    continue;
+                }
+                R loaded;
+                try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+                    loaded = content.read(input);
+                }
+                if (generation > 0) {
+                    Logger.getAnonymousLogger().log(Level.WARNING, "Loaded Previous Snapshot " + file.getPath());
+                }
+                return loaded;
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                Logger.getAnonymousLogger().log(Level.WARNING, "Could Not Load " + file.getPath(), e);
+            }
+        }
+        return null;
+    }
+
+    private void writeTemporary(Path temporary, ContentWriter content) throws IOException {
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            BufferedOutputStream buffer = new BufferedOutputStream(file);
+            ChecksumOutputStream checked = new ChecksumOutputStream(buffer);
+            content.write(checked);
+            checked.flush();
+
+            DataOutputStream trailer = new DataOutputStream(buffer);
+            trailer.writeLong(checked.length);
+            trailer.writeLong(checked.checksum.getValue());
+            trailer.writeInt(TRAILER_MAGIC);
+            trailer.flush();
+            file.getFD().sync();
+        }
+    }
+
+    private void keepPreviousGeneration(Path target) throws IOException {
+        if (generations == 0 || !Files.exists(target)) {
+            return;
+        }
+        for (int generation = generations; generation > 1; generation--) {
+            Path older = Paths.get(getGenerationPath(generation - 1));
+            if (Files.exists(older)) {
+                Files.move(older, Paths.get(getGenerationPath(generation)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        // The current snapshot stays in place until the new one is renamed over it, so it is linked (or copied if
+        // links are not supported) rather than moved.
+        Path previous = Paths.get(getGenerationPath(1));
+        Files.deleteIfExists(previous);
+        try {
+            Files.createLink(previous, target);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target, previous, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void syncDirectory(Path target) {
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        // Not every platform can open a directory to force it, in which case the rename is left to the OS.
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | RuntimeException ignored) {
+        }
+    }
+
+    private static boolean isIntact(File file) throws IOException {
+        long fileLength = file.length();
+        if (fileLength < TRAILER_LENGTH) {
+            return true;
+        }
+        long contentLength;
+        long expectedChecksum;
+        try (RandomAccessFile trailer = new RandomAccessFile(file, "r")) {
+            trailer.seek(fileLength - TRAILER_LENGTH);
+            contentLength = trailer.readLong();
+            expectedChecksum = trailer.readLong();
+            if (trailer.readInt() != TRAILER_MAGIC) {
+                // Saved before snapshots had a trailer, so there is nothing to check.
+                return true;
+            }
+        }
+        if (contentLength != fileLength - TRAILER_LENGTH) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        byte[] chunk = new byte[64 * 1024];
+        try (InputStream input = new FileInputStream(file)) {
+            long remaining = contentLength;
+            while (remaining > 0) {
+                int read = input.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    return false;
+                }
+                checksum.update(chunk, 0, read);
+                remaining -= read;
+            }
+        }
+        return checksum.getValue() == expectedChecksum;
+    }
+
+    private static class ChecksumOutputStream extends FilterOutputStream {
+        private final CRC32 checksum = new CRC32();
+        private long length;
+
+        private ChecksumOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            checksum.update(b);
+            length++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            checksum.update(b, off, len);
+            length += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The trailer is still to be written after the contents, so closing only flushes.
+            flush();
+        }
+    }
+}
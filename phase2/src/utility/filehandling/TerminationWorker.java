@@ -1,31 +1,25 @@
 package utility.filehandling;
 
-import utility.filehandling.FileSerializer;
-
 /**
- * A class to handle the saving of classes of type T when a shutdown is detected.
- * @param <T>
+ * A class to handle the saving of journaled objects when a shutdown is detected.
  */
-public class TerminationWorker<T> extends Thread{
-    private T manager;
-    private String filePath;
+public class TerminationWorker extends Thread{
+    private Checkpointer checkpointer;
 
     /**
-     * Constructs a new TerminationWorker to save manager to filepath.
-     * @param manager The type to save.
-     * @param filePath The file path to save to.
+     * Constructs a new TerminationWorker to save the objects checkpointed by checkpointer.
+     * @param checkpointer The checkpointer of the objects to save.
      */
-    public TerminationWorker(T manager, String filePath) {
-        this.manager = manager;
-        this.filePath = filePath;
+    public TerminationWorker(Checkpointer checkpointer) {
+        this.checkpointer = checkpointer;
     }
 
     /**
-     * Automatically runs when a shutdown is detected. When detected, creates a FileSerializer to save the input object to the input filepath.
+     * Automatically runs when a shutdown is detected. When detected, stops the background checkpoints, saves a fresh
+     * snapshot of every object that has changed since its last one, and closes their journals.
      */
     @Override
     public void run() {
-        FileSerializer<T> managerFileSerializer = new FileSerializer<>(filePath);
-        managerFileSerializer.saveObject(manager);
+        checkpointer.shutdown();
     }
 }
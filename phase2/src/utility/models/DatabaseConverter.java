@@ -0,0 +1,66 @@
+package utility.models;
+
+import backend.systems.conference.ConferenceManager;
+import backend.systems.events.managers.EventManager;
+import backend.systems.social.managers.MessageManager;
+import backend.systems.usermangement.managers.UserManager;
+import utility.filehandling.Codec;
+import utility.filehandling.Journal;
+import utility.filehandling.Journaled;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * A helper class to convert the 'database' between Java serialization and the compact binary format.
+ */
+public class DatabaseConverter {
+    /**
+     * Converts the UserManager and MessageManager files of the database, and the EventManager file of every active
+     * conference, to the binary format, or back to Java serialization if the first argument is "--serialized". Any
+     * journaled changes are folded into the converted files.
+     *
+     * If the first argument is "--mapped", instead moves the messages of the MessageManager into a memory-mapped
+     * segment file.
+     * @param args the command line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--mapped")) {
+            moveMessagesToSegmentFile("phase2/database/MSManager.ser", "phase2/database/MSMessages.seg");
+            return;
+        }
+        boolean toBinary = !(args.length > 0 && args[0].equals("--serialized"));
+
+        convert("phase2/database/UManager.ser", new UserManager.BinaryCodec(), toBinary);
+        convert("phase2/database/MSManager.ser", new MessageManager.BinaryCodec(), toBinary);
+        Journal<ConferenceManager> conferences = new Journal<>("phase2/database/CCManager.ser");
+        List<String> eventStores = conferences.load().getEventStores();
+        conferences.close();
+        for (String eventStore : eventStores) {
+            convert("phase2/database/" + eventStore, new EventManager.BinaryCodec(), toBinary);
+        }
+    }
+
+    private static void moveMessagesToSegmentFile(String filePath, String segmentFilePath) {
+        Journal<MessageManager> source = new Journal<>(filePath, new MessageManager.BinaryCodec());
+        MessageManager messageManager = source.load();
+        source.close();
+
+        Journal<MessageManager> converted = new Journal<>(filePath, new MessageManager.BinaryCodec());
+        converted.reset(messageManager.copyToSegmentFile(segmentFilePath));
+        converted.close();
+        System.out.println(filePath + ": messages moved to " + segmentFilePath);
+    }
+
+    private static <T extends Journaled<T>> void convert(String filePath, Codec<T> codec, boolean toBinary) {
+        long oldSize = new File(filePath).length();
+        Journal<T> source = new Journal<>(filePath, codec);
+        T manager = source.load();
+        source.close();
+
+        Journal<T> converted = new Journal<>(filePath, toBinary ? codec : null);
+        converted.reset(manager);
+        converted.close();
+        System.out.println(filePath + ": " + oldSize + " -> " + new File(filePath).length() + " bytes");
+    }
+}
@@ -2,7 +2,7 @@ package utility.models;
 
 import backend.systems.conference.ConferenceManager;
 import backend.systems.events.managers.EventManager;
-import utility.filehandling.FileSerializer;
+import utility.filehandling.Journal;
 import backend.systems.usermangement.managers.UserManager;
 import backend.systems.social.managers.MessageManager;
 
@@ -32,24 +32,24 @@ public class ModelCreator {
         ConferenceManager conferenceManager = new ConferenceManager();
 
 
-        conferenceManager.addConference("Elias Con", LocalDate.of(2020, 11, 28));
-        conferenceManager.addConference("Dick's Sporting Goods Con", LocalDate.of(2020, 11, 29));
-        conferenceManager.addConference("Loli Con", LocalDate.of(2020, 11, 30));
+        conferenceManager.addConference("Elias Con", LocalDate.of(2020, 11, 28), "ESManagerCon1.ser");
+        conferenceManager.addConference("Dick's Sporting Goods Con", LocalDate.of(2020, 11, 29), "ESManagerCon2.ser");
+        conferenceManager.addConference("Loli Con", LocalDate.of(2020, 11, 30), "ESManagerCon3.ser");
 
-        FileSerializer<UserManager> userManagerFileSerializer = new FileSerializer<>("phase2/database/UManager.ser");
-        FileSerializer<MessageManager> messageManagerFileSerializer = new FileSerializer<>("phase2/database/MSManager.ser");
-        FileSerializer<ConferenceManager> conferenceManagerFileSerializer = new FileSerializer<>("phase2/database/CCManager.ser");
+        Journal<UserManager> userManagerJournal = new Journal<>("phase2/database/UManager.ser");
+        Journal<MessageManager> messageManagerJournal = new Journal<>("phase2/database/MSManager.ser");
+        Journal<ConferenceManager> conferenceManagerJournal = new Journal<>("phase2/database/CCManager.ser");
 
-        FileSerializer<EventManager> eventManagerFileSerializer1 = new FileSerializer<>("phase2/database/ESManagerCon1.ser");
-        FileSerializer<EventManager> eventManagerFileSerializer2 = new FileSerializer<>("phase2/database/ESManagerCon2.ser");
-        FileSerializer<EventManager> eventManagerFileSerializer3 = new FileSerializer<>("phase2/database/ESManagerCon3.ser");
+        Journal<EventManager> eventManagerJournal1 = new Journal<>("phase2/database/ESManagerCon1.ser");
+        Journal<EventManager> eventManagerJournal2 = new Journal<>("phase2/database/ESManagerCon2.ser");
+        Journal<EventManager> eventManagerJournal3 = new Journal<>("phase2/database/ESManagerCon3.ser");
 
-        conferenceManagerFileSerializer.saveObject(conferenceManager);
-        userManagerFileSerializer.saveObject(userManager);
-        eventManagerFileSerializer1.saveObject(eventManager1);
-        eventManagerFileSerializer2.saveObject(eventManager2);
-        eventManagerFileSerializer3.saveObject(eventManager3);
-        messageManagerFileSerializer.saveObject(messageManager);
+        conferenceManagerJournal.reset(conferenceManager);
+        userManagerJournal.reset(userManager);
+        eventManagerJournal1.reset(eventManager1);
+        eventManagerJournal2.reset(eventManager2);
+        eventManagerJournal3.reset(eventManager3);
+        messageManagerJournal.reset(messageManager);
 
     }
 }